@@ -1,9 +1,12 @@
 package dataproviders;
 
 import java.awt.Toolkit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
+import com.microsoft.playwright.options.HarNotFound;
 import com.microsoft.playwright.options.ViewportSize;
 
 //import com.atomicwork.utilities.ConvertUtils;
@@ -12,6 +15,10 @@ import com.microsoft.playwright.options.ViewportSize;
 import enums.BrowserType;
 import enums.DashboardType;
 import enums.EnvironmentType;
+import enums.InstrumentationMode;
+import enums.InteractionProfile;
+import enums.NetworkMode;
+import enums.ReadinessMode;
 import utilities.ConvertUtils;
 import utilities.YamlFileReader;
 
@@ -25,10 +32,19 @@ public class ConfigFileReader {
 
 	private final Map<String, Object> config;
 	private static final String CONFIG_FILE_PATH = "src/test/resources/configs/config.yaml";
-	private Map<String, Object> envConfig, browserConfig;
+	private Map<String, Object> envConfig, browserConfig, browserPoolConfig, authConfig, networkConfig, readinessConfig, blockResourcesConfig, assetCacheConfig, budgetsConfig;
 	private static final int IMPLICIT_TIME_OUT = 5;
 	private BrowserType browserType;
 	private static final int EXPLICIT_TIME_OUT = 10;
+	private static final int BROWSER_LEASE_TIME_OUT = 300;
+	private static final int MEMORY_PER_BROWSER_MB = 512;
+	private static final int WARM_CONTEXTS_PER_BROWSER = 1;
+	private static final int SESSION_TTL_MINUTES = 30;
+	private static final String STORAGE_STATE_DIRECTORY = "target/auth";
+	private static final int NETWORK_QUIET_TIME_MS = 200;
+	private static final String ASSET_CACHE_DIRECTORY = "target/asset-cache";
+	private static final int ASSET_CACHE_MAX_SIZE_MB = 256;
+	private static final String HAR_DIRECTORY = "src/test/resources/har";
 
 	public ConfigFileReader() {
 		final YamlFileReader yamlFileReader = new YamlFileReader(CONFIG_FILE_PATH);
@@ -118,6 +134,120 @@ public class ConfigFileReader {
 		return (browserConfig == null) ? browserConfig = (Map<String, Object>) config.get("browser") : browserConfig;
 	}
 
+	/**
+	 * Method to fetch browser pool configuration as a Map.
+	 * 
+	 * @return browser pool configuration as a Map, empty if not configured.
+	 */
+
+	private Map<String, Object> getBrowserPoolConfig() {
+		if (browserPoolConfig != null)
+			return browserPoolConfig;
+		final Object poolConfig = getBrowserConfig().get("pool");
+		browserPoolConfig = (poolConfig instanceof Map) ? (Map<String, Object>) poolConfig : Map.of();
+		return browserPoolConfig;
+	}
+
+	/**
+	 * Method to fetch page readiness configuration as a Map.
+	 * 
+	 * @return page readiness configuration as a Map, empty if not configured.
+	 */
+
+	private Map<String, Object> getReadinessConfig() {
+		if (readinessConfig != null)
+			return readinessConfig;
+		final Object readiness = getBrowserConfig().get("readiness");
+		readinessConfig = (readiness instanceof Map) ? (Map<String, Object>) readiness : Map.of();
+		return readinessConfig;
+	}
+
+	/**
+	 * Method to fetch resource blocking configuration as a Map.
+	 * 
+	 * @return resource blocking configuration as a Map, empty if not configured.
+	 */
+
+	private Map<String, Object> getBlockResourcesConfig() {
+		if (blockResourcesConfig != null)
+			return blockResourcesConfig;
+		final Object blockResources = getBrowserConfig().get("blockResources");
+		blockResourcesConfig = (blockResources instanceof Map) ? (Map<String, Object>) blockResources : Map.of();
+		return blockResourcesConfig;
+	}
+
+	/**
+	 * Method to fetch static asset cache configuration as a Map.
+	 * 
+	 * @return static asset cache configuration as a Map, empty if not configured.
+	 */
+
+	private Map<String, Object> getAssetCacheConfig() {
+		if (assetCacheConfig != null)
+			return assetCacheConfig;
+		final Object assetCache = getBrowserConfig().get("assetCache");
+		assetCacheConfig = (assetCache instanceof Map) ? (Map<String, Object>) assetCache : Map.of();
+		return assetCacheConfig;
+	}
+
+	/**
+	 * Method to fetch network configuration as a Map.
+	 * 
+	 * @return network configuration as a Map, empty if not configured.
+	 */
+
+	private Map<String, Object> getNetworkConfig() {
+		if (networkConfig != null)
+			return networkConfig;
+		final Object network = config.get("network");
+		networkConfig = (network instanceof Map) ? (Map<String, Object>) network : Map.of();
+		return networkConfig;
+	}
+
+	/**
+	 * Method to fetch a list of strings from a configuration value.
+	 * 
+	 * @param value: configuration value, a YAML list or a single value
+	 * @return values as a List of Strings, empty if not configured.
+	 */
+	private static List<String> toStringList(final Object value) {
+		final List<String> values = new ArrayList<>();
+		if (value instanceof List) {
+			for (final Object eachValue : (List<Object>) value)
+				values.add(eachValue.toString());
+		} else if (value != null && !StringUtils.isBlank(value.toString()))
+			values.add(value.toString());
+		return values;
+	}
+
+	/**
+	 * Method to fetch performance budget configuration as a Map.
+	 * 
+	 * @return performance budget configuration as a Map, empty if not configured.
+	 */
+
+	private Map<String, Object> getBudgetsConfig() {
+		if (budgetsConfig != null)
+			return budgetsConfig;
+		final Object budgets = config.get("budgets");
+		budgetsConfig = (budgets instanceof Map) ? (Map<String, Object>) budgets : Map.of();
+		return budgetsConfig;
+	}
+
+	/**
+	 * Method to fetch authentication configuration as a Map.
+	 * 
+	 * @return authentication configuration as a Map, empty if not configured.
+	 */
+
+	private Map<String, Object> getAuthConfig() {
+		if (authConfig != null)
+			return authConfig;
+		final Object auth = config.get("auth");
+		authConfig = (auth instanceof Map) ? (Map<String, Object>) auth : Map.of();
+		return authConfig;
+	}
+
 	/**
 	 * Method to fetch login page URL from the config.yaml file.
 	 * 
@@ -273,4 +403,482 @@ public class ConfigFileReader {
 	    // Default to true if not specified anywhere
 	    return true;
 	}
+
+	/**
+	 * Method to get the number of browsers the browser pool may launch. Command
+	 * line parameter takes precedence over config file.
+	 *
+	 * @return pool size as a number, or 0 if it should be sized from the CPU cores
+	 *         and free memory of the machine.
+	 */
+	public int getBrowserPoolSize() {
+		final String poolSizeFrmCmd = System.getProperty("browserPoolSize");
+		final Object poolSize = StringUtils.isBlank(poolSizeFrmCmd) ? getBrowserPoolConfig().get("size")
+				: poolSizeFrmCmd;
+		if (poolSize == null || "auto".equalsIgnoreCase(poolSize.toString()))
+			return 0;
+		return ConvertUtils.stringToInt(poolSize.toString());
+	}
+
+	/**
+	 * Method to get the memory one browser is expected to use. It is used to size
+	 * the browser pool when no explicit size is configured.
+	 *
+	 * @return memory per browser in megabytes from the config.yaml file if present
+	 *         else defined by MEMORY_PER_BROWSER_MB variable is returned.
+	 */
+	public int getMemoryPerBrowserMb() {
+		final Object memoryPerBrowser = getBrowserPoolConfig().get("memoryPerBrowserMb");
+		if (memoryPerBrowser != null)
+			return ConvertUtils.stringToInt(memoryPerBrowser.toString());
+		return MEMORY_PER_BROWSER_MB;
+	}
+
+	/**
+	 * Method to get the maximum time a scenario waits to lease a browser from the
+	 * browser pool.
+	 *
+	 * @return lease timeout in seconds from the config.yaml file if present else
+	 *         defined by BROWSER_LEASE_TIME_OUT variable is returned.
+	 */
+	public int getBrowserLeaseTimeout() {
+		final Object leaseTimeout = getBrowserPoolConfig().get("leaseTimeout");
+		if (leaseTimeout != null)
+			return ConvertUtils.stringToInt(leaseTimeout.toString());
+		return BROWSER_LEASE_TIME_OUT;
+	}
+
+	/**
+	 * Method to get the number of ready-to-use browser contexts the browser pool
+	 * keeps per browser. 0 disables pre-warming of contexts.
+	 *
+	 * @return warm contexts per browser from the config.yaml file if present else
+	 *         defined by WARM_CONTEXTS_PER_BROWSER variable is returned.
+	 */
+	public int getWarmContextsPerBrowser() {
+		final Object warmContexts = getBrowserPoolConfig().get("warmContexts");
+		if (warmContexts != null)
+			return ConvertUtils.stringToInt(warmContexts.toString());
+		return WARM_CONTEXTS_PER_BROWSER;
+	}
+
+	/**
+	 * Method to get the number of browsers the browser pool warms up beyond one
+	 * per worker thread, so that a released browser can be maintained while a
+	 * spare one is leased. Command line parameter takes precedence over config
+	 * file.
+	 *
+	 * @return spare browsers from the command line or config.yaml file, -1 if it
+	 *         is auto (one spare per worker thread) or not set.
+	 */
+	public int getSpareBrowsers() {
+		final String spareBrowsersFrmCmd = System.getProperty("spareBrowsers");
+		final Object spareBrowsers = StringUtils.isBlank(spareBrowsersFrmCmd)
+				? getBrowserPoolConfig().get("spareBrowsers")
+				: spareBrowsersFrmCmd;
+		if (spareBrowsers == null || "auto".equalsIgnoreCase(spareBrowsers.toString()))
+			return -1;
+		return ConvertUtils.stringToInt(spareBrowsers.toString());
+	}
+
+	/**
+	 * If the logged in session should be saved once and reused by new browser
+	 * contexts instead of logging in through the UI for every scenario. Command
+	 * line parameter takes precedence over config file.
+	 *
+	 * @return if the session should be reused as a Boolean.
+	 */
+	public Boolean reuseSession() {
+		final String reuseSessionFrmCmd = System.getProperty("reuseSession");
+		if (!StringUtils.isBlank(reuseSessionFrmCmd))
+			return Boolean.valueOf(reuseSessionFrmCmd);
+		final Object reuseSession = getAuthConfig().get("reuseSession");
+		if (reuseSession != null)
+			return Boolean.valueOf(reuseSession.toString());
+		return false;
+	}
+
+	/**
+	 * Method to get how long a saved session may be reused before the user logs
+	 * in through the UI again.
+	 *
+	 * @return session time to live in minutes from the config.yaml file if present
+	 *         else defined by SESSION_TTL_MINUTES variable is returned.
+	 */
+	public int getSessionTtlMinutes() {
+		final Object sessionTtl = getAuthConfig().get("sessionTtlMinutes");
+		if (sessionTtl != null)
+			return ConvertUtils.stringToInt(sessionTtl.toString());
+		return SESSION_TTL_MINUTES;
+	}
+
+	/**
+	 * Method to get the directory where saved sessions are stored.
+	 *
+	 * @return storage state directory from the config.yaml file if present else
+	 *         defined by STORAGE_STATE_DIRECTORY variable is returned.
+	 */
+	public String getStorageStateDirectory() {
+		final Object storageStateDirectory = getAuthConfig().get("storageStateDirectory");
+		if (storageStateDirectory != null)
+			return storageStateDirectory.toString();
+		return STORAGE_STATE_DIRECTORY;
+	}
+
+	/**
+	 * Method to get the name of the environment the tests run against, as passed
+	 * on the command line.
+	 *
+	 * @return environment name as a String.
+	 */
+	public String getEnvironmentName() {
+		return getEnvType().getEnv();
+	}
+
+	/**
+	 * Method to get how the framework decides that a page is ready. Command line
+	 * parameter takes precedence over config file.
+	 *
+	 * @return readiness mode as an ENUM, NETWORK_SETTLED if not configured.
+	 */
+	public ReadinessMode getReadinessMode() {
+		final String modeFrmCmd = System.getProperty("readinessMode");
+		final Object mode = StringUtils.isBlank(modeFrmCmd) ? getReadinessConfig().get("mode") : modeFrmCmd;
+		if (mode == null)
+			return ReadinessMode.NETWORK_SETTLED;
+		switch (mode.toString()) {
+		case "networkidle":
+			return ReadinessMode.NETWORK_IDLE;
+		case "settled":
+			return ReadinessMode.NETWORK_SETTLED;
+		default:
+			throw new IllegalArgumentException(String.format("Unsupported readiness mode: %s", mode));
+		}
+	}
+
+	/**
+	 * Method to get the timeout budget of a scenario, the time all waits of the
+	 * scenario may take together. Command line parameter takes precedence over
+	 * config file.
+	 *
+	 * @return timeout budget in seconds, 0 if scenarios have no budget.
+	 */
+	public int getScenarioTimeoutBudget() {
+		final String budgetFrmCmd = System.getProperty("scenarioTimeoutBudget");
+		if (!StringUtils.isBlank(budgetFrmCmd))
+			return ConvertUtils.stringToInt(budgetFrmCmd);
+		final Object budget = getBrowserConfig().get("scenarioTimeoutBudget");
+		if (budget != null)
+			return ConvertUtils.stringToInt(budget.toString());
+		return 0;
+	}
+
+	/**
+	 * If the time spent on every selector of the page selector classes should be
+	 * profiled. Command line parameter takes precedence over config file.
+	 *
+	 * @return if selectors are profiled as a Boolean.
+	 */
+	public Boolean profileSelectors() {
+		final String profileFrmCmd = System.getProperty("selectorProfiling");
+		if (!StringUtils.isBlank(profileFrmCmd))
+			return Boolean.valueOf(profileFrmCmd);
+		final Object profile = getBrowserConfig().get("selectorProfiling");
+		if (profile != null)
+			return Boolean.valueOf(profile.toString());
+		return false;
+	}
+
+	/**
+	 * Method to get how elements are clicked and filled. Command line parameter
+	 * takes precedence over config file.
+	 *
+	 * @return interaction profile as an ENUM, SAFE if not configured.
+	 */
+	public InteractionProfile getInteractionProfile() {
+		final String profileFrmCmd = System.getProperty("interactionProfile");
+		final Object profile = StringUtils.isBlank(profileFrmCmd) ? getBrowserConfig().get("interactionProfile")
+				: profileFrmCmd;
+		if (profile == null)
+			return InteractionProfile.SAFE;
+		switch (profile.toString()) {
+		case "safe":
+			return InteractionProfile.SAFE;
+		case "fast":
+			return InteractionProfile.FAST;
+		default:
+			throw new IllegalArgumentException(String.format("Unsupported interaction profile: %s", profile));
+		}
+	}
+
+	/**
+	 * Method to get how the Playwright calls of the page are recorded. Command
+	 * line parameter takes precedence over config file.
+	 *
+	 * @return instrumentation mode as an ENUM, OFF if not configured.
+	 */
+	public InstrumentationMode getInstrumentationMode() {
+		final String modeFrmCmd = System.getProperty("playwrightInstrumentation");
+		final Object mode = StringUtils.isBlank(modeFrmCmd) ? getBrowserConfig().get("playwrightInstrumentation")
+				: modeFrmCmd;
+		if (mode == null)
+			return InstrumentationMode.OFF;
+		switch (mode.toString()) {
+		case "off":
+			return InstrumentationMode.OFF;
+		case "counters":
+			return InstrumentationMode.COUNTERS;
+		case "full":
+			return InstrumentationMode.FULL;
+		default:
+			throw new IllegalArgumentException(String.format("Unsupported instrumentation mode: %s", mode));
+		}
+	}
+
+	/**
+	 * If Navigation Timing, paint, layout shift and long task metrics should be
+	 * collected for every navigation and route change. Command line parameter
+	 * takes precedence over config file.
+	 *
+	 * @return if web vitals are collected as a Boolean.
+	 */
+	public Boolean collectWebVitals() {
+		final String webVitalsFrmCmd = System.getProperty("webVitals");
+		if (!StringUtils.isBlank(webVitalsFrmCmd))
+			return Boolean.valueOf(webVitalsFrmCmd);
+		final Object webVitals = getBrowserConfig().get("webVitals");
+		if (webVitals != null)
+			return Boolean.valueOf(webVitals.toString());
+		return false;
+	}
+
+	/**
+	 * Method to get for how long no tracked request may start before the page is
+	 * considered settled.
+	 *
+	 * @return quiet time in milliseconds from the config.yaml file if present else
+	 *         defined by NETWORK_QUIET_TIME_MS variable is returned.
+	 */
+	public int getNetworkQuietTimeMs() {
+		final Object quietTime = getReadinessConfig().get("quietTimeMs");
+		if (quietTime != null)
+			return ConvertUtils.stringToInt(quietTime.toString());
+		return NETWORK_QUIET_TIME_MS;
+	}
+
+	/**
+	 * Method to get the URL glob patterns of requests a page waits for before it
+	 * is considered settled.
+	 *
+	 * @return URL patterns as a List, empty if every request is tracked.
+	 */
+	public List<String> getNetworkAllowPatterns() {
+		return toStringList(getReadinessConfig().get("allow"));
+	}
+
+	/**
+	 * Method to get the URL glob patterns of requests a page does not wait for,
+	 * e.g. polling and analytics calls.
+	 *
+	 * @return URL patterns as a List, empty if no request is ignored.
+	 */
+	public List<String> getNetworkDenyPatterns() {
+		return toStringList(getReadinessConfig().get("deny"));
+	}
+
+	/**
+	 * If requests of the configured resource types and URL patterns should be
+	 * blocked. Command line parameter takes precedence over config file.
+	 *
+	 * @return if resources should be blocked as a Boolean.
+	 */
+	public Boolean blockResources() {
+		final String blockResourcesFrmCmd = System.getProperty("blockResources");
+		if (!StringUtils.isBlank(blockResourcesFrmCmd))
+			return Boolean.valueOf(blockResourcesFrmCmd);
+		final Object enabled = getBlockResourcesConfig().get("enabled");
+		if (enabled != null)
+			return Boolean.valueOf(enabled.toString());
+		return false;
+	}
+
+	/**
+	 * Method to get the Playwright resource types whose requests are blocked, e.g.
+	 * image, font or media.
+	 *
+	 * @return resource types as a List, empty if none is blocked.
+	 */
+	public List<String> getBlockedResourceTypes() {
+		return toStringList(getBlockResourcesConfig().get("resourceTypes"));
+	}
+
+	/**
+	 * Method to get the URL glob patterns of requests which are blocked.
+	 *
+	 * @return URL patterns as a List, empty if none is blocked.
+	 */
+	public List<String> getBlockedUrlPatterns() {
+		return toStringList(getBlockResourcesConfig().get("urlPatterns"));
+	}
+
+	/**
+	 * If static assets should be served from the JVM-wide asset cache. Command
+	 * line parameter takes precedence over config file.
+	 *
+	 * @return if the asset cache is used as a Boolean.
+	 */
+	public Boolean useAssetCache() {
+		final String assetCacheFrmCmd = System.getProperty("assetCache");
+		if (!StringUtils.isBlank(assetCacheFrmCmd))
+			return Boolean.valueOf(assetCacheFrmCmd);
+		final Object enabled = getAssetCacheConfig().get("enabled");
+		if (enabled != null)
+			return Boolean.valueOf(enabled.toString());
+		return false;
+	}
+
+	/**
+	 * Method to get the directory where cached asset bodies are stored.
+	 *
+	 * @return asset cache directory from the config.yaml file if present else
+	 *         defined by ASSET_CACHE_DIRECTORY variable is returned.
+	 */
+	public String getAssetCacheDirectory() {
+		final Object directory = getAssetCacheConfig().get("directory");
+		if (directory != null)
+			return directory.toString();
+		return ASSET_CACHE_DIRECTORY;
+	}
+
+	/**
+	 * Method to get the maximum size of the cached asset bodies on disk.
+	 *
+	 * @return size cap in megabytes from the config.yaml file if present else
+	 *         defined by ASSET_CACHE_MAX_SIZE_MB variable is returned.
+	 */
+	public int getAssetCacheMaxSizeMb() {
+		final Object maxSize = getAssetCacheConfig().get("maxSizeMb");
+		if (maxSize != null)
+			return ConvertUtils.stringToInt(maxSize.toString());
+		return ASSET_CACHE_MAX_SIZE_MB;
+	}
+
+	/**
+	 * Method to get the Playwright resource types which are cached.
+	 *
+	 * @return resource types as a List, script and stylesheet if not configured.
+	 */
+	public List<String> getAssetCacheResourceTypes() {
+		final List<String> resourceTypes = toStringList(getAssetCacheConfig().get("resourceTypes"));
+		return resourceTypes.isEmpty() ? List.of("script", "stylesheet") : resourceTypes;
+	}
+
+	/**
+	 * Method to get if the scenarios run against the live environment, record
+	 * their traffic or replay it. Command line parameter takes precedence over
+	 * config file.
+	 *
+	 * @return network mode as an ENUM, LIVE if not configured.
+	 */
+	public NetworkMode getNetworkMode() {
+		final String modeFrmCmd = System.getProperty("network.mode");
+		final Object mode = StringUtils.isBlank(modeFrmCmd) ? getNetworkConfig().get("mode") : modeFrmCmd;
+		if (mode == null)
+			return NetworkMode.LIVE;
+		switch (mode.toString()) {
+		case "live":
+			return NetworkMode.LIVE;
+		case "record":
+			return NetworkMode.RECORD;
+		case "replay":
+			return NetworkMode.REPLAY;
+		default:
+			throw new IllegalArgumentException(String.format("Unsupported network mode: %s", mode));
+		}
+	}
+
+	/**
+	 * Method to get the directory where the HAR files of the scenarios are
+	 * recorded.
+	 *
+	 * @return HAR directory from the config.yaml file if present else defined by
+	 *         HAR_DIRECTORY variable is returned.
+	 */
+	public String getHarDirectory() {
+		final Object harDirectory = getNetworkConfig().get("harDirectory");
+		if (harDirectory != null)
+			return harDirectory.toString();
+		return HAR_DIRECTORY;
+	}
+
+	/**
+	 * Method to get what happens to a request which is not in the recording when
+	 * replaying. Command line parameter takes precedence over config file.
+	 *
+	 * @return ABORT to fail the request, FALLBACK to send it to the network.
+	 */
+	public HarNotFound getHarNotFoundPolicy() {
+		final String notFoundFrmCmd = System.getProperty("network.notFound");
+		final Object notFound = StringUtils.isBlank(notFoundFrmCmd) ? getNetworkConfig().get("notFound")
+				: notFoundFrmCmd;
+		if (notFound == null)
+			return HarNotFound.ABORT;
+		switch (notFound.toString()) {
+		case "abort":
+			return HarNotFound.ABORT;
+		case "fallback":
+			return HarNotFound.FALLBACK;
+		default:
+			throw new IllegalArgumentException(String.format("Unsupported HAR not found policy: %s", notFound));
+		}
+	}
+
+	/**
+	 * Method to get the URL glob of the requests which are recorded and replayed.
+	 *
+	 * @return URL glob, null to record and replay every request.
+	 */
+	public String getHarUrlPattern() {
+		final Object urlPattern = getNetworkConfig().get("urlPattern");
+		return (urlPattern == null || StringUtils.isBlank(urlPattern.toString())) ? null : urlPattern.toString();
+	}
+
+	/**
+	 * If a scenario should fail when an action takes longer than its performance
+	 * budget. Command line parameter takes precedence over config file.
+	 *
+	 * @return true to fail the scenario, false to only report the exceeded
+	 *         budget.
+	 */
+	public Boolean enforcePerformanceBudgets() {
+		final String enforceFrmCmd = System.getProperty("budgets.enforce");
+		if (!StringUtils.isBlank(enforceFrmCmd))
+			return Boolean.valueOf(enforceFrmCmd);
+		final Object enforce = getBudgetsConfig().get("enforce");
+		if (enforce != null)
+			return Boolean.valueOf(enforce.toString());
+		return true;
+	}
+
+	/**
+	 * Method to get the performance budget of an action in the environment the
+	 * tests run against. The budget in the config file for the environment takes
+	 * precedence over the budget of the step.
+	 *
+	 * @param budgetName:   name of the budget, e.g. "Workspaces settings page"
+	 * @param stepBudgetMs: budget in milliseconds written in the step
+	 * @return budget in milliseconds.
+	 */
+	public long getPerformanceBudget(final String budgetName, final long stepBudgetMs) {
+		final Object overrides = getBudgetsConfig().get("overrides");
+		if (overrides instanceof Map) {
+			final Object envBudgets = ((Map<String, Object>) overrides).get(getEnvironmentName());
+			if (envBudgets instanceof Map) {
+				final Object budget = ((Map<String, Object>) envBudgets).get(budgetName);
+				if (budget != null)
+					return ConvertUtils.stringToLong(budget.toString());
+			}
+		}
+		return stepBudgetMs;
+	}
 }
@@ -0,0 +1,17 @@
+package enums;
+
+/**
+ * Enum {@link InstrumentationMode} class holding how the Playwright calls of the
+ * page handed out by PlaywrightManager are recorded.
+ * <ul>
+ * <li>{@code OFF}: the page is not wrapped and nothing is recorded.</li>
+ * <li>{@code COUNTERS}: calls and failures are counted per step, scenario and
+ * method, without timing them.</li>
+ * <li>{@code FULL}: every call is also timed and recorded with its method,
+ * selector, duration and outcome.</li>
+ * </ul>
+ */
+public enum InstrumentationMode {
+
+    OFF, COUNTERS, FULL
+}
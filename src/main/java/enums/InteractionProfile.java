@@ -0,0 +1,17 @@
+package enums;
+
+/**
+ * Enum {@link InteractionProfile} class holding the ways elements are clicked
+ * and filled by the interaction methods of PlaywrightUtils.
+ * <ul>
+ * <li>{@code SAFE}: wait for the element, hover it and then click or fill it,
+ * falling back to a JavaScript click whenever the click fails.</li>
+ * <li>{@code FAST}: a single click or fill, which already waits until the
+ * element is actionable. Hover and JavaScript-click fallbacks are only used
+ * for the failures they can fix, every other failure is thrown.</li>
+ * </ul>
+ */
+public enum InteractionProfile {
+
+    SAFE, FAST
+}
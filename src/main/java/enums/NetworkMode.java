@@ -0,0 +1,18 @@
+package enums;
+
+/**
+ * Enum {@link NetworkMode} class holding how the browser contexts reach the
+ * portal.
+ * <ul>
+ * <li>{@code LIVE}: every request goes to the environment selected by
+ * envType.</li>
+ * <li>{@code RECORD}: requests go to the environment and the traffic of every
+ * scenario is saved to a HAR file.</li>
+ * <li>{@code REPLAY}: requests are served from the HAR file of the scenario,
+ * without a network.</li>
+ * </ul>
+ */
+public enum NetworkMode {
+
+    LIVE, RECORD, REPLAY
+}
@@ -0,0 +1,18 @@
+package enums;
+
+/**
+ * Enum {@link ReadinessMode} class holding the ways the framework decides that
+ * a page is ready after a navigation or an action which loads data.
+ * <ul>
+ * <li>{@code NETWORK_IDLE}: Playwright's network idle load state, i.e. no
+ * network connection for at least 500ms.</li>
+ * <li>{@code NETWORK_SETTLED}: all tracked requests of the page have finished
+ * and no new one started for the configured quiet time. Requests can be
+ * narrowed with allow/deny URL patterns, so polling and analytics calls do not
+ * keep the page from being ready.</li>
+ * </ul>
+ */
+public enum ReadinessMode {
+
+    NETWORK_IDLE, NETWORK_SETTLED
+}
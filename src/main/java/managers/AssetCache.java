@@ -0,0 +1,382 @@
+package managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.Logger;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import dataproviders.ConfigFileReader;
+import utilities.Log;
+import utilities.PerformanceReport;
+
+/**
+ * The class {@code AssetCache} is a singleton class which shares static assets
+ * (scripts and stylesheets by default) between all browser contexts of the
+ * JVM. Every scenario gets a fresh context, so the browser HTTP cache is thrown
+ * away after each one; this cache intercepts the GET requests of those assets
+ * through a context route and fulfills them from disk instead.
+ * <p>
+ * Entries are keyed by URL and keep the response validators. A fresh entry
+ * (per {@code Cache-Control: max-age} or {@code immutable}) is served without
+ * touching the network, a stale one is revalidated with a conditional request
+ * and only downloaded again if it changed. Bodies are stored content-addressed,
+ * so assets served under several URLs are stored once, and the least recently
+ * used entries are evicted once the size cap is exceeded. Responses with
+ * {@code no-store}, cookies or an error status are never cached, and cookies
+ * are never replayed, so contexts stay isolated from each other.
+ */
+public final class AssetCache {
+
+    private static final Logger logger = Log.getLogger(AssetCache.class);
+    private static final AssetCache assetCache = new AssetCache(new ConfigFileReader());
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Set<String> DROPPED_HEADERS = Set.of("set-cookie", "content-length", "content-encoding",
+            "transfer-encoding", "connection");
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxSizeBytes;
+    private final Set<String> resourceTypes;
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Integer> bodyReferences = new HashMap<>();
+    private final Map<String, Long> bodySizes = new HashMap<>();
+    private long storedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+
+    private AssetCache(final ConfigFileReader configFileReader) {
+        enabled = configFileReader.useAssetCache();
+        directory = Paths.get(configFileReader.getAssetCacheDirectory());
+        maxSizeBytes = configFileReader.getAssetCacheMaxSizeMb() * 1024L * 1024L;
+        resourceTypes = Set.copyOf(configFileReader.getAssetCacheResourceTypes());
+        if (enabled) {
+            clearDirectory();
+        }
+    }
+
+    /**
+     * Method to get instance of the AssetCache.
+     *
+     * @return instance of AssetCache
+     */
+    public static AssetCache getInstance() {
+        return assetCache;
+    }
+
+    /**
+     * Method to install the caching route on a browser context, if the cache is
+     * enabled. Requests which are not cached fall back to the route handlers
+     * installed before, or to the network. It must be installed before the
+     * {@link ResourceBlocker}, whose route then runs first, so a blocked asset
+     * is aborted instead of being fetched and served from the cache.
+     *
+     * @param browserContext: context whose static assets are cached
+     */
+    public void install(final BrowserContext browserContext) {
+        if (enabled) {
+            browserContext.route("**/*", this::handle);
+        }
+    }
+
+    /**
+     * Method to serve a request from the cache, revalidate it or fetch and store
+     * it.
+     *
+     * @param route: intercepted request
+     */
+    private void handle(final Route route) {
+        final Request request = route.request();
+        if (!"GET".equals(request.method()) || !resourceTypes.contains(request.resourceType())) {
+            route.fallback();
+            return;
+        }
+        final String url = request.url();
+        final CacheEntry cached = get(url);
+        if (cached != null && cached.isFresh()) {
+            if (fulfillFromCache(route, cached)) {
+                hits.increment();
+                return;
+            }
+        }
+
+        final Map<String, String> headers = new HashMap<>(request.headers());
+        if (cached != null) {
+            if (cached.etag != null) {
+                headers.put("if-none-match", cached.etag);
+            }
+            if (cached.lastModified != null) {
+                headers.put("if-modified-since", cached.lastModified);
+            }
+        }
+        final APIResponse response = route.fetch(new Route.FetchOptions().setHeaders(headers));
+        if (cached != null && response.status() == 304) {
+            response.dispose();
+            cached.storedAtNanos = System.nanoTime();
+            if (fulfillFromCache(route, cached)) {
+                revalidations.increment();
+            } else {
+                // The body is gone and its entry was dropped, fetch it again without validators
+                handle(route);
+            }
+            return;
+        }
+        try {
+            final byte[] body = response.body();
+            final Map<String, String> responseHeaders = cleanHeaders(response.headers());
+            if (isCacheable(response.status(), response.headers())) {
+                put(url, body, responseHeaders);
+                misses.increment();
+            } else {
+                uncacheable.increment();
+            }
+            route.fulfill(new Route.FulfillOptions().setStatus(response.status()).setHeaders(responseHeaders)
+                    .setBodyBytes(body));
+        } finally {
+            response.dispose();
+        }
+    }
+
+    /**
+     * Method to fulfill a request with a cached body.
+     *
+     * @param route:  intercepted request
+     * @param cached: cache entry of the request URL
+     * @return false if the body is not on disk anymore
+     */
+    private boolean fulfillFromCache(final Route route, final CacheEntry cached) {
+        final byte[] body;
+        try {
+            body = Files.readAllBytes(bodyPath(cached.bodyHash));
+        } catch (IOException e) {
+            logger.warn("Cached asset {} could not be read: {}", cached.url, e.getMessage());
+            remove(cached.url);
+            return false;
+        }
+        route.fulfill(new Route.FulfillOptions().setStatus(200).setHeaders(cached.headers).setBodyBytes(body));
+        bytesServed.add(body.length);
+        return true;
+    }
+
+    /**
+     * If a response may be cached and shared between contexts.
+     *
+     * @param status:  response status
+     * @param headers: response headers, lower case names
+     * @return true if the response may be stored
+     */
+    private static boolean isCacheable(final int status, final Map<String, String> headers) {
+        if (status != 200 || headers.containsKey("set-cookie")) {
+            return false;
+        }
+        final String cacheControl = headers.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-store")) {
+            return false;
+        }
+        // Without a lifetime, the entry must be revalidated, which needs a validator
+        return maxAgeNanos(cacheControl) > 0 || cacheControl.contains("immutable") || headers.containsKey("etag")
+                || headers.containsKey("last-modified");
+    }
+
+    /**
+     * Method to get the lifetime a response may be served without revalidation.
+     *
+     * @param cacheControl: Cache-Control header value, lower case
+     * @return lifetime in nanoseconds, 0 if it must always be revalidated
+     */
+    private static long maxAgeNanos(final String cacheControl) {
+        if (cacheControl.contains("no-cache")) {
+            return 0;
+        }
+        if (cacheControl.contains("immutable")) {
+            return Long.MAX_VALUE;
+        }
+        final Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        return maxAge.find() ? TimeUnit.SECONDS.toNanos(Long.parseLong(maxAge.group(1))) : 0;
+    }
+
+    /**
+     * Method to drop the headers which do not apply to a replayed body: cookies
+     * and the transfer details of the original response.
+     *
+     * @param headers: response headers
+     * @return headers to fulfill the request with
+     */
+    private static Map<String, String> cleanHeaders(final Map<String, String> headers) {
+        final Map<String, String> cleaned = new HashMap<>(headers);
+        cleaned.keySet().removeIf(name -> DROPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT)));
+        return cleaned;
+    }
+
+    private synchronized CacheEntry get(final String url) {
+        return entries.get(url);
+    }
+
+    /**
+     * Method to store a response body, writing it to disk unless the same body
+     * is stored already, and to evict the least recently used entries if the
+     * cache grew beyond its size cap.
+     *
+     * @param url:     request URL
+     * @param body:    response body
+     * @param headers: response headers to replay
+     */
+    private void put(final String url, final byte[] body, final Map<String, String> headers) {
+        final String bodyHash = sha256(body);
+        final CacheEntry entry = new CacheEntry(url, bodyHash, headers);
+        synchronized (this) {
+            if (!bodyReferences.containsKey(bodyHash)) {
+                try {
+                    Files.createDirectories(directory);
+                    final Path tempPath = Files.createTempFile(directory, "asset", ".tmp");
+                    Files.write(tempPath, body);
+                    Files.move(tempPath, bodyPath(bodyHash), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    logger.warn("Asset {} could not be cached: {}", url, e.getMessage());
+                    return;
+                }
+                bodySizes.put(bodyHash, (long) body.length);
+                storedBytes += body.length;
+            }
+            bodyReferences.merge(bodyHash, 1, Integer::sum);
+            final CacheEntry replaced = entries.put(url, entry);
+            if (replaced != null) {
+                releaseBody(replaced.bodyHash);
+            }
+            final Iterator<CacheEntry> leastRecentlyUsed = entries.values().iterator();
+            while (storedBytes > maxSizeBytes && leastRecentlyUsed.hasNext()) {
+                final CacheEntry evicted = leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+                releaseBody(evicted.bodyHash);
+                evictions.increment();
+            }
+        }
+    }
+
+    private synchronized void remove(final String url) {
+        final CacheEntry removed = entries.remove(url);
+        if (removed != null) {
+            releaseBody(removed.bodyHash);
+        }
+    }
+
+    /**
+     * Method to drop a reference to a stored body and delete the body once no
+     * entry refers to it anymore. Must be called while holding the cache lock.
+     *
+     * @param bodyHash: content hash of the body
+     */
+    private void releaseBody(final String bodyHash) {
+        if (bodyReferences.merge(bodyHash, -1, Integer::sum) > 0) {
+            return;
+        }
+        bodyReferences.remove(bodyHash);
+        storedBytes -= bodySizes.remove(bodyHash);
+        try {
+            Files.deleteIfExists(bodyPath(bodyHash));
+        } catch (IOException e) {
+            logger.warn("Evicted asset {} could not be deleted: {}", bodyHash, e.getMessage());
+        }
+    }
+
+    private Path bodyPath(final String bodyHash) {
+        return directory.resolve(bodyHash);
+    }
+
+    private static String sha256(final byte[] body) {
+        try {
+            return String.format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(body)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method to delete the bodies left behind by a previous run, whose index is
+     * not known to this JVM.
+     */
+    private void clearDirectory() {
+        final File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Method to log the cache counters and write them to the asset-cache
+     * performance report.
+     */
+    public void writeReport() {
+        if (!enabled) {
+            return;
+        }
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("hits", hits.sum());
+        report.put("revalidatedHits", revalidations.sum());
+        report.put("misses", misses.sum());
+        report.put("uncacheable", uncacheable.sum());
+        report.put("evictions", evictions.sum());
+        report.put("bytesServedFromCache", bytesServed.sum());
+        synchronized (this) {
+            report.put("entries", entries.size());
+            report.put("storedBytes", storedBytes);
+        }
+        logger.info("Asset cache: {}", report);
+        PerformanceReport.write("asset-cache", report);
+    }
+
+    /**
+     * Cached response of one URL: the hash of its body, the headers to replay and
+     * the validators to revalidate it.
+     */
+    private static final class CacheEntry {
+        private final String url;
+        private final String bodyHash;
+        private final Map<String, String> headers;
+        private final String etag;
+        private final String lastModified;
+        private final long maxAgeNanos;
+        private volatile long storedAtNanos = System.nanoTime();
+
+        private CacheEntry(final String url, final String bodyHash, final Map<String, String> headers) {
+            this.url = url;
+            this.bodyHash = bodyHash;
+            this.headers = headers;
+            etag = headers.get("etag");
+            lastModified = headers.get("last-modified");
+            maxAgeNanos = maxAgeNanos(headers.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT));
+        }
+
+        private boolean isFresh() {
+            return System.nanoTime() - storedAtNanos < maxAgeNanos;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+
+import com.microsoft.playwright.BrowserContext;
+
+import dataproviders.ConfigFileReader;
+import utilities.Log;
+
+/**
+ * The class {@code AuthStateManager} is a singleton class which keeps the
+ * storage state (cookies and local storage) of logged in users on disk, so new
+ * browser contexts can start already logged in instead of going through the UI
+ * login for every scenario.
+ */
+public final class AuthStateManager {
+
+    private static final Logger logger = Log.getLogger(AuthStateManager.class);
+    private static final AuthStateManager authStateManager = new AuthStateManager();
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<BrowserContext, long[]> seededContexts = Collections.synchronizedMap(new WeakHashMap<>());
+    private ConfigFileReader configFileReader;
+
+    private AuthStateManager() {
+    }
+
+    /**
+     * Method to get instance of the AuthStateManager.
+     * 
+     * @return instance of AuthStateManager
+     */
+    public static AuthStateManager getInstance() {
+        return authStateManager;
+    }
+
+    /**
+     * Method to get the config reader, fetched lazily so that it is only read
+     * once the command line parameters are validated.
+     * 
+     * @return instance of ConfigFileReader
+     */
+    private ConfigFileReader getConfigReader() {
+        return (configFileReader == null) ? configFileReader = FileReaderManager.getInstance().getConfigReader()
+                : configFileReader;
+    }
+
+    /**
+     * If saved sessions should be reused by new browser contexts.
+     * 
+     * @return true if session reuse is enabled
+     */
+    public boolean isEnabled() {
+        return getConfigReader().reuseSession();
+    }
+
+    /**
+     * Method to get the storage state file of a user if it exists and has not
+     * expired yet.
+     * 
+     * @param user: user email
+     * @return path of the storage state file, null if there is no valid session
+     */
+    public Path getValidStorageState(final String user) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final File storageStateFile = getStorageStatePath(user).toFile();
+        if (!storageStateFile.isFile()) {
+            return null;
+        }
+        final long ageMillis = System.currentTimeMillis() - storageStateFile.lastModified();
+        if (ageMillis > TimeUnit.MINUTES.toMillis(getConfigReader().getSessionTtlMinutes())) {
+            logger.info("Saved session of {} expired", user);
+            return null;
+        }
+        return storageStateFile.toPath();
+    }
+
+    /**
+     * Method to save the storage state of a logged in browser context. The file
+     * is replaced atomically, so contexts created by other workers in the
+     * meantime never read a partially written session.
+     * 
+     * @param user:           user email
+     * @param browserContext: context in which the user is logged in
+     */
+    public void saveStorageState(final String user, final BrowserContext browserContext) {
+        if (!isEnabled()) {
+            return;
+        }
+        final Path storageStatePath = getStorageStatePath(user);
+        try {
+            Files.createDirectories(storageStatePath.getParent());
+            final Path tempPath = Files.createTempFile(storageStatePath.getParent(), "storage-state", ".tmp");
+            browserContext.storageState(new BrowserContext.StorageStateOptions().setPath(tempPath));
+            Files.move(tempPath, storageStatePath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            generation.incrementAndGet();
+            logger.info("Saved session of {} to {}", user, storageStatePath);
+        } catch (IOException e) {
+            logger.warn("Could not save session of {}: {}", user, e.getMessage());
+        }
+    }
+
+    /**
+     * Method to remember which saved session a browser context was seeded from,
+     * so that only that session is discarded if the portal rejects it.
+     * 
+     * @param browserContext: context created with the storage state file
+     * @param storageState:   storage state file the context was created from
+     * @param seedGeneration: generation read before the file was read
+     */
+    public void recordSeed(final BrowserContext browserContext, final Path storageState,
+            final long seedGeneration) {
+        seededContexts.put(browserContext, new long[] { seedGeneration, storageState.toFile().lastModified() });
+    }
+
+    /**
+     * Method to discard the saved session of a user which the portal rejected in
+     * a browser context. The session is only discarded if it is still the one
+     * the context was seeded from; a session saved meanwhile by another worker
+     * is kept, so the workers do not all fall back to the UI login.
+     * 
+     * @param user:           user email
+     * @param browserContext: context in which the session was rejected
+     */
+    public synchronized void invalidate(final String user, final BrowserContext browserContext) {
+        final long[] seed = seededContexts.remove(browserContext);
+        final Path storageStatePath = getStorageStatePath(user);
+        if (seed == null) {
+            return;
+        }
+        if (seed[0] != generation.get() || seed[1] != storageStatePath.toFile().lastModified()) {
+            logger.info("Saved session of {} changed since the context was seeded, keeping it", user);
+            return;
+        }
+        try {
+            if (Files.deleteIfExists(storageStatePath)) {
+                generation.incrementAndGet();
+                logger.info("Discarded saved session of {}", user);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not discard session of {}: {}", user, e.getMessage());
+        }
+    }
+
+    /**
+     * Method to get a number which changes every time a session is saved or
+     * discarded. Contexts created ahead of time compare it to know if they were
+     * seeded with the current session.
+     * 
+     * @return current generation of the saved sessions
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Method to get the storage state file path of a user for the environment
+     * the tests run against.
+     * 
+     * @param user: user email
+     * @return path of the storage state file
+     */
+    private Path getStorageStatePath(final String user) {
+        final String fileName = String.format("%s_%s.json", getConfigReader().getEnvironmentName(), user)
+                .replaceAll("[^A-Za-z0-9._-]", "_");
+        return Paths.get(getConfigReader().getStorageStateDirectory(), fileName);
+    }
+}
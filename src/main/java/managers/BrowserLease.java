@@ -0,0 +1,77 @@
+package managers;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+
+/**
+ * The class {@code BrowserLease} gives the holding thread exclusive use of one
+ * browser of the {@link BrowserPool} until it is closed. Closing the lease
+ * returns the browser to the pool, it is not closed.
+ */
+public final class BrowserLease implements AutoCloseable {
+
+    private final BrowserPool browserPool;
+    private final BrowserPool.PooledBrowser pooledBrowser;
+    private final long leasedAtNanos = System.nanoTime();
+    private boolean isReleased = false;
+
+    BrowserLease(final BrowserPool browserPool, final BrowserPool.PooledBrowser pooledBrowser) {
+        this.browserPool = browserPool;
+        this.pooledBrowser = pooledBrowser;
+    }
+
+    /**
+     * Method to get the leased browser.
+     * 
+     * @return Browser object
+     */
+    public Browser getBrowser() {
+        if (isReleased) {
+            throw new IllegalStateException("Browser lease was already released");
+        }
+        return pooledBrowser.getBrowser();
+    }
+
+    /**
+     * Method to take a ready-to-use browser context of the leased browser. A
+     * pre-warmed context is returned when available, else one is created.
+     * 
+     * @return BrowserContext object
+     */
+    public BrowserContext takeContext() {
+        getBrowser();
+        return browserPool.takeContext(pooledBrowser);
+    }
+
+    /**
+     * Method to hand a context which is no longer needed back to the pool. It is
+     * closed in the background once the lease is released.
+     * 
+     * @param browserContext: context of the leased browser
+     */
+    public void retireContext(final BrowserContext browserContext) {
+        getBrowser();
+        pooledBrowser.retireContext(browserContext);
+    }
+
+    /**
+     * Method to get the identifier of the leased browser, used in logs.
+     * 
+     * @return browser identifier
+     */
+    public int getBrowserId() {
+        return pooledBrowser.getId();
+    }
+
+    /**
+     * Method to return the browser to the pool. Calling it more than once has no
+     * effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (!isReleased) {
+            isReleased = true;
+            browserPool.release(pooledBrowser, System.nanoTime() - leasedAtNanos);
+        }
+    }
+}
@@ -0,0 +1,701 @@
+package managers;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.Logger;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+
+import dataproviders.ConfigFileReader;
+import utilities.ConvertUtils;
+import utilities.Log;
+
+/**
+ * The class {@code BrowserPool} is a singleton class which keeps a bounded set
+ * of launched browsers and hands them out to scenario workers as
+ * {@link BrowserLease} objects.
+ * <p>
+ * Playwright Java is not thread safe, so every pooled browser is launched from
+ * its own Playwright driver connection and is used by exactly one thread at a
+ * time, the one holding its lease.
+ * <p>
+ * Each browser also keeps a few ready-to-use browser contexts. When a lease is
+ * returned, a background maintenance task disposes the contexts used by the
+ * scenario and creates fresh ones before the browser becomes idle again. The
+ * driver connection of a browser must not be used by two threads at once, so
+ * the browser cannot be leased during its maintenance. The warm-up therefore
+ * launches spare browsers beyond one per worker thread, so a worker starting
+ * its next scenario leases a spare browser with a warm context while the one
+ * it released is maintained. Only a lease which still finds no idle browser
+ * waits for a browser under maintenance rather than launching a new one, since
+ * maintenance takes far less time than a launch.
+ */
+public final class BrowserPool {
+
+    private static final Logger logger = Log.getLogger(BrowserPool.class);
+    private static final long MAINTENANCE_WAIT_MILLIS = 10000;
+    private static BrowserPool browserPool;
+
+    private final ConfigFileReader configFileReader;
+    private final int capacity;
+    private final int warmContextsPerBrowser;
+    private final ExecutorService maintenance;
+    private final BlockingQueue<PooledBrowser> idleBrowsers = new LinkedBlockingQueue<>();
+    private final List<PooledBrowser> allBrowsers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger launchedBrowsers = new AtomicInteger();
+    private final AtomicInteger browserIds = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final AtomicInteger inMaintenance = new AtomicInteger();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder launches = new LongAdder();
+    private final LongAdder leaseLaunches = new LongAdder();
+    private final LongAdder maintenanceWaits = new LongAdder();
+    private final LongAdder replacements = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder warmContextHits = new LongAdder();
+    private final LongAdder coldContexts = new LongAdder();
+    private final LongAdder disposedContexts = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final long createdAtNanos = System.nanoTime();
+    private volatile boolean isShutdown = false;
+
+    private BrowserPool() {
+        configFileReader = FileReaderManager.getInstance().getConfigReader();
+        capacity = resolveCapacity();
+        warmContextsPerBrowser = configFileReader.getWarmContextsPerBrowser();
+        maintenance = Executors.newFixedThreadPool(capacity, runnable -> {
+            final Thread thread = new Thread(runnable, "browser-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Browser pool created with capacity {} and {} warm context(s) per browser", capacity,
+                warmContextsPerBrowser);
+    }
+
+    /**
+     * Method to get instance of the BrowserPool.
+     * 
+     * @return instance of BrowserPool
+     */
+    public static synchronized BrowserPool getInstance() {
+        if (browserPool == null || browserPool.isShutdown) {
+            browserPool = new BrowserPool();
+        }
+        return browserPool;
+    }
+
+    /**
+     * Method to resolve the number of browsers this pool may launch. An explicit
+     * size from the command line or config.yaml file wins, else the pool is sized
+     * from the available CPU cores and the free physical memory.
+     * 
+     * @return maximum number of browsers
+     */
+    private int resolveCapacity() {
+        final int configuredSize = configFileReader.getBrowserPoolSize();
+        if (configuredSize > 0) {
+            return configuredSize;
+        }
+        final int cores = Runtime.getRuntime().availableProcessors();
+        int byMemory = cores;
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean) {
+            final long freeMemoryMb = ((com.sun.management.OperatingSystemMXBean) ManagementFactory
+                    .getOperatingSystemMXBean()).getFreePhysicalMemorySize() / (1024 * 1024);
+            byMemory = (int) (freeMemoryMb / configFileReader.getMemoryPerBrowserMb());
+        }
+        return Math.max(1, Math.min(cores, byMemory));
+    }
+
+    /**
+     * Method to get the number of worker threads expected to lease browsers, as
+     * derived from the thread count parameters of the run.
+     * 
+     * @return number of expected worker threads
+     */
+    private int getExpectedWorkers() {
+        final String scenarioThreadCount = System.getProperty("scenarioThreadCount"),
+                featureThreadCount = System.getProperty("featureThreadCount");
+        final int scenarioThreads = StringUtils.isBlank(scenarioThreadCount) ? 1
+                : ConvertUtils.stringToInt(scenarioThreadCount);
+        final int featureThreads = StringUtils.isBlank(featureThreadCount) ? 1
+                : ConvertUtils.stringToInt(featureThreadCount);
+        return Math.max(1, scenarioThreads * featureThreads);
+    }
+
+    /**
+     * Method to launch browsers up front so that the first scenarios of every
+     * worker do not pay the launch cost, and the later ones do not wait for the
+     * maintenance of the browser they released. One browser per expected worker
+     * thread plus the spare browsers are launched in parallel, bounded by the
+     * pool capacity, and their warm contexts are created before this method
+     * returns.
+     */
+    public void warmUp() {
+        final int workers = getExpectedWorkers();
+        final int configuredSpares = configFileReader.getSpareBrowsers();
+        final int wanted = workers + (configuredSpares < 0 ? workers : configuredSpares);
+        if (wanted > capacity) {
+            logger.warn("Browser pool capacity {} is below the {} browser(s) for {} worker(s) and their spares, "
+                    + "leases may wait for maintenance", capacity, wanted, workers);
+        }
+        final int warmCount = Math.min(capacity, wanted) - launchedBrowsers.get();
+        if (warmCount <= 0) {
+            return;
+        }
+        logger.info("Warming up browser pool with {} browser(s) for {} worker(s)", warmCount, workers);
+        final ExecutorService launcher = Executors.newFixedThreadPool(warmCount);
+        try {
+            final List<Future<PooledBrowser>> launched = new ArrayList<>(warmCount);
+            for (int i = 0; i < warmCount; i++) {
+                if (!reserveSlot()) {
+                    break;
+                }
+                launched.add(launcher.submit(() -> {
+                    final PooledBrowser pooledBrowser = launchReservedBrowser();
+                    refillWarmContexts(pooledBrowser);
+                    return pooledBrowser;
+                }));
+            }
+            for (final Future<PooledBrowser> future : launched) {
+                idleBrowsers.add(future.get());
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to warm up the browser pool", e);
+        } finally {
+            launcher.shutdown();
+        }
+    }
+
+    /**
+     * Method to lease a browser for the calling thread. An idle browser is
+     * returned if available, else a browser under maintenance is waited for,
+     * else a new one is launched while the pool is below its capacity, else the
+     * call waits for a browser to be released.
+     * 
+     * @return lease of a healthy browser
+     */
+    public BrowserLease lease() {
+        if (isShutdown) {
+            throw new IllegalStateException("Browser pool is shut down");
+        }
+        final long waitStart = System.nanoTime();
+        PooledBrowser pooledBrowser = idleBrowsers.poll();
+        if (pooledBrowser == null && inMaintenance.get() > 0) {
+            maintenanceWaits.increment();
+            try {
+                pooledBrowser = idleBrowsers.poll(MAINTENANCE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser", e);
+            }
+        }
+        boolean launched = false;
+        if (pooledBrowser == null && reserveSlot()) {
+            pooledBrowser = launchReservedBrowser();
+            leaseLaunches.increment();
+            launched = true;
+        }
+        if (pooledBrowser == null) {
+            logger.info("All {} browsers are leased, waiting for one to be released", capacity);
+            try {
+                pooledBrowser = idleBrowsers.poll(configFileReader.getBrowserLeaseTimeout(), TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser", e);
+            }
+            if (pooledBrowser == null) {
+                throw new IllegalStateException(String.format("No browser released within %d seconds",
+                        configFileReader.getBrowserLeaseTimeout()));
+            }
+        }
+        if (!pooledBrowser.isHealthy()) {
+            replace(pooledBrowser);
+        }
+        final long waitNanos = System.nanoTime() - waitStart;
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        leases.increment();
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+        logger.info("Leased browser #{} after {} ms{}", pooledBrowser.id, TimeUnit.NANOSECONDS.toMillis(waitNanos),
+                launched ? ", launched for this lease" : "");
+        return new BrowserLease(this, pooledBrowser);
+    }
+
+    /**
+     * Method to give a leased browser back to the pool. Called by
+     * {@link BrowserLease#close()}. If the browser has contexts to dispose or
+     * warm contexts to create, it only becomes idle again once a background
+     * maintenance task is done with it.
+     * 
+     * @param pooledBrowser: browser being returned
+     * @param leaseNanos:    time the browser was leased for
+     */
+    void release(final PooledBrowser pooledBrowser, final long leaseNanos) {
+        busyNanos.add(leaseNanos);
+        inUse.decrementAndGet();
+        if (isShutdown) {
+            pooledBrowser.close();
+            return;
+        }
+        logger.info("Browser #{} returned to the pool", pooledBrowser.id);
+        if (pooledBrowser.retiredContexts.isEmpty() && pooledBrowser.warmContexts.size() >= warmContextsPerBrowser
+                && !hasStaleWarmContexts(pooledBrowser)) {
+            idleBrowsers.add(pooledBrowser);
+        } else {
+            inMaintenance.incrementAndGet();
+            maintenance.execute(() -> maintain(pooledBrowser));
+        }
+    }
+
+    /**
+     * Method to hand a browser context of a leased browser to its holder. A warm
+     * context is returned if one is ready, else a new one is created.
+     * 
+     * @param pooledBrowser: leased browser
+     * @return ready-to-use BrowserContext object
+     */
+    BrowserContext takeContext(final PooledBrowser pooledBrowser) {
+        if (hasStaleWarmContexts(pooledBrowser)) {
+            retireWarmContexts(pooledBrowser);
+        }
+        final BrowserContext warmContext = pooledBrowser.warmContexts.poll();
+        if (warmContext != null) {
+            warmContextHits.increment();
+            return warmContext;
+        }
+        coldContexts.increment();
+        return PlaywrightManager.createBrowserContext(pooledBrowser.browser);
+    }
+
+    /**
+     * Method to dispose the contexts a scenario used and to create fresh warm
+     * contexts. It runs on a maintenance thread while the browser is neither
+     * leased nor idle, so it has exclusive use of the browser.
+     * 
+     * @param pooledBrowser: browser returned to the pool
+     */
+    private void maintain(final PooledBrowser pooledBrowser) {
+        try {
+            closeRetiredContexts(pooledBrowser);
+            if (!pooledBrowser.isHealthy()) {
+                replace(pooledBrowser);
+            }
+            refillWarmContexts(pooledBrowser);
+        } catch (Exception e) {
+            logger.warn("Maintenance of browser #{} failed: {}", pooledBrowser.id, e.getMessage());
+        } finally {
+            if (isShutdown) {
+                pooledBrowser.close();
+            } else {
+                idleBrowsers.add(pooledBrowser);
+            }
+            inMaintenance.decrementAndGet();
+        }
+    }
+
+    /**
+     * Method to close the contexts a browser holds for disposal.
+     * 
+     * @param pooledBrowser: browser which is not leased
+     */
+    private void closeRetiredContexts(final PooledBrowser pooledBrowser) {
+        for (final BrowserContext retiredContext : pooledBrowser.retiredContexts) {
+            try {
+                retiredContext.close();
+                disposedContexts.increment();
+            } catch (Exception e) {
+                logger.warn("Error closing browser context of browser #{}: {}", pooledBrowser.id, e.getMessage());
+            }
+        }
+        pooledBrowser.retiredContexts.clear();
+    }
+
+    /**
+     * If the warm contexts of a browser were created before the saved login
+     * session last changed, and so do not carry the current session.
+     * 
+     * @param pooledBrowser: browser holding warm contexts
+     * @return true if the warm contexts must not be handed out
+     */
+    private boolean hasStaleWarmContexts(final PooledBrowser pooledBrowser) {
+        return !pooledBrowser.warmContexts.isEmpty()
+                && pooledBrowser.warmGeneration != AuthStateManager.getInstance().getGeneration();
+    }
+
+    /**
+     * Method to move all warm contexts of a browser to its contexts waiting to
+     * be disposed.
+     * 
+     * @param pooledBrowser: browser holding warm contexts
+     */
+    private void retireWarmContexts(final PooledBrowser pooledBrowser) {
+        BrowserContext warmContext;
+        while ((warmContext = pooledBrowser.warmContexts.poll()) != null) {
+            pooledBrowser.retireContext(warmContext);
+        }
+    }
+
+    /**
+     * Method to create warm contexts until the browser holds as many as
+     * configured.
+     * 
+     * @param pooledBrowser: browser which is not leased
+     */
+    private void refillWarmContexts(final PooledBrowser pooledBrowser) {
+        if (hasStaleWarmContexts(pooledBrowser)) {
+            retireWarmContexts(pooledBrowser);
+            closeRetiredContexts(pooledBrowser);
+        }
+        // Read before creating, so a session saved meanwhile marks them stale
+        pooledBrowser.warmGeneration = AuthStateManager.getInstance().getGeneration();
+        while (pooledBrowser.warmContexts.size() < warmContextsPerBrowser) {
+            pooledBrowser.warmContexts.add(PlaywrightManager.createBrowserContext(pooledBrowser.browser));
+        }
+    }
+
+    /**
+     * Method to reserve capacity for one more browser.
+     * 
+     * @return true if the pool is below its capacity and a slot was reserved
+     */
+    private boolean reserveSlot() {
+        int launched;
+        do {
+            launched = launchedBrowsers.get();
+            if (launched >= capacity) {
+                return false;
+            }
+        } while (!launchedBrowsers.compareAndSet(launched, launched + 1));
+        return true;
+    }
+
+    /**
+     * Method to launch a browser for a slot reserved with {@link #reserveSlot()}.
+     * 
+     * @return launched browser
+     */
+    private PooledBrowser launchReservedBrowser() {
+        try {
+            final PooledBrowser pooledBrowser = launch(browserIds.incrementAndGet());
+            allBrowsers.add(pooledBrowser);
+            return pooledBrowser;
+        } catch (RuntimeException e) {
+            launchedBrowsers.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Method to replace a browser which crashed or got disconnected by a freshly
+     * launched one, keeping its slot in the pool.
+     * 
+     * @param pooledBrowser: unhealthy browser
+     */
+    private void replace(final PooledBrowser pooledBrowser) {
+        logger.warn("Browser #{} is not connected anymore, launching a replacement", pooledBrowser.id);
+        pooledBrowser.close();
+        pooledBrowser.warmContexts.clear();
+        pooledBrowser.retiredContexts.clear();
+        final PooledBrowser replacement = launch(pooledBrowser.id);
+        pooledBrowser.playwright = replacement.playwright;
+        pooledBrowser.browser = replacement.browser;
+        replacements.increment();
+    }
+
+    /**
+     * Method to launch a browser with its own Playwright driver connection based
+     * on the type of browser.
+     * 
+     * @param id: identifier of the pooled browser used in logs
+     * @return launched browser
+     */
+    private PooledBrowser launch(final int id) {
+        final long launchStart = System.nanoTime();
+        final Playwright playwright = Playwright.create();
+        try {
+            final Browser browser = createBrowser(playwright);
+            launches.increment();
+            logger.info("Launched browser #{} ({}) in {} ms", id, configFileReader.getBrowserType(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchStart));
+            return new PooledBrowser(id, playwright, browser);
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method to create Browser object based on the type of browser.
+     * 
+     * @param playwright: Playwright instance the browser belongs to
+     * @return Browser object
+     */
+    private Browser createBrowser(final Playwright playwright) {
+        // Create Playwright browser launch options
+        com.microsoft.playwright.BrowserType.LaunchOptions launchOptions = new com.microsoft.playwright.BrowserType.LaunchOptions();
+        
+        // Command line parameter takes precedence over the config file setting
+        final boolean isHeadless = configFileReader.isHeadless();
+        launchOptions.setHeadless(isHeadless);
+        
+        // Enhanced browser arguments for stability
+        launchOptions.setArgs(Arrays.asList(
+            "--disable-gpu",
+            "--no-sandbox",
+            "--disable-dev-shm-usage",
+            "--disable-infobars",
+            "--disable-extensions",
+            "--disable-popup-blocking"
+        ));
+        
+        // Set browser channel (use stable version)
+        launchOptions.setChannel("chrome");
+        
+        // Launch browser based on type
+        switch (configFileReader.getBrowserType()) {
+            case CHROME:
+                logger.info("Launching Chrome browser (headless: {})", isHeadless);
+                return playwright.chromium().launch(launchOptions);
+            case WEBKIT:
+                logger.info("Launching WebKit browser (headless: {})", isHeadless);
+                return playwright.webkit().launch(launchOptions);
+            case FIREFOX:
+                logger.info("Launching Firefox browser (headless: {})", isHeadless);
+                return playwright.firefox().launch(launchOptions);
+            default:
+                throw new RuntimeException(String.format("Unsupported browser: %s", configFileReader.getBrowserType()));
+        }
+    }
+
+    /**
+     * Method to get the maximum number of browsers this pool may launch.
+     * 
+     * @return pool capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Method to get the number of browser launches, including replacements of
+     * dead browsers.
+     * 
+     * @return number of launches
+     */
+    public long getLaunchCount() {
+        return launches.sum();
+    }
+
+    /**
+     * Method to get the number of browsers launched because a lease found no
+     * idle browser, not counting the warm-up.
+     * 
+     * @return number of launches during leases
+     */
+    public long getLeaseLaunchCount() {
+        return leaseLaunches.sum();
+    }
+
+    /**
+     * Method to get the number of leases which waited for a browser under
+     * maintenance.
+     * 
+     * @return number of maintenance waits
+     */
+    public long getMaintenanceWaitCount() {
+        return maintenanceWaits.sum();
+    }
+
+    /**
+     * Method to get the number of dead browsers which were replaced.
+     * 
+     * @return number of replacements
+     */
+    public long getReplacementCount() {
+        return replacements.sum();
+    }
+
+    /**
+     * Method to get the number of leases handed out.
+     * 
+     * @return number of leases
+     */
+    public long getLeaseCount() {
+        return leases.sum();
+    }
+
+    /**
+     * Method to get the average time callers waited for a lease.
+     * 
+     * @return average lease wait in milliseconds
+     */
+    public double getAverageLeaseWaitMillis() {
+        final long leaseCount = leases.sum();
+        return leaseCount == 0 ? 0 : totalWaitNanos.sum() / 1_000_000.0 / leaseCount;
+    }
+
+    /**
+     * Method to get the longest time a caller waited for a lease.
+     * 
+     * @return maximum lease wait in milliseconds
+     */
+    public long getMaxLeaseWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    /**
+     * Method to get the share of the pool capacity which was leased since the
+     * pool was created.
+     * 
+     * @return utilization between 0 and 1
+     */
+    public double getUtilization() {
+        final long elapsedNanos = System.nanoTime() - createdAtNanos;
+        return elapsedNanos == 0 ? 0 : Math.min(1.0, (double) busyNanos.sum() / ((double) elapsedNanos * capacity));
+    }
+
+    /**
+     * Method to get the number of contexts handed out which were created ahead
+     * of time.
+     * 
+     * @return number of warm context hits
+     */
+    public long getWarmContextHits() {
+        return warmContextHits.sum();
+    }
+
+    /**
+     * Method to get the number of contexts which had to be created while a
+     * scenario was waiting for them.
+     * 
+     * @return number of contexts created on demand
+     */
+    public long getColdContextCount() {
+        return coldContexts.sum();
+    }
+
+    /**
+     * Method to get the highest number of browsers leased at the same time.
+     * 
+     * @return peak number of leased browsers
+     */
+    public int getPeakInUse() {
+        return peakInUse.get();
+    }
+
+    /**
+     * Method to log the pool metrics.
+     */
+    public void logMetrics() {
+        logger.info(String.format(
+                "Browser pool metrics: capacity=%d, launches=%d, leaseLaunches=%d, replacements=%d, leases=%d, "
+                        + "maintenanceWaits=%d, avgLeaseWait=%.1f ms, maxLeaseWait=%d ms, peakInUse=%d, "
+                        + "utilization=%.1f%%, warmContextHits=%d, coldContexts=%d, disposedContexts=%d",
+                capacity, getLaunchCount(), getLeaseLaunchCount(), getReplacementCount(), getLeaseCount(),
+                getMaintenanceWaitCount(), getAverageLeaseWaitMillis(),
+                getMaxLeaseWaitMillis(), getPeakInUse(), getUtilization() * 100, getWarmContextHits(),
+                getColdContextCount(), disposedContexts.sum()));
+    }
+
+    /**
+     * Method to close every browser of the pool. Browsers which are still leased
+     * are closed as well, so this is meant to be called at the end of the suite.
+     */
+    public synchronized void shutdown() {
+        if (isShutdown) {
+            return;
+        }
+        isShutdown = true;
+        logMetrics();
+        maintenance.shutdown();
+        try {
+            if (!maintenance.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Browser pool maintenance did not finish within 30 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        idleBrowsers.clear();
+        for (final PooledBrowser pooledBrowser : allBrowsers) {
+            pooledBrowser.close();
+        }
+        allBrowsers.clear();
+        logger.info("Browser pool shut down");
+    }
+
+    /**
+     * Browser of the pool together with the Playwright driver connection which
+     * launched it, its warm contexts and the contexts waiting to be disposed.
+     */
+    static final class PooledBrowser {
+        private final int id;
+        private final Deque<BrowserContext> warmContexts = new ArrayDeque<>();
+        private final List<BrowserContext> retiredContexts = new ArrayList<>();
+        private volatile Playwright playwright;
+        private volatile Browser browser;
+        private long warmGeneration;
+
+        private PooledBrowser(final int id, final Playwright playwright, final Browser browser) {
+            this.id = id;
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        int getId() {
+            return id;
+        }
+
+        Browser getBrowser() {
+            return browser;
+        }
+
+        void retireContext(final BrowserContext browserContext) {
+            retiredContexts.add(browserContext);
+        }
+
+        private boolean isHealthy() {
+            try {
+                return browser != null && browser.isConnected();
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private void close() {
+            try {
+                if (browser != null && browser.isConnected()) {
+                    browser.close();
+                }
+            } catch (Exception e) {
+                logger.warn("Error closing browser #{}: {}", id, e.getMessage());
+            }
+            try {
+                if (playwright != null) {
+                    playwright.close();
+                }
+            } catch (Exception e) {
+                logger.warn("Error closing playwright of browser #{}: {}", id, e.getMessage());
+            }
+        }
+    }
+}
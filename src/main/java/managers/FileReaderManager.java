@@ -27,7 +27,7 @@ public class FileReaderManager {
      * 
      * @return instance of ConfigFileReader
      */
-    public ConfigFileReader getConfigReader() {
+    public synchronized ConfigFileReader getConfigReader() {
         return (configFileReader == null) ? configFileReader = new ConfigFileReader() : configFileReader;
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package managers;
+
+import java.io.File;
+import java.net.URI;
+
+import org.apache.logging.log4j.Logger;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+
+import dataproviders.ConfigFileReader;
+import enums.NetworkMode;
+import utilities.Log;
+
+/**
+ * The class {@code NetworkRecorder} records the traffic of a scenario to a HAR
+ * file, or replays a scenario from its HAR file, depending on the network mode.
+ * There is one HAR file per scenario, stored per feature under the configured
+ * HAR directory. Recording and replaying both work on contexts which exist
+ * already, so pre-warmed contexts are used in every mode.
+ */
+public final class NetworkRecorder {
+
+    private static final Logger logger = Log.getLogger(NetworkRecorder.class);
+
+    private NetworkRecorder() {
+    }
+
+    /**
+     * Method to get the name of the HAR file of a scenario, relative to the HAR
+     * directory. Scenario outline examples share a name, so the line number of
+     * the scenario is part of it.
+     * 
+     * @param featureUri:   URI of the feature file
+     * @param scenarioName: name of the scenario
+     * @param line:         line of the scenario in the feature file
+     * @return HAR file name as feature/scenario_line.har
+     */
+    public static String recordingName(final URI featureUri, final String scenarioName, final int line) {
+        final String featurePath = featureUri.getSchemeSpecificPart();
+        final String featureName = featurePath.substring(featurePath.lastIndexOf('/') + 1).replace(".feature", "");
+        return String.format("%s/%s_%d.har", featureName, scenarioName.replaceAll("[^A-Za-z0-9-]+", "_"), line);
+    }
+
+    /**
+     * Method to record a context into, or replay it from, the HAR file of a
+     * scenario. Nothing is done in live mode.
+     * 
+     * @param browserContext:   context of the scenario
+     * @param recordingName:    HAR file name of the scenario
+     * @param configFileReader: config reader providing the network settings
+     */
+    static void install(final BrowserContext browserContext, final String recordingName,
+            final ConfigFileReader configFileReader) {
+        final NetworkMode networkMode = configFileReader.getNetworkMode();
+        if (networkMode == NetworkMode.LIVE || recordingName == null) {
+            return;
+        }
+        final File harFile = new File(configFileReader.getHarDirectory(), recordingName);
+        final BrowserContext.RouteFromHAROptions harOptions = new BrowserContext.RouteFromHAROptions();
+        final String urlPattern = configFileReader.getHarUrlPattern();
+        if (urlPattern != null) {
+            harOptions.setUrl(urlPattern);
+        }
+        if (networkMode == NetworkMode.RECORD) {
+            harFile.getParentFile().mkdirs();
+            // The HAR file is written when the context is closed
+            harOptions.setUpdate(true).setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED);
+            logger.info("Recording network traffic to {}", harFile.getPath());
+        } else {
+            final HarNotFound notFound = configFileReader.getHarNotFoundPolicy();
+            if (!harFile.isFile()) {
+                if (notFound == HarNotFound.ABORT) {
+                    throw new IllegalStateException(String.format(
+                            "No recording %s to replay. Run the scenario with -Dnetwork.mode=record first.",
+                            harFile.getPath()));
+                }
+                logger.warn("No recording {} to replay, the scenario runs live", harFile.getPath());
+                return;
+            }
+            harOptions.setNotFound(notFound);
+            logger.info("Replaying network traffic from {}", harFile.getPath());
+        }
+        browserContext.routeFromHAR(harFile.toPath(), harOptions);
+    }
+}
@@ -4,80 +4,85 @@ import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.ViewportSize;
 import org.apache.logging.log4j.Logger;
+import utilities.ConditionBatch;
 import utilities.Log;
+import utilities.NetworkActivityTracker;
+import utilities.PageClipboard;
+import utilities.PerformanceBudget;
+import utilities.PlaywrightInstrumentation;
+import utilities.PlaywrightUtils;
+import utilities.ScenarioScope;
+import utilities.SelectorProfiler;
+import utilities.ToastCollector;
+import utilities.WaitUtils;
+import utilities.WebVitals;
 
-import java.util.Arrays;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import dataproviders.ConfigFileReader;
+import enums.ReadinessMode;
+import pageimplementations.LocatorCache;
 
 /**
  * The class {@code PlaywrightManager} is responsible to initialize the required
  * Playwright, Browser, BrowserContext, and Page objects.
+ * <p>
+ * Playwright Java is not thread safe, so every TestNG worker thread owns its
+ * own {@code PlaywrightManager}. For the duration of a scenario it holds a
+ * {@link BrowserLease} on a browser of the {@link BrowserPool}, which gives it
+ * exclusive use of that browser and its Playwright driver connection. Objects
+ * handed out by an instance must only be used on the thread which obtained it
+ * through {@link #getInstance()}.
  */
 public class PlaywrightManager {
 
-    private static Playwright playwright;
-    private static Browser browser;
-    private static BrowserContext browserContext;
-    private static Page page;
-    private static PlaywrightManager playwrightManager;
+    private static final ThreadLocal<PlaywrightManager> THREAD_MANAGER = ThreadLocal.withInitial(PlaywrightManager::new);
+    private static final Set<PlaywrightManager> ACTIVE_MANAGERS = ConcurrentHashMap.newKeySet();
     private static final ConfigFileReader configFileReader = new ConfigFileReader();
     private static final Logger logger = Log.getLogger(PlaywrightManager.class);
-    private static boolean isInitialized = false;
+
+    static {
+        SelectorProfiler.setEnabled(configFileReader.profileSelectors());
+        PlaywrightInstrumentation.setMode(configFileReader.getInstrumentationMode());
+        WebVitals.setEnabled(configFileReader.collectWebVitals());
+    }
+
+    private final String ownerThread;
+    private BrowserLease browserLease;
+    private BrowserContext browserContext;
+    private Page page;
+    private String scenarioName;
+    private String recordingName;
 
     private PlaywrightManager() {
-        // Private constructor for singleton pattern
-        if (!isInitialized) {
-            initializePlaywright();
-        }
+        // Private constructor, instances are created per thread by getInstance()
+        ownerThread = Thread.currentThread().getName();
     }
 
     /**
-     * Method to get instance of the PlaywrightManager.
+     * Method to get the PlaywrightManager owned by the calling thread.
      * 
-     * @return instance of PlaywrightManager
+     * @return instance of PlaywrightManager bound to the current thread
      */
-    public static synchronized PlaywrightManager getInstance() {
-        if (playwrightManager == null) {
-            playwrightManager = new PlaywrightManager();
-        }
-        return playwrightManager;
+    public static PlaywrightManager getInstance() {
+        return THREAD_MANAGER.get();
     }
 
     /**
-     * Initialize Playwright resources. Made synchronized to prevent race conditions.
+     * Method to lease a browser from the pool for the owning thread, if it does
+     * not hold one already.
      */
-    private synchronized void initializePlaywright() {
-        if (isInitialized) {
-            logger.info("Playwright already initialized");
+    private void leaseBrowser() {
+        if (browserLease != null) {
             return;
         }
-
-        logger.info("Initializing Playwright resources");
-        try {
-            // Create Playwright instance
-            playwright = Playwright.create();
-            logger.info("Playwright instance created");
-            
-            // Create browser
-            browser = createBrowser();
-            logger.info("Browser created: {}", configFileReader.getBrowserType());
-            
-            // Create browser context
-            browserContext = createBrowserContext();
-            logger.info("Browser context created");
-            
-            isInitialized = true;
-            logger.info("Playwright initialization completed successfully");
-        } catch (Exception e) {
-            logger.error("Failed to initialize Playwright: {}", e.getMessage(), e);
-            
-            // Clean up any resources that were created
-            closeAllResources();
-            
-            // Rethrow the exception
-            throw new RuntimeException("Failed to initialize Playwright", e);
-        }
+        logger.info("Leasing a browser for thread {}", ownerThread);
+        browserLease = BrowserPool.getInstance().lease();
+        ACTIVE_MANAGERS.add(this);
     }
 
     /**
@@ -87,16 +92,15 @@ public class PlaywrightManager {
      * 
      * @return Page object
      */
-    public synchronized Page getPage() {
+    public Page getPage() {
         if (page == null) {
             if (browserContext == null) {
-                logger.error("Browser context is null, cannot create page");
-                throw new IllegalStateException("Browser context is null, cannot create page");
+                recreateBrowserContext();
             }
             
             try {
                 logger.info("Creating new page");
-                page = browserContext.newPage();
+                page = PlaywrightInstrumentation.wrap(browserContext.newPage());
                 
                 // Set timeout (equivalent to implicit wait in Selenium)
                 page.setDefaultTimeout(configFileReader.getImplicitlyWait() * 1000);
@@ -110,13 +114,62 @@ public class PlaywrightManager {
         return page;
     }
 
+    /**
+     * Method to prepare this thread's browser for a new scenario. It makes sure
+     * a context and page are ready before the first step runs.
+     * 
+     * @param scenarioName  name of the scenario which is about to start
+     * @param recordingName HAR file name the scenario records to or replays from
+     */
+    public void beginScenario(final String scenarioName, final String recordingName) {
+        this.scenarioName = scenarioName;
+        this.recordingName = recordingName;
+        ScenarioScope.begin(scenarioName, configFileReader.getInteractionProfile());
+        logger.info("Starting scenario '{}'", scenarioName);
+        getPage();
+    }
+
+    /**
+     * Method to release the scenario state of this thread. The context is handed
+     * back to the pool, which disposes it in the background, and the browser is
+     * returned to the pool, where it stays open for the next scenario of any
+     * worker.
+     */
+    public void endScenario() {
+        logger.info("Finishing scenario '{}'", scenarioName);
+        try {
+            if (browserContext != null) {
+                // Closing the context closes its page as well
+                LocatorCache.clear(page);
+                browserLease.retireContext(browserContext);
+                browserContext = null;
+                page = null;
+            }
+            closeAllResources();
+        } finally {
+            ScenarioScope.end();
+            scenarioName = null;
+            recordingName = null;
+        }
+    }
+
+    /**
+     * Method to get the name of the scenario currently running on this thread.
+     * 
+     * @return scenario name, null if no scenario is running
+     */
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
     /**
      * Closes only the current page without closing the browser or context.
      * This is useful between scenarios.
      */
-    public synchronized void closePage() {
+    public void closePage() {
         try {
             if (page != null) {
+                LocatorCache.clear(page);
                 page.close();
                 logger.info("Page closed");
                 page = null;
@@ -127,67 +180,13 @@ public class PlaywrightManager {
         }
     }
 
-    /**
-     * Method to create Browser object based on the type of browser.
-     * 
-     * @return Browser object
-     */
-    private Browser createBrowser() {
-        // Create Playwright browser launch options
-        com.microsoft.playwright.BrowserType.LaunchOptions launchOptions = new com.microsoft.playwright.BrowserType.LaunchOptions();
-        
-        // Check for headless mode override from command line
-        String headlessParam = System.getProperty("headless");
-        boolean isHeadless;
-        
-        if (headlessParam != null) {
-            // Use command line parameter if provided
-            isHeadless = Boolean.parseBoolean(headlessParam);
-            logger.info("Using command line headless setting: {}", isHeadless);
-        } else {
-            // Otherwise use config file setting
-            isHeadless = configFileReader.isHeadless();
-            logger.info("Using config file headless setting: {}", isHeadless);
-        }
-        
-        // Set headless mode
-        launchOptions.setHeadless(isHeadless);
-        
-        // Enhanced browser arguments for stability
-        launchOptions.setArgs(Arrays.asList(
-            "--disable-gpu",
-            "--no-sandbox",
-            "--disable-dev-shm-usage",
-            "--disable-infobars",
-            "--disable-extensions",
-            "--disable-popup-blocking"
-        ));
-        
-        // Set browser channel (use stable version)
-        launchOptions.setChannel("chrome");
-        
-        // Launch browser based on type
-        switch (configFileReader.getBrowserType()) {
-            case CHROME:
-                logger.info("Launching Chrome browser (headless: {})", isHeadless);
-                return playwright.chromium().launch(launchOptions);
-            case WEBKIT:
-                logger.info("Launching WebKit browser (headless: {})", isHeadless);
-                return playwright.webkit().launch(launchOptions);
-            case FIREFOX:
-                logger.info("Launching Firefox browser (headless: {})", isHeadless);
-                return playwright.firefox().launch(launchOptions);
-            default:
-                throw new RuntimeException(String.format("Unsupported browser: %s", configFileReader.getBrowserType()));
-        }
-    }
-
     /**
      * Method to create BrowserContext with desired capabilities.
      * 
+     * @param browser: browser in which the context is created
      * @return BrowserContext object
      */
-    private BrowserContext createBrowserContext() {
+    static BrowserContext createBrowserContext(final Browser browser) {
         Browser.NewContextOptions contextOptions = new Browser.NewContextOptions();
         
         // Set viewport size
@@ -198,14 +197,46 @@ public class PlaywrightManager {
         contextOptions.setIgnoreHTTPSErrors(true);
         contextOptions.setJavaScriptEnabled(true);
         
+        // Start logged in when a saved session of the user is available
+        final long seedGeneration = AuthStateManager.getInstance().getGeneration();
+        final Path storageState = AuthStateManager.getInstance()
+                .getValidStorageState(configFileReader.getUserEmail());
+        if (storageState != null) {
+            contextOptions.setStorageStatePath(storageState);
+        }
+        
         // Create browser context
         BrowserContext context = browser.newContext(contextOptions);
+        if (storageState != null) {
+            AuthStateManager.getInstance().recordSeed(context, storageState, seedGeneration);
+        }
         
-        // Clear cookies if needed
-        if (configFileReader.deleteCookies()) {
+        // Clear cookies if needed, unless they carry the saved session
+        if (configFileReader.deleteCookies() && storageState == null) {
             context.clearCookies();
         }
         
+        // In-page waiter resolving batches of DOM conditions in one round trip
+        ConditionBatch.install(context);
+        
+        // Collect toast notifications as they appear, even if dismissed early
+        ToastCollector.install(context);
+        
+        // Capture copied text inside the page instead of the OS clipboard
+        PageClipboard.install(context);
+        
+        // Time the clicks starting timed actions by the clock of the browser
+        PerformanceBudget.install(context);
+        
+        // Record navigation timing, paint, CLS and long tasks per navigation
+        WebVitals.install(context);
+        
+        // Serve static assets shared by all contexts, consulted after blocking
+        AssetCache.getInstance().install(context);
+        
+        // Skip resources the scenarios never assert on, routes installed last run first
+        ResourceBlocker.getInstance().install(context);
+        
         return context;
     }
 
@@ -220,11 +251,10 @@ public class PlaywrightManager {
             
             // Wait for page to load fully
             try {
-                currentPage.waitForLoadState(LoadState.NETWORKIDLE, 
-                    new Page.WaitForLoadStateOptions().setTimeout(30000));
-                logger.info("Login page loaded successfully (network idle)");
+                PlaywrightUtils.waitForPageReady(currentPage, 30);
+                logger.info("Login page loaded successfully (network settled)");
             } catch (Exception e) {
-                logger.warn("Timeout waiting for network idle: {}", e.getMessage());
+                logger.warn("Timeout waiting for network to settle: {}", e.getMessage());
                 
                 // Try waiting for DOM content at least
                 try {
@@ -238,11 +268,12 @@ public class PlaywrightManager {
             // Try to wait for a common element that should be on any login page
             try {
                 currentPage.waitForSelector("input, form, button", 
-                    new Page.WaitForSelectorOptions().setTimeout(10000));
+                    new Page.WaitForSelectorOptions().setTimeout(WaitUtils.budgeted(10000)));
                 logger.info("Login page elements detected");
             } catch (Exception e) {
                 logger.warn("Could not detect common login page elements: {}", e.getMessage());
             }
+            WebVitals.capture(currentPage);
         } catch (Exception e) {
             logger.error("Failed to navigate to login page: {}", e.getMessage(), e);
             throw e;
@@ -262,11 +293,12 @@ public class PlaywrightManager {
             
             // Wait for page to load fully
             try {
-                currentPage.waitForLoadState(LoadState.NETWORKIDLE);
+                PlaywrightUtils.waitForPageReady(currentPage, configFileReader.getExplicitWait());
                 logger.info("Page loaded successfully");
             } catch (Exception e) {
                 logger.warn("Timeout waiting for page load: {}", e.getMessage());
             }
+            WebVitals.capture(currentPage);
         } catch (Exception e) {
             logger.error("Failed to navigate to URL: {}", e.getMessage(), e);
             throw e;
@@ -274,19 +306,35 @@ public class PlaywrightManager {
     }
 
     /**
-     * Method to close Playwright resources.
+     * Method to close the page and context of the calling thread and return its
+     * browser to the pool.
      */
-    public synchronized void quitPlaywright() {
+    public void quitPlaywright() {
         logger.info("Quitting Playwright resources");
         closeAllResources();
     }
+
+    /**
+     * Method to close the Playwright resources of every worker thread and shut
+     * down the browser pool. Meant to be called once at the end of the suite
+     * when the workers are idle.
+     */
+    public static void quitAll() {
+        final List<PlaywrightManager> managers = new ArrayList<>(ACTIVE_MANAGERS);
+        logger.info("Quitting Playwright resources of {} worker thread(s)", managers.size());
+        for (final PlaywrightManager manager : managers) {
+            manager.closeAllResources();
+        }
+        BrowserPool.getInstance().shutdown();
+    }
     
     /**
      * Close all Playwright resources in the correct order.
      */
-    private static synchronized void closeAllResources() {
+    private synchronized void closeAllResources() {
         try {
             if (page != null) {
+                LocatorCache.clear(page);
                 try {
                     page.close();
                     logger.info("Page closed");
@@ -306,93 +354,76 @@ public class PlaywrightManager {
                 browserContext = null;
             }
             
-            if (browser != null) {
-                try {
-                    browser.close();
-                    logger.info("Browser closed");
-                } catch (Exception e) {
-                    logger.warn("Error closing browser: {}", e.getMessage());
-                }
-                browser = null;
+            if (browserLease != null) {
+                browserLease.close();
+                browserLease = null;
             }
             
-            if (playwright != null) {
-                try {
-                    playwright.close();
-                    logger.info("Playwright closed");
-                } catch (Exception e) {
-                    logger.warn("Error closing playwright: {}", e.getMessage());
-                }
-                playwright = null;
-            }
-            
-            isInitialized = false;
-            logger.info("All Playwright resources closed successfully");
+            ACTIVE_MANAGERS.remove(this);
+            logger.info("All Playwright resources of thread {} closed successfully", ownerThread);
         } catch (Exception e) {
             logger.error("Error during resource cleanup: {}", e.getMessage(), e);
         }
     }
    
-//    /**
-//     * Clears browser state (cookies, localStorage, etc.) but keeps the browser context open.
-//     * This helps ensure a clean state between scenarios.
-//     */
-//    public synchronized void clearBrowserState() {
-//        try {
-//            if (browserContext != null) {
-//                // Clear cookies
-//                browserContext.clearCookies();
-//                logger.info("Browser cookies cleared");
-//                
-//                // Clear localStorage and sessionStorage for the current page if it exists
-//                if (page != null && !page.isClosed()) {
-//                    try {
-//                        page.evaluate("() => { localStorage.clear(); sessionStorage.clear(); }");
-//                        logger.info("Browser storage cleared");
-//                    } catch (Exception e) {
-//                        logger.warn("Could not clear browser storage: {}", e.getMessage());
-//                    }
-//                }
-//            }
-//        } catch (Exception e) {
-//            logger.error("Error clearing browser state: {}", e.getMessage(), e);
-//        }
-//    }
-   
     /**
-     * Recreates the browser context but keeps the browser open.
-     * Use this for a completely fresh start between scenarios.
+     * Clears browser state (cookies, localStorage, etc.) but keeps the browser context open.
+     * This is used when a scenario needs to start logged out of a seeded session.
      */
-    public synchronized void recreateBrowserContext() {
+    public void clearBrowserState() {
         try {
-            // Close existing context if any
             if (browserContext != null) {
-                try {
-                    // Make sure page is closed first
-                    if (page != null) {
-                        page.close();
-                        page = null;
+                // Clear cookies
+                browserContext.clearCookies();
+                logger.info("Browser cookies cleared");
+                
+                // Clear localStorage and sessionStorage for the current page if it exists
+                if (page != null && !page.isClosed()) {
+                    try {
+                        page.evaluate("() => { localStorage.clear(); sessionStorage.clear(); }");
+                        logger.info("Browser storage cleared");
+                    } catch (Exception e) {
+                        logger.warn("Could not clear browser storage: {}", e.getMessage());
                     }
-                    
-                    browserContext.close();
-                    logger.info("Browser context closed");
-                } catch (Exception e) {
-                    logger.warn("Error closing browser context: {}", e.getMessage());
                 }
+            }
+        } catch (Exception e) {
+            logger.error("Error clearing browser state: {}", e.getMessage(), e);
+        }
+    }
+   
+    /**
+     * Recreates the browser context but keeps the browser open. A browser is
+     * leased from the pool first if this thread does not hold one. The previous
+     * context is disposed in the background by the pool and a pre-warmed one is
+     * taken when available.
+     * Use this for a completely fresh start between scenarios.
+     */
+    public void recreateBrowserContext() {
+        try {
+            // Hand the existing context back for asynchronous disposal
+            if (browserContext != null) {
+                LocatorCache.clear(page);
+                browserLease.retireContext(browserContext);
                 browserContext = null;
+                page = null;
+                logger.info("Browser context retired");
             }
             
-            // Create new context
-            if (browser != null) {
-                browserContext = createBrowserContext();
-                logger.info("New browser context created");
-            } else {
-                logger.error("Cannot create browser context, browser is null");
-                throw new IllegalStateException("Browser is null, cannot create context");
+            // Take a ready-to-use context
+            leaseBrowser();
+            browserContext = browserLease.takeContext();
+            NetworkRecorder.install(browserContext, recordingName, configFileReader);
+            if (configFileReader.getReadinessMode() == ReadinessMode.NETWORK_SETTLED) {
+                // Track the requests of every page of the context, popups included
+                browserContext.onPage(newPage -> NetworkActivityTracker.attach(newPage,
+                        configFileReader.getNetworkAllowPatterns(), configFileReader.getNetworkDenyPatterns(),
+                        configFileReader.getNetworkQuietTimeMs()));
             }
+            logger.info("New browser context taken on browser #{}", browserLease.getBrowserId());
         } catch (Exception e) {
             logger.error("Error recreating browser context: {}", e.getMessage(), e);
             throw e;
         }
     }
-}
\ No newline at end of file
+}
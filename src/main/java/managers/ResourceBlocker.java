@@ -0,0 +1,143 @@
+package managers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.Logger;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import dataproviders.ConfigFileReader;
+import utilities.ConvertUtils;
+import utilities.Log;
+import utilities.PerformanceReport;
+
+/**
+ * The class {@code ResourceBlocker} is a singleton class which aborts requests
+ * the scenarios never assert on, like images, fonts or third-party analytics,
+ * before they leave the browser. The resource types and URL globs to block are
+ * read from the {@code browser.blockResources} section of the config.yaml file.
+ * Requests which are not blocked fall back to the next route handler, or to
+ * the network if there is none.
+ */
+public final class ResourceBlocker {
+
+    private static final Logger logger = Log.getLogger(ResourceBlocker.class);
+    private static final ResourceBlocker resourceBlocker = new ResourceBlocker(new ConfigFileReader());
+
+    private final boolean enabled;
+    private final Set<String> resourceTypes;
+    private final List<Pattern> urlPatterns = new ArrayList<>();
+    private final LongAdder routedRequests = new LongAdder();
+    private final Map<String, LongAdder> blockedByType = new ConcurrentHashMap<>();
+
+    private ResourceBlocker(final ConfigFileReader configFileReader) {
+        enabled = configFileReader.blockResources();
+        resourceTypes = Set.copyOf(configFileReader.getBlockedResourceTypes());
+        for (final String glob : configFileReader.getBlockedUrlPatterns()) {
+            urlPatterns.add(ConvertUtils.globToPattern(glob));
+        }
+    }
+
+    /**
+     * Method to get instance of the ResourceBlocker.
+     * 
+     * @return instance of ResourceBlocker
+     */
+    public static ResourceBlocker getInstance() {
+        return resourceBlocker;
+    }
+
+    /**
+     * Method to install the blocking route on a browser context. Nothing is
+     * installed if blocking is disabled or nothing is configured to be blocked.
+     * 
+     * @param browserContext: context whose requests are filtered
+     */
+    public void install(final BrowserContext browserContext) {
+        if (!enabled || resourceTypes.isEmpty() && urlPatterns.isEmpty()) {
+            return;
+        }
+        browserContext.route("**/*", this::handle);
+    }
+
+    /**
+     * Method to abort a request if it is blocked, else let it continue.
+     * 
+     * @param route: intercepted request
+     */
+    private void handle(final Route route) {
+        routedRequests.increment();
+        final Request request = route.request();
+        final String resourceType = request.resourceType();
+        if (isBlocked(resourceType, request.url())) {
+            blockedByType.computeIfAbsent(resourceType, type -> new LongAdder()).increment();
+            route.abort("blockedbyclient");
+        } else {
+            route.fallback();
+        }
+    }
+
+    /**
+     * If a request must be blocked. Documents are never blocked, so navigations
+     * always reach the page.
+     * 
+     * @param resourceType: resource type of the request
+     * @param url:          request URL
+     * @return true if the request must be aborted
+     */
+    private boolean isBlocked(final String resourceType, final String url) {
+        if ("document".equals(resourceType)) {
+            return false;
+        }
+        if (resourceTypes.contains(resourceType)) {
+            return true;
+        }
+        for (final Pattern urlPattern : urlPatterns) {
+            if (urlPattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to get the number of requests which were blocked.
+     * 
+     * @return number of blocked requests
+     */
+    public long getBlockedCount() {
+        long blocked = 0;
+        for (final LongAdder count : blockedByType.values()) {
+            blocked += count.sum();
+        }
+        return blocked;
+    }
+
+    /**
+     * Method to log the blocking counters and write them to the
+     * resource-blocking performance report.
+     */
+    public void writeReport() {
+        if (!enabled) {
+            return;
+        }
+        final Map<String, Object> blocked = new TreeMap<>();
+        blockedByType.forEach((type, count) -> blocked.put(type, count.sum()));
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("routedRequests", routedRequests.sum());
+        report.put("blockedRequests", getBlockedCount());
+        report.put("blockedByResourceType", blocked);
+        logger.info("Resource blocking: routed={}, blocked={} {}", routedRequests.sum(), getBlockedCount(), blocked);
+        PerformanceReport.write("resource-blocking", report);
+    }
+}
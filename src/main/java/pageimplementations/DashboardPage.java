@@ -4,8 +4,10 @@ import org.apache.logging.log4j.Logger;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Locator;
 
+import utilities.ConditionBatch;
 import utilities.Log;
 import utilities.PlaywrightUtils;
+import utilities.WebVitals;
 
 import pageinterfaces.LeftDrawerInterface;
 import pageinterfaces.TopBannerInterface;
@@ -36,9 +38,12 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public String getPageTitle(String title) {
         logger.info("Fetching page title from the top banner.");
-        Locator pageTitleLocator = page.locator(dashboardPageSelectors.pageTitle);
-        PlaywrightUtils.waitUntilTextMatches(pageTitleLocator, title, 10);
-        return pageTitleLocator.textContent().trim();
+        final ConditionBatch.Result result = ConditionBatch.create()
+                .textEquals("pageTitle", dashboardPageSelectors.pageTitle, title).await(page, 10000);
+        if (!result.isSatisfied()) {
+            logger.error("Page title did not match within timeout period. {}", result.describe());
+        }
+        return result.getText("pageTitle");
     }
 
     /**
@@ -49,9 +54,12 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public String getSubPageTitle(String subtitle) {
         logger.info("Fetching sub page title from the top banner.");
-        Locator subPageTitleLocator = page.locator(dashboardPageSelectors.subPageTitle);
-        PlaywrightUtils.waitUntilTextMatches(subPageTitleLocator, subtitle, 10);
-        return subPageTitleLocator.textContent().trim();
+        final ConditionBatch.Result result = ConditionBatch.create()
+                .textEquals("subPageTitle", dashboardPageSelectors.subPageTitle, subtitle).await(page, 10000);
+        if (!result.isSatisfied()) {
+            logger.error("Sub page title did not match within timeout period. {}", result.describe());
+        }
+        return result.getText("subPageTitle");
     }
 
     /**
@@ -62,14 +70,14 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage goToApprovalsAndTasksPage() {
         logger.info("Navigating to the approvals and tasks page.");
-        Locator approvalsAndTasksLocator = page.locator(dashboardPageSelectors.approvalsAndTasks);
+        Locator approvalsAndTasksLocator = LocatorCache.get(page, dashboardPageSelectors.approvalsAndTasks);
         
-        approvalsAndTasksLocator.hover();
-        approvalsAndTasksLocator.click();
+        PlaywrightUtils.click(approvalsAndTasksLocator);
         
         // Wait for navigation to complete
         page.waitForLoadState();
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -81,14 +89,14 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage goToActivityPage() {
         logger.info("Navigating to the activity page.");
-        Locator activityLocator = page.locator(dashboardPageSelectors.activity);
+        Locator activityLocator = LocatorCache.get(page, dashboardPageSelectors.activity);
    
-        activityLocator.hover();
-        activityLocator.click();
+        PlaywrightUtils.click(activityLocator);
         
         // Wait for navigation to complete
         page.waitForLoadState();
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -100,14 +108,14 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage gotoRequestedByMePage() {
         logger.info("Navigating to the Requested by me page.");
-        Locator requestedByMeLocator = page.locator(dashboardPageSelectors.requestedByMe);
+        Locator requestedByMeLocator = LocatorCache.get(page, dashboardPageSelectors.requestedByMe);
         
-        requestedByMeLocator.hover();
-        requestedByMeLocator.click();
+        PlaywrightUtils.click(requestedByMeLocator);
         
         // Wait for navigation to complete
         page.waitForLoadState();
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -119,14 +127,14 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage gotoJourneysPage() {
         logger.info("Navigating to the journeys page.");
-        Locator journeysLocator = page.locator(dashboardPageSelectors.journeys);
+        Locator journeysLocator = LocatorCache.get(page, dashboardPageSelectors.journeys);
         
-        journeysLocator.hover();
-        journeysLocator.click();
+        PlaywrightUtils.click(journeysLocator);
         
         // Wait for navigation to complete
         page.waitForLoadState();
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -138,14 +146,14 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage gotoAssignedToMePage() {
         logger.info("Navigating to the assigned to me page.");
-        Locator assignedToMeLocator = page.locator(dashboardPageSelectors.assignedToMe);
+        Locator assignedToMeLocator = LocatorCache.get(page, dashboardPageSelectors.assignedToMe);
         
-        assignedToMeLocator.hover();
-        assignedToMeLocator.click();
+        PlaywrightUtils.click(assignedToMeLocator);
         
         // Wait for navigation to complete
         page.waitForLoadState();
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -157,8 +165,8 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage goToDefaultWorkspacePage() {
         logger.info("Navigating to the default workspace page.");
-        Locator defaultWorkspaceBtnLocator = page.locator(dashboardPageSelectors.DefaultWorkspaceBtn);
-        Locator workspaceDropdownLocator = page.locator(dashboardPageSelectors.WorkspaceDropdown);
+        Locator defaultWorkspaceBtnLocator = LocatorCache.get(page, dashboardPageSelectors.DefaultWorkspaceBtn);
+        Locator workspaceDropdownLocator = LocatorCache.get(page, dashboardPageSelectors.WorkspaceDropdown);
         
         // Click the button using JS
         PlaywrightUtils.clickWithJavaScript(defaultWorkspaceBtnLocator);
@@ -172,6 +180,7 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
         // Verify the dropdown is visible
         workspaceDropdownLocator.waitFor();
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -183,11 +192,12 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage goToDefaultRequestPage() {
         logger.info("Navigating to the default workspace requests page.");
-        Locator requestsBtnLocator = page.locator(dashboardPageSelectors.RequestsBtn);
+        Locator requestsBtnLocator = LocatorCache.get(page, dashboardPageSelectors.RequestsBtn);
         
         requestsBtnLocator.hover();
         PlaywrightUtils.clickWithJavaScript(requestsBtnLocator);
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -199,11 +209,12 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage goToDefaultProblemsPage() {
         logger.info("Navigating to the default workspace problems page.");
-        Locator problemsBtnLocator = page.locator(dashboardPageSelectors.ProblemsBtn);
+        Locator problemsBtnLocator = LocatorCache.get(page, dashboardPageSelectors.ProblemsBtn);
         
         problemsBtnLocator.hover();
         PlaywrightUtils.clickWithJavaScript(problemsBtnLocator);
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -215,11 +226,11 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage goToDefaultChangesPage() {
         logger.info("Navigating to the default workspace changes page.");
-        Locator changesBtnLocator = page.locator(dashboardPageSelectors.ChangesBtn);
+        Locator changesBtnLocator = LocatorCache.get(page, dashboardPageSelectors.ChangesBtn);
         
-        changesBtnLocator.hover();
-       changesBtnLocator.click();
+        PlaywrightUtils.click(changesBtnLocator);
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -231,10 +242,10 @@ public class DashboardPage implements TopBannerInterface, LeftDrawerInterface {
     @Override
     public DashboardPage gotoSettingsPage() {
         logger.info("Navigating to the settings page.");
-        Locator settingsLocator = page.locator(dashboardPageSelectors.settings);
-        settingsLocator.hover();
-        settingsLocator.click();
+        Locator settingsLocator = LocatorCache.get(page, dashboardPageSelectors.settings);
+        PlaywrightUtils.click(settingsLocator);
         page.waitForLoadState();
+        WebVitals.capture(page);
         return this;
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package pageimplementations;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Logger;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import utilities.Log;
+import utilities.PerformanceReport;
+import utilities.PlaywrightInstrumentation;
+import utilities.SelectorProfiler;
+
+/**
+ * The class {@code LocatorCache} keeps the locators the page objects created
+ * for a page, keyed by selector, so the same selector string maps to the same
+ * {@link Locator} for as long as the page is open. Locators are lazy and
+ * resolve their element on every action, so a cached locator never goes stale
+ * while its page lives.
+ * <p>
+ * The cache of a page is dropped when the page closes, which includes closing
+ * its context or browser, and by the PlaywrightManager when it closes the page
+ * or recreates the context. The cache holds its page, so a page is only
+ * released once its cache was dropped. Hits, misses and the number of live
+ * caches are written to the locator-cache performance report.
+ * <p>
+ * When selector profiling is on, the cached locators are profiled locators of
+ * the {@link SelectorProfiler}. Caches are keyed by the page behind an
+ * instrumented page, so the instrumented page and the page Playwright passes
+ * to the close listener find the same cache.
+ */
+public final class LocatorCache {
+
+    private static final Logger LOGGER = Log.getLogger(LocatorCache.class);
+    private static final Map<Page, LocatorCache> CACHES = Collections.synchronizedMap(new HashMap<>());
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder CLEARED = new LongAdder();
+
+    private final Page page;
+    private final Map<String, Locator> locators = new ConcurrentHashMap<>();
+
+    private LocatorCache(final Page page) {
+        this.page = page;
+    }
+
+    /**
+     * Method to get the locator of a selector on a page, created once per page.
+     *
+     * @param page:     Playwright Page object
+     * @param selector: selector of the element
+     * @return cached locator of the selector
+     */
+    public static Locator get(final Page page, final String selector) {
+        return of(page).locator(selector);
+    }
+
+    /**
+     * Method to get the locator cache of a page.
+     *
+     * @param page: Playwright Page object
+     * @return cache of the page, created on first use
+     */
+    public static LocatorCache of(final Page page) {
+        final Page key = PlaywrightInstrumentation.unwrap(page);
+        synchronized (CACHES) {
+            LocatorCache cache = CACHES.get(key);
+            if (cache == null) {
+                cache = new LocatorCache(page);
+                CACHES.put(key, cache);
+                page.onClose(LocatorCache::clear);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Method to drop the locator cache of a page.
+     *
+     * @param page: Playwright Page object, may be null
+     */
+    public static void clear(final Page page) {
+        if (page == null) {
+            return;
+        }
+        final LocatorCache cache = CACHES.remove(PlaywrightInstrumentation.unwrap(page));
+        if (cache != null) {
+            cache.locators.clear();
+            CLEARED.increment();
+        }
+    }
+
+    /**
+     * Method to get the locator of a selector on the page of this cache.
+     *
+     * @param selector: selector of the element
+     * @return cached locator of the selector
+     */
+    public Locator locator(final String selector) {
+        final Locator cached = locators.get(selector);
+        if (cached != null) {
+            HITS.increment();
+            return cached;
+        }
+        MISSES.increment();
+        return locators.computeIfAbsent(selector, key -> SelectorProfiler.wrap(page.locator(key), key));
+    }
+
+    /**
+     * Method to get the number of selectors cached for the page.
+     *
+     * @return number of cached locators
+     */
+    public int size() {
+        return locators.size();
+    }
+
+    /**
+     * Method to log the cache statistics and write them to the locator-cache
+     * performance report. Live caches belong to pages which are still open.
+     */
+    public static void writeReport() {
+        final long hits = HITS.sum();
+        final long misses = MISSES.sum();
+        if (hits + misses == 0) {
+            return;
+        }
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("hits", hits);
+        report.put("misses", misses);
+        report.put("hitRate", (double) hits / (hits + misses));
+        report.put("clearedCaches", CLEARED.sum());
+        report.put("liveCaches", CACHES.size());
+        LOGGER.info("Locator cache statistics: {}", report);
+        PerformanceReport.write("locator-cache", report);
+    }
+}
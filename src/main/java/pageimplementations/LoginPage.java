@@ -5,6 +5,7 @@ import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Locator;
 
 import utilities.Log;
+import utilities.WaitUtils;
 import pageinterfaces.LoginPageInterface;
 import pageselectors.LoginPageSelectors;
 
@@ -32,7 +33,7 @@ public class LoginPage implements LoginPageInterface {
     @Override
     public LoginPage enterEmail(final String email) {
         logger.info("Entering user email as {}", email);
-        page.locator(loginPageSelectors.txtbxEmail).fill(email);
+        LocatorCache.get(page, loginPageSelectors.txtbxEmail).fill(email);
         return this;
     }
 
@@ -45,7 +46,7 @@ public class LoginPage implements LoginPageInterface {
     @Override
     public LoginPage enterPassword(final String password) {
         logger.info("Entering password as *******");
-        page.locator(loginPageSelectors.txtbxPassword).fill(password);
+        LocatorCache.get(page, loginPageSelectors.txtbxPassword).fill(password);
         return this;
     }
 
@@ -57,7 +58,7 @@ public class LoginPage implements LoginPageInterface {
     @Override
     public LoginPage clickSignIn() {
         logger.info("Clicking sign in button.");
-        Locator signInButton = page.locator(loginPageSelectors.btnSignIn);
+        Locator signInButton = LocatorCache.get(page, loginPageSelectors.btnSignIn);
         signInButton.click();
         
         // Wait for navigation to complete
@@ -78,6 +79,26 @@ public class LoginPage implements LoginPageInterface {
         return enterEmail(email).enterPassword(password);
     }
 
+    /**
+     * Method which returns true if the dashboard opened without asking for
+     * credentials, i.e. the browser context already holds a valid session. It
+     * waits for whichever of the dashboard layout or the login page shows up
+     * first.
+     *
+     * @return true if the user is already logged in else false.
+     */
+    public boolean isSessionActive() {
+        logger.info("Checking if the user is already logged in.");
+        try {
+            LocatorCache.get(page, loginPageSelectors.appLayout).or(LocatorCache.get(page, loginPageSelectors.login)).first()
+                    .waitFor(new Locator.WaitForOptions().setTimeout(WaitUtils.budgeted(10000)));
+            return LocatorCache.get(page, loginPageSelectors.appLayout).isVisible();
+        } catch (Exception e) {
+            logger.warn("Neither the dashboard nor the login page was shown: " + e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Method which returns true if the user is on the login page.
      *
@@ -88,10 +109,10 @@ public class LoginPage implements LoginPageInterface {
         
         try {
             // First create the locator
-            var loginElement = page.locator(loginPageSelectors.login);
+            var loginElement = LocatorCache.get(page, loginPageSelectors.login);
             
             // Wait for the element (separately) with timeout
-            loginElement.waitFor(new Locator.WaitForOptions().setTimeout(5000));
+            loginElement.waitFor(new Locator.WaitForOptions().setTimeout(WaitUtils.budgeted(5000)));
             
             // Then check visibility
             return loginElement.isVisible();
@@ -101,8 +122,8 @@ public class LoginPage implements LoginPageInterface {
             // Fallback check for common login elements as a backup
             try {
                 // Use the selectors from LoginPageSelectors class
-                boolean hasEmailField = page.locator(loginPageSelectors.txtbxEmail).isVisible();
-                boolean hasPasswordField = page.locator(loginPageSelectors.txtbxPassword).isVisible();
+                boolean hasEmailField = LocatorCache.get(page, loginPageSelectors.txtbxEmail).isVisible();
+                boolean hasPasswordField = LocatorCache.get(page, loginPageSelectors.txtbxPassword).isVisible();
                 
                 logger.info("Fallback login detection - Email field: {}, Password field: {}", 
                     hasEmailField, hasPasswordField);
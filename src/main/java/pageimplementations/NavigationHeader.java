@@ -5,6 +5,8 @@ import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Locator;
 
 import utilities.Log;
+import utilities.PlaywrightUtils;
+import utilities.WebVitals;
 import pageinterfaces.NavigationHeaderInterface;
 import pageselectors.NavigationHeaderSelectors;
 
@@ -31,10 +33,10 @@ public class NavigationHeader implements NavigationHeaderInterface {
     @Override
     public NavigationHeader goToManageUserSettingsFromNavigationHeader() {
         logger.info("Navigating to the user settings page from navigation header.");
-        Locator dropdownLink = page.locator(navigationHeaderSelectors.drpDwnNavigationLink);
-        dropdownLink.hover();
-        dropdownLink.click();
+        Locator dropdownLink = LocatorCache.get(page, navigationHeaderSelectors.drpDwnNavigationLink);
+        PlaywrightUtils.click(dropdownLink);
         page.waitForLoadState();
+        WebVitals.capture(page);
         return this;
     }
 }
\ No newline at end of file
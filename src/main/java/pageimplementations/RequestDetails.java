@@ -0,0 +1,50 @@
+package pageimplementations;
+
+/**
+ * The class {@code RequestDetails} holds the fields shown on the request details
+ * page, read together by {@link RequestDrawer#getRequestDetails()}.
+ */
+public final class RequestDetails {
+
+    private final String requestId;
+    private final String subject;
+    private final String status;
+
+    RequestDetails(final String requestId, final String subject, final String status) {
+        this.requestId = requestId;
+        this.subject = subject;
+        this.status = status;
+    }
+
+    /**
+     * Gets the request ID from the breadcrumb.
+     *
+     * @return The request ID as a String
+     */
+    public String getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Gets the subject of the request.
+     *
+     * @return The subject as a String
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Gets the status of the request.
+     *
+     * @return The status as a String
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RequestDetails[id=%s, subject=%s, status=%s]", requestId, subject, status);
+    }
+}
@@ -4,8 +4,11 @@ import org.apache.logging.log4j.Logger;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Locator;
 
+import utilities.DomSnapshot;
 import utilities.Log;
+import utilities.PerformanceBudget;
 import utilities.PlaywrightUtils;
+import utilities.ToastCollector;
 import pageinterfaces.RequestDrawerInterface;
 import pageselectors.RequestDrawerSelectors;
 
@@ -15,6 +18,9 @@ import pageselectors.RequestDrawerSelectors;
  */
 public class RequestDrawer implements RequestDrawerInterface {
 
+    private static final long TOAST_TIMEOUT_MILLIS = 10000;
+    private static final String CREATE_REQUEST_ACTION = "RequestDrawer.createNewRequest";
+
     private final Page page;
     private final RequestDrawerSelectors requestDrawerSelectors;
     private final Logger logger;
@@ -34,9 +40,9 @@ public class RequestDrawer implements RequestDrawerInterface {
     public RequestDrawer openCreateRequestDrawer() {
         logger.info("Opening create request drawer");
         PlaywrightUtils.untilPageLoadComplete(page); 
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.createButton));       
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.createRequestMenuItem));
-        PlaywrightUtils.waitForElement(page.locator(requestDrawerSelectors.requestDrawer)); 
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.createButton));       
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.createRequestMenuItem));
+        PlaywrightUtils.waitForElement(LocatorCache.get(page, requestDrawerSelectors.requestDrawer)); 
         return this;
     }
 
@@ -53,13 +59,13 @@ public class RequestDrawer implements RequestDrawerInterface {
         PlaywrightUtils.untilPageLoadComplete(page);
         
         // Click the Create button
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.createButton));
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.createButton));
         
         // Click "Report a problem" menu item
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.createProblemMenuItem));
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.createProblemMenuItem));
         
         // Wait for drawer to appear
-        PlaywrightUtils.waitForElement(page.locator(requestDrawerSelectors.problemDrawer));
+        PlaywrightUtils.waitForElement(LocatorCache.get(page, requestDrawerSelectors.problemDrawer));
         
         return this;
     }
@@ -75,14 +81,30 @@ public class RequestDrawer implements RequestDrawerInterface {
         logger.info("Creating new request with subject: {}", subject);
         
         // Enter subject
-        PlaywrightUtils.enterText(page.locator(requestDrawerSelectors.subjectInput), subject);
+        PlaywrightUtils.enterText(LocatorCache.get(page, requestDrawerSelectors.subjectInput), subject);
         
-        // Submit the request
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.submitButton));
+        // Submit the request, its toast is the next one
+        ToastCollector.of(page).skipCollected();
+        PerformanceBudget.markClick(page, CREATE_REQUEST_ACTION,
+                () -> PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.submitButton)));
         
         return this;
     }
     
+    /**
+     * Gets how long the request submitted last took until its toast was shown:
+     * the first toast shown after submitting. The toast is not taken, so it is
+     * still returned by {@link #getToastMessage()}.
+     * 
+     * @return Time from submitting to the toast in milliseconds
+     */
+    @Override
+    public long getRequestCreationMillis() {
+        logger.info("Measuring the creation time of the request");
+        final ToastCollector.Toast toast = ToastCollector.of(page).peek(TOAST_TIMEOUT_MILLIS);
+        return PerformanceBudget.elapsedMillis(CREATE_REQUEST_ACTION, toast.getTimestampMillis());
+    }
+    
     /**
      * Gets the request ID from the breadcrumb in the request details page.
      * 
@@ -92,7 +114,7 @@ public class RequestDrawer implements RequestDrawerInterface {
     public String getBreadcrumbRequestId() {
         logger.info("Getting request ID from breadcrumb");
         
-        return PlaywrightUtils.getText(page.locator(requestDrawerSelectors.breadcrumbRequestId));
+        return PlaywrightUtils.getText(LocatorCache.get(page, requestDrawerSelectors.breadcrumbRequestId));
     }
 
     /**
@@ -105,13 +127,13 @@ public class RequestDrawer implements RequestDrawerInterface {
         logger.info("Viewing created request");
         
         // Click the View button
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.viewButton));
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.viewButton));
         
         // Wait for page to load
         PlaywrightUtils.untilPageLoadComplete(page);
         
         // Wait for request ID element
-        PlaywrightUtils.waitForElement(page.locator(requestDrawerSelectors.requestIdElement));
+        PlaywrightUtils.waitForElement(LocatorCache.get(page, requestDrawerSelectors.requestIdElement));
         
         return this;
     }
@@ -129,13 +151,14 @@ public class RequestDrawer implements RequestDrawerInterface {
         PlaywrightUtils.untilPageLoadComplete(page);
         
         // Click the More (ellipsis) button
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.ellipsisButton));
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.ellipsisButton));
         
         // Click Delete option
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.deleteOption));
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.deleteOption));
         
-        // Confirm deletion
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.deleteConfirmButton));
+        // Confirm deletion, its toast is the next one
+        ToastCollector.of(page).skipCollected();
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.deleteConfirmButton));
         
         return this;
     }
@@ -153,23 +176,27 @@ public class RequestDrawer implements RequestDrawerInterface {
         PlaywrightUtils.untilPageLoadComplete(page);
         
         // Click Delete forever button
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.deleteForeverButton));
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.deleteForeverButton));
         
-        // Confirm permanent deletion
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.deleteForeverConfirmButton));
+        // Confirm permanent deletion, its toast is the next one
+        ToastCollector.of(page).skipCollected();
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.deleteForeverConfirmButton));
         
         return this;
     }
 
     /**
-     * Gets the current toast message text.
+     * Gets the text of the next toast message, taken from the toasts collected in
+     * the background. The actions of the drawer skip the toasts shown before
+     * them, so this is the first toast shown after the last action, whatever its
+     * text. Every toast is returned once.
      * 
      * @return Toast message as a String
      */
     @Override
     public String getToastMessage() {
         logger.info("Getting toast message text");  
-        return PlaywrightUtils.getText(page.locator(requestDrawerSelectors.toastMessage));
+        return ToastCollector.of(page).next(TOAST_TIMEOUT_MILLIS).getText();
     }
     
     /**
@@ -182,8 +209,8 @@ public class RequestDrawer implements RequestDrawerInterface {
         logger.info("Closing toast message");
         
         // Use JavaScript click for toast close button to ensure it works
-        PlaywrightUtils.safeClick(page.locator(requestDrawerSelectors.toastCloseButton));
-        Locator toastLocator = page.locator(requestDrawerSelectors.toastMessage);
+        PlaywrightUtils.safeClick(LocatorCache.get(page, requestDrawerSelectors.toastCloseButton));
+        Locator toastLocator = LocatorCache.get(page, requestDrawerSelectors.toastMessage);
         PlaywrightUtils.waitForElementToDisappear(toastLocator);
         return this;
     }
@@ -197,7 +224,7 @@ public class RequestDrawer implements RequestDrawerInterface {
     public String getRequestStatus() {
         logger.info("Getting request status from details page");
         
-        return PlaywrightUtils.getText(page.locator(requestDrawerSelectors.statusDisplay));
+        return PlaywrightUtils.getText(LocatorCache.get(page, requestDrawerSelectors.statusDisplay));
     }
    
     /**
@@ -209,6 +236,25 @@ public class RequestDrawer implements RequestDrawerInterface {
     public String getRequestSubject() {
         logger.info("Getting request subject from details page");
         
-        return PlaywrightUtils.getText(page.locator(requestDrawerSelectors.subjectDisplay));
+        return PlaywrightUtils.getText(LocatorCache.get(page, requestDrawerSelectors.subjectDisplay));
+    }
+
+    /**
+     * Gets the request ID, subject and status from the request details page in a
+     * single read, after one wait for all three to be visible.
+     * 
+     * @return The details displayed on the page
+     */
+    @Override
+    public RequestDetails getRequestDetails() {
+        logger.info("Getting request details from details page");
+
+        final DomSnapshot.Values values = DomSnapshot.create()
+                .field("id", requestDrawerSelectors.breadcrumbRequestId)
+                .field("subject", requestDrawerSelectors.subjectDisplay)
+                .field("status", requestDrawerSelectors.statusDisplay)
+                .take(page, 10000);
+        // The subject is a text area, whose text does not follow its value
+        return new RequestDetails(values.getText("id"), values.getValue("subject"), values.getText("status"));
     }
 }
\ No newline at end of file
@@ -1,18 +1,19 @@
 package pageimplementations;
 
-import java.awt.HeadlessException;
-import java.awt.Toolkit;
-import java.awt.datatransfer.DataFlavor;
-import java.awt.datatransfer.UnsupportedFlavorException;
-import java.io.IOException;
-
 import org.apache.logging.log4j.Logger;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Locator;
-import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.TimeoutError;
 
+import utilities.ConditionBatch;
 import utilities.Log;
+import utilities.PageClipboard;
+import utilities.PerformanceBudget;
 import utilities.PlaywrightUtils;
+import utilities.Retry;
+import utilities.RetryPolicy;
+import utilities.ToastCollector;
+import utilities.WebVitals;
 
 import pageinterfaces.SettingsPageInterface;
 import pageselectors.SettingsPageSelectors;
@@ -23,6 +24,11 @@ import pageselectors.SettingsPageSelectors;
  */
 public class SettingsPage extends NavigationHeader implements SettingsPageInterface {
 
+    private static final RetryPolicy DELETE_WORKSPACE_RETRY = RetryPolicy.forPlaywright()
+            .maxAttempts(3).initialDelayMillis(500).budgetMillis(30000).build();
+    private static final String WORKSPACE_DELETED_TOAST = "Workspace Deleted successfully";
+    private static final String WORKSPACE_SETTINGS_ACTION = "SettingsPage.goToWorkspaceSettingPage";
+
     private final Page page;
     private final SettingsPageSelectors settingsPageSelectors;
     private final Logger logger;
@@ -43,10 +49,36 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
     @Override
     public String getSettingsPageTitle(String expectedTitle) {
         logger.info("Fetching the settings page title.");
-        Locator titleLocator = page.locator(settingsPageSelectors.SettingsPageTitle);
-        titleLocator.waitFor();
-        PlaywrightUtils.waitUntilTextMatches(titleLocator, expectedTitle, 10);
-        return titleLocator.textContent().trim();
+        final ConditionBatch.Result result = ConditionBatch.create()
+                .textEquals("settingsPageTitle", settingsPageSelectors.SettingsPageTitle, expectedTitle)
+                .await(page, 10000);
+        if (!result.isSatisfied()) {
+            logger.error("Settings page title did not match within timeout period. {}", result.describe());
+        }
+        return result.getText("settingsPageTitle");
+    }
+
+    /**
+     * Method to wait for the title of the settings page opened last and get how
+     * long it took to show since the click which opened it. The title is timed
+     * by the clock of the browser when it was observed, not when the wait
+     * returned.
+     *
+     * @param expectedTitle The title text to wait for
+     * @return time until the title was shown in milliseconds
+     * @throws TimeoutError if the title was not shown within the timeout
+     */
+    @Override
+    public long getSettingsPageLoadMillis(String expectedTitle) {
+        logger.info("Measuring the load time of the {} settings page.", expectedTitle);
+        final ConditionBatch.Result result = ConditionBatch.create()
+                .textEquals("settingsPageTitle", settingsPageSelectors.SettingsPageTitle, expectedTitle)
+                .await(page, 10000);
+        if (!result.isSatisfied()) {
+            throw new TimeoutError(String.format("The %s settings page was not shown: %s", expectedTitle,
+                    result.describe()));
+        }
+        return PerformanceBudget.elapsedMillis(WORKSPACE_SETTINGS_ACTION, result.getCheckedAtMillis());
     }
 
     /**
@@ -57,31 +89,19 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
     @Override
     public SettingsPage goToManageUserSettings() {
         logger.info("Navigating to the user settings page.");
-        Locator userSettingsLocator = page.locator(settingsPageSelectors.userSettings);
+        Locator userSettingsLocator = LocatorCache.get(page, settingsPageSelectors.userSettings);
         
         try {
-            // Wait for element to be visible before clicking
-            userSettingsLocator.waitFor();
-            
-            // Try hover first
-            userSettingsLocator.hover();
-            
-            // Then click
-            userSettingsLocator.click();
+            // Click, with the fallbacks of the interaction profile
+            PlaywrightUtils.safeClick(userSettingsLocator);
             
             // Wait for navigation to complete
-            page.waitForLoadState(LoadState.NETWORKIDLE);
+            PlaywrightUtils.untilPageLoadComplete(page);
         } catch (Exception e) {
-            logger.warn("Standard click failed, trying JavaScript click: {}", e.getMessage());
-            try {
-                // JavaScript click as fallback
-                userSettingsLocator.evaluate("element => element.click()");
-                page.waitForLoadState(LoadState.NETWORKIDLE);
-            } catch (Exception ex) {
-                logger.error("Failed to navigate to user settings: {}", ex.getMessage());
-            }
+            logger.error("Failed to navigate to user settings: {}", e.getMessage());
         }
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -93,17 +113,12 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
     @Override
     public SettingsPage goToWorkspaceSettingPage() {
         logger.info("Navigating to the workspace settings page.");
-        Locator workspaceSettingsLocator = page.locator(settingsPageSelectors.workspaceSettings);
+        Locator workspaceSettingsLocator = LocatorCache.get(page, settingsPageSelectors.workspaceSettings);
         
        // try {
-            // Wait for element to be visible before clicking
-            workspaceSettingsLocator.waitFor();
-            
-            // Try hover first
-            workspaceSettingsLocator.hover();
-            
-            // Then click
-            workspaceSettingsLocator.click();
+            // Click, failing loudly if the click does not go through
+            PerformanceBudget.markClick(page, WORKSPACE_SETTINGS_ACTION,
+                    () -> PlaywrightUtils.click(workspaceSettingsLocator));
             
             // Wait for navigation to complete
             page.waitForLoadState();
@@ -112,11 +127,12 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
 //            try {
 //                // JavaScript click as fallback
 //                workspaceSettingsLocator.evaluate("element => element.click()");
-//                page.waitForLoadState(LoadState.NETWORKIDLE);
+//                PlaywrightUtils.untilPageLoadComplete(page);
 //            } catch (Exception ex) {
 //                logger.error("Failed to navigate to workspace settings: {}", ex.getMessage());
 //            }
         
+        WebVitals.capture(page);
         return this;
     }
 
@@ -131,24 +147,20 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
         
         // Click Add Workspace button
         try {
-            Locator addWorkspaceBtn = page.locator(settingsPageSelectors.addWorkspaceBtn);
-            //addWorkspaceBtn.waitFor();
-            //addWorkspaceBtn.hover();
+            Locator addWorkspaceBtn = LocatorCache.get(page, settingsPageSelectors.addWorkspaceBtn);
             addWorkspaceBtn.click();
             
-            // Enter workspace name - wait for input field to be ready
-            Locator nameInput = page.locator(settingsPageSelectors.workspacenameInputbx);
-            nameInput.waitFor();
-            nameInput.fill(name);
+            // Enter workspace name once the input field is ready
+            Locator nameInput = LocatorCache.get(page, settingsPageSelectors.workspacenameInputbx);
+            PlaywrightUtils.enterText(nameInput, name);
             
-            // Click add button after input
-            Locator addBtn = page.locator(settingsPageSelectors.addWorkspaceBtnAfterInput);
-            addBtn.waitFor();
-            addBtn.hover();
-            addBtn.click();
+            // Click add button after input, its toast is the next one
+            ToastCollector.of(page).skipCollected();
+            Locator addBtn = LocatorCache.get(page, settingsPageSelectors.addWorkspaceBtnAfterInput);
+            PlaywrightUtils.click(addBtn);
             
             // Wait for operation to complete
-            page.waitForLoadState(LoadState.NETWORKIDLE);
+            PlaywrightUtils.untilPageLoadComplete(page);
         } catch (Exception e) {
             logger.error("Failed to add workspace: {}", e.getMessage());
         }
@@ -164,24 +176,23 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
     @Override
     public String isNewWorkspaceCreated() {
         logger.info("Fetching added workspace from the list.");
-        Locator workspaceLocator = page.locator(settingsPageSelectors.addedWorkspaceFromList);
+        Locator workspaceLocator = LocatorCache.get(page, settingsPageSelectors.addedWorkspaceFromList);
             // Wait for workspace to appear in list
             workspaceLocator.waitFor();
             return workspaceLocator.textContent().trim();
         }
 
     /**
-     * Method to get workspace created notification.
+     * Method to get the first toast shown after the workspace was added,
+     * whatever its text.
      * 
-     * @return workspace created notification as string.
+     * @return workspace notification as string.
      */
     @Override
     public String WorkspaceNotificationToast() {
-        logger.info("Fetching the workspace created toast message");
-        Locator toastLocator = page.locator(settingsPageSelectors.workspaceToast);
-        toastLocator.waitFor(new Locator.WaitForOptions().setTimeout(15000));
-        return toastLocator.textContent().trim();
-        }
+        logger.info("Fetching the workspace toast message");
+        return ToastCollector.of(page).next(15000).getText();
+    }
 
     /**
      * Method to get workspace deleted notification.
@@ -191,10 +202,7 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
     @Override
     public String WorkspaceDeletedNotificationToast() {
         logger.info("Fetching the workspace deleted toast message");
-        Locator toastLocator = page.locator(settingsPageSelectors.workspaceDeletedToast);
-        toastLocator.waitFor(new Locator.WaitForOptions().setTimeout(10000));
-        return toastLocator.textContent().trim();
-
+        return ToastCollector.of(page).next(text -> text.contains(WORKSPACE_DELETED_TOAST), 10000).getText();
     }
 
     /**
@@ -206,7 +214,7 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
     public SettingsPage closeToastMessage() {
         logger.info("Closing the toast notification");
         try {
-            Locator closeBtn = page.locator(settingsPageSelectors.closeToastMessage);
+            Locator closeBtn = LocatorCache.get(page, settingsPageSelectors.closeToastMessage);
             closeBtn.waitFor();
             closeBtn.evaluate("element => element.click()");
             logger.info("Toast close button clicked successfully");
@@ -220,59 +228,32 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
      * Method to delete workspace from the system.
      * 
      * @return Object of this page
-     * @throws InterruptedException 
      */
     @Override
-    public SettingsPage deleteWorkspace() throws InterruptedException {
+    public SettingsPage deleteWorkspace() {
         logger.info("Deleting newly created workspace from the system.");
         
-        // Retry logic implemented directly
-        int maxAttempts = 3;
-        int attemptCount = 0;
-        int delay = 500;
-        
-        while (attemptCount < maxAttempts) {
-            try {
-                // Get locators for the elements
-                Locator ellipsisLocator = page.locator(settingsPageSelectors.workspaceEllipsis);
-                Locator menuLocator = page.locator(settingsPageSelectors.workspaceEllipsisMenu);
-                Locator deleteBtn = page.locator(settingsPageSelectors.deleteWorkspaceBtn);
-                
-                // Click the ellipsis button
-                ellipsisLocator.waitFor();
-                ellipsisLocator.hover();
-                ellipsisLocator.click();
-                
-                // Force the menu to be visible
-                PlaywrightUtils.forceElementVisible(menuLocator);
-                
-                // Wait for menu to be visible
-                menuLocator.waitFor();
-                
-                // Click the delete button
-                deleteBtn.waitFor();
-                deleteBtn.evaluate("element => element.click()");
-                
-                // If we get here, operation was successful
-                logger.info("Successfully clicked delete button");
-                break;
-            } catch (Exception e) {
-                attemptCount++;
-                logger.warn("Attempt {} failed: {}. Retrying in {}ms", 
-                        attemptCount, e.getMessage(), delay);
-                
-                if (attemptCount >= maxAttempts) {
-                    logger.error("All {} attempts failed", maxAttempts);
-                    break;
-                }
-                
-                // Wait before retrying
-                Thread.sleep(delay);
-                
-                // Increase delay for next attempt
-                delay *= 2;
-            }
-        }
+        // The ellipsis menu is flaky to open, retry the whole sequence
+        Retry.run("SettingsPage.deleteWorkspace", DELETE_WORKSPACE_RETRY, () -> {
+            // Get locators for the elements
+            Locator ellipsisLocator = LocatorCache.get(page, settingsPageSelectors.workspaceEllipsis);
+            Locator menuLocator = LocatorCache.get(page, settingsPageSelectors.workspaceEllipsisMenu);
+            Locator deleteBtn = LocatorCache.get(page, settingsPageSelectors.deleteWorkspaceBtn);
+            
+            // Click the ellipsis button
+            PlaywrightUtils.click(ellipsisLocator);
+            
+            // Force the menu to be visible
+            PlaywrightUtils.forceElementVisible(menuLocator);
+            
+            // Wait for menu to be visible
+            menuLocator.waitFor();
+            
+            // Click the delete button
+            deleteBtn.waitFor();
+            deleteBtn.evaluate("element => element.click()");
+        });
+        logger.info("Successfully clicked delete button");
         
         return this;
     }
@@ -285,7 +266,7 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
     @Override
     public String workspaceDeleteModal() {
         logger.info("Fetching text from delete workspace modal.");
-        Locator modalLocator = page.locator(settingsPageSelectors.deleteModal);
+        Locator modalLocator = LocatorCache.get(page, settingsPageSelectors.deleteModal);
         
         try {
             // Wait for modal to be visible
@@ -298,40 +279,36 @@ public class SettingsPage extends NavigationHeader implements SettingsPageInterf
     }
 
     /**
-     * Method to delete workspace from the system.
+     * Method to delete workspace from the system. The workspace name is copied
+     * with the copy icon and read from the clipboard of the page.
      * 
      * @return Object of this page
-     * @throws IOException 
-     * @throws UnsupportedFlavorException 
-     * @throws HeadlessException  
      */
     @Override
-    public SettingsPage deleteWorkspaceConfirmation() throws HeadlessException, UnsupportedFlavorException, IOException {
+    public SettingsPage deleteWorkspaceConfirmation() {
         logger.info("Confirming workspace deletion");
         
         try {
             // Copy workspace name
-            Locator copyBtn = page.locator(settingsPageSelectors.copyWorkspaceNameBtn);
-            copyBtn.waitFor();
-            copyBtn.hover();
-            copyBtn.click();
+            final PageClipboard clipboard = PageClipboard.of(page).clear();
+            Locator copyBtn = LocatorCache.get(page, settingsPageSelectors.copyWorkspaceNameBtn);
+            PlaywrightUtils.click(copyBtn);
             
-            // Get text from clipboard
-            String myText = (String) Toolkit.getDefaultToolkit().getSystemClipboard().getData(DataFlavor.stringFlavor);
+            // Get text from the clipboard of the page
+            String myText = clipboard.awaitText(5000);
             logger.info("Copied workspace name: {}", myText);
             
-            // Enter workspace name in input box - wait for it to be ready
-            Locator inputBox = page.locator(settingsPageSelectors.deleteWorkspaceInputBx);
-            inputBox.waitFor();
-            inputBox.fill(myText);
+            // Enter workspace name in input box once it is ready
+            Locator inputBox = LocatorCache.get(page, settingsPageSelectors.deleteWorkspaceInputBx);
+            PlaywrightUtils.enterText(inputBox, myText);
             
-            // Confirm deletion
-            Locator confirmBtn = page.locator(settingsPageSelectors.confirmDeleteWorkspaceBtn);
-            confirmBtn.waitFor();
-            confirmBtn.click();
+            // Confirm deletion, its toast is the next one
+            ToastCollector.of(page).skipCollected();
+            Locator confirmBtn = LocatorCache.get(page, settingsPageSelectors.confirmDeleteWorkspaceBtn);
+            PlaywrightUtils.click(confirmBtn);
             
             // Wait for operation to complete
-            page.waitForLoadState(LoadState.NETWORKIDLE);
+            PlaywrightUtils.untilPageLoadComplete(page);
         } catch (Exception e) {
             logger.error("Failed to confirm workspace deletion: {}", e.getMessage());
         }
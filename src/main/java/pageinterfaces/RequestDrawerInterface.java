@@ -1,5 +1,6 @@
 package pageinterfaces;
 
+import pageimplementations.RequestDetails;
 import pageimplementations.RequestDrawer;
 
 /**
@@ -23,6 +24,14 @@ public interface RequestDrawerInterface {
      */
     RequestDrawer createNewRequest(String subject);
     
+    /**
+     * Gets how long the request submitted last took until its created toast was
+     * shown.
+     * 
+     * @return Time from submitting to the toast in milliseconds
+     */
+    long getRequestCreationMillis();
+    
     /**
      * Gets the request ID from the breadcrumb in the request details page.
      * 
@@ -52,7 +61,8 @@ public interface RequestDrawerInterface {
     RequestDrawer deleteRequestPermanently();
     
     /**
-     * Gets the current toast message text.
+     * Gets the text of the first toast message shown after the last action of the
+     * drawer. Every toast is returned once.
      * 
      * @return Toast message as a String
      */
@@ -72,6 +82,14 @@ public interface RequestDrawerInterface {
  // In RequestDrawerInterface
     String getRequestSubject();
 
+    /**
+     * Gets the request ID, subject and status from the request details page in a
+     * single read.
+     * 
+     * @return The details displayed on the page
+     */
+    RequestDetails getRequestDetails();
+
 	/**
 	 * Opens the create request drawer.
 	 * 
@@ -1,9 +1,5 @@
 package pageinterfaces;
 
-import java.awt.HeadlessException;
-import java.awt.datatransfer.UnsupportedFlavorException;
-import java.io.IOException;
-
 import pageimplementations.SettingsPage;
 
 /**
@@ -24,11 +20,11 @@ public interface SettingsPageInterface extends NavigationHeaderInterface {
 
 	String WorkspaceNotificationToast();
 
-	SettingsPage deleteWorkspace() throws InterruptedException, Exception;
+	SettingsPage deleteWorkspace();
 
 	String workspaceDeleteModal();
 
-	SettingsPage deleteWorkspaceConfirmation() throws HeadlessException, UnsupportedFlavorException, IOException;
+	SettingsPage deleteWorkspaceConfirmation();
 
 	SettingsPage closeToastMessage();
 
@@ -42,6 +38,15 @@ public interface SettingsPageInterface extends NavigationHeaderInterface {
 	 */
 	String getSettingsPageTitle(String expectedTitle);
 
+	/**
+	 * Method to wait for the title of the settings page opened last and get how
+	 * long it took to show since the navigation started.
+	 *
+	 * @param expectedTitle The title text to wait for
+	 * @return time until the title was shown in milliseconds
+	 */
+	long getSettingsPageLoadMillis(String expectedTitle);
+
 
 	//String isWorkspaceCreatedToast();
 
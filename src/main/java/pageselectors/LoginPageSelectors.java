@@ -12,6 +12,7 @@ public class LoginPageSelectors {
     public final String txtbxPassword = "//input[@id='password']";
     public final String btnSignIn = "#kc-login";
     public final String login = "//h1[@id='kc-page-title']";
+    public final String appLayout = "#app-layout";
 
     private final Page page;
 
@@ -18,8 +18,6 @@ public class SettingsPageSelectors extends NavigationHeaderSelectors {
     public final String workspacenameInputbx = "//input[@id='name']";
     public final String addWorkspaceBtnAfterInput = "//button[normalize-space()='Add']";
     public final String addedWorkspaceFromList = "//h5[normalize-space()='Atomicwork']";
-    public final String workspaceToast = "//div[@class='ant-notification-notice-message']";
-    public final String workspaceDeletedToast = "//div[@class='ant-notification-notice-message'][contains(.,'Workspace Deleted successfully')]";
     public final String workspaceEllipsis = "//tr[contains(.,'Atomicwork')]//button[1]";
     public final String workspaceEllipsisMenu = ".ant-dropdown-menu.ant-dropdown-menu-root.ant-dropdown-menu-vertical.ant-dropdown-menu-light.css-1nmg3s7";
     public final String deleteWorkspaceBtn = "//span[normalize-space()='Delete workspace']";
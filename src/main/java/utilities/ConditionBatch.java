@@ -0,0 +1,305 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * The class {@code ConditionBatch} waits for several DOM conditions of a page in
+ * a single round trip. The conditions are resolved inside the page by the
+ * waiter of {@code scripts/condition-waiter.js}, which re-checks them when the
+ * DOM changes, and the state of every condition is returned together, so the
+ * caller gets the text it waited for without reading it again.
+ * <p>
+ * Selectors must be plain CSS or XPath (starting with {@code /} or {@code (}).
+ * Playwright selector extensions like {@code :has-text()} or {@code text=} are
+ * not understood by the browser and make {@link #await(Page, long)} fail.
+ *
+ * <pre>
+ * final ConditionBatch.Result result = ConditionBatch.create()
+ *         .textEquals("title", selectors.pageTitle, expectedTitle)
+ *         .hidden("spinner", selectors.spinner)
+ *         .await(page, 10000);
+ * </pre>
+ */
+public final class ConditionBatch {
+
+    /**
+     * File name of the waiter script in the scripts directory of the classpath.
+     */
+    public static final String WAITER_SCRIPT = "condition-waiter.js";
+    private static final String WAIT_EXPRESSION = "args => window.__conditionWaiter "
+            + "? window.__conditionWaiter.waitFor(args[0], args[1], args[2]) : null";
+
+    private final List<Map<String, Object>> conditions = new ArrayList<>();
+    private boolean anyOf;
+
+    private ConditionBatch() {
+    }
+
+    /**
+     * Method to start a batch of conditions. By default the batch is satisfied
+     * once all of its conditions are met.
+     *
+     * @return empty batch
+     */
+    public static ConditionBatch create() {
+        return new ConditionBatch();
+    }
+
+    /**
+     * Method to install the waiter in every document of a browser context.
+     *
+     * @param browserContext: context whose pages use condition batches
+     */
+    public static void install(final BrowserContext browserContext) {
+        browserContext.addInitScript(ScriptResources.get(WAITER_SCRIPT));
+    }
+
+    /**
+     * Method to add a condition which is met when the element is visible.
+     *
+     * @param name:     name under which the state of the condition is returned
+     * @param selector: CSS or XPath selector of the element
+     * @return Object of this class
+     */
+    public ConditionBatch visible(final String name, final String selector) {
+        return add(name, selector, "visible", null);
+    }
+
+    /**
+     * Method to add a condition which is met when the element is hidden or not
+     * in the DOM.
+     *
+     * @param name:     name under which the state of the condition is returned
+     * @param selector: CSS or XPath selector of the element
+     * @return Object of this class
+     */
+    public ConditionBatch hidden(final String name, final String selector) {
+        return add(name, selector, "hidden", null);
+    }
+
+    /**
+     * Method to add a condition which is met when the element is visible and its
+     * text equals the expected text, ignoring surrounding and repeated
+     * whitespace.
+     *
+     * @param name:     name under which the state of the condition is returned
+     * @param selector: CSS or XPath selector of the element
+     * @param text:     expected text
+     * @return Object of this class
+     */
+    public ConditionBatch textEquals(final String name, final String selector, final String text) {
+        return add(name, selector, "textEquals", text);
+    }
+
+    /**
+     * Method to add a condition which is met when the element is visible and its
+     * text contains the expected text.
+     *
+     * @param name:     name under which the state of the condition is returned
+     * @param selector: CSS or XPath selector of the element
+     * @param text:     expected part of the text
+     * @return Object of this class
+     */
+    public ConditionBatch textContains(final String name, final String selector, final String text) {
+        return add(name, selector, "textContains", text);
+    }
+
+    /**
+     * Method to make the batch satisfied as soon as any of its conditions is met.
+     *
+     * @return Object of this class
+     */
+    public ConditionBatch anyOf() {
+        anyOf = true;
+        return this;
+    }
+
+    private ConditionBatch add(final String name, final String selector, final String type, final String text) {
+        final Map<String, Object> condition = new HashMap<>();
+        condition.put("name", name);
+        condition.put("selector", selector);
+        condition.put("type", type);
+        condition.put("text", text);
+        conditions.add(condition);
+        return this;
+    }
+
+    /**
+     * Method to wait until the batch is satisfied or the timeout passed. A
+     * navigation during the wait restarts it in the new document, within the
+     * same timeout.
+     *
+     * @param page:            Playwright Page object
+     * @param timeoutInMillis: maximum time to wait
+     * @return state of every condition when the wait ended
+     * @throws IllegalArgumentException if a selector could not be evaluated in the
+     *                                  page
+     */
+    public Result await(final Page page, final long timeoutInMillis) {
+        final long start = System.nanoTime();
+        final String mode = anyOf ? "any" : "all";
+        final Result batchResult = new Result(evaluateWaiter(page, WAIT_EXPRESSION,
+                remainingMillis -> List.of(conditions, remainingMillis, mode), timeoutInMillis));
+        WaitUtils.record("conditionBatch", start, batchResult.isSatisfied());
+        if (batchResult.failed) {
+            throw new IllegalArgumentException(batchResult.describe());
+        }
+        return batchResult;
+    }
+
+    /**
+     * Method to call the waiter of the page, installing it first in documents
+     * created before {@link #install(BrowserContext)}. A navigation during the
+     * call restarts it in the new document, within the same timeout.
+     *
+     * @param page:            Playwright Page object
+     * @param expression:      function calling the waiter, null if it is missing
+     * @param argsFor:         function returning the arguments of the expression
+     *                         for the remaining time in milliseconds
+     * @param timeoutInMillis: maximum time of the call
+     * @return result of the waiter
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> evaluateWaiter(final Page page, final String expression,
+            final LongFunction<List<Object>> argsFor, final long timeoutInMillis) {
+        final Deadline deadline = Deadline.after(WaitUtils.budgeted(timeoutInMillis));
+        boolean injected = false;
+        while (true) {
+            try {
+                final Object result = page.evaluate(expression, argsFor.apply(deadline.remainingMillis()));
+                if (result != null) {
+                    return (Map<String, Object>) result;
+                }
+                if (injected) {
+                    throw new IllegalStateException("The condition waiter could not be installed in the page");
+                }
+                // Document created before the waiter was installed
+                page.evaluate(ScriptResources.get(WAITER_SCRIPT));
+                injected = true;
+            } catch (PlaywrightException e) {
+                // The document was replaced by a navigation while waiting
+                if (deadline.isExpired() || !e.getMessage().contains("Execution context was destroyed")) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * State of the conditions of a batch when the wait ended.
+     */
+    public static final class Result {
+        private final boolean satisfied;
+        private final boolean failed;
+        private final long elapsedMillis;
+        private final long checkedAtMillis;
+        private final Map<String, Map<String, Object>> states = new LinkedHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private Result(final Map<String, Object> result) {
+            satisfied = Boolean.TRUE.equals(result.get("satisfied"));
+            failed = Boolean.TRUE.equals(result.get("failed"));
+            elapsedMillis = ((Number) result.get("elapsedMs")).longValue();
+            checkedAtMillis = ((Number) result.get("checkedAt")).longValue();
+            for (final Object state : (List<Object>) result.get("states")) {
+                final Map<String, Object> conditionState = (Map<String, Object>) state;
+                states.put((String) conditionState.get("name"), conditionState);
+            }
+        }
+
+        /**
+         * If the batch was satisfied before the timeout.
+         *
+         * @return true if all conditions (or any, for an any-of batch) were met
+         */
+        public boolean isSatisfied() {
+            return satisfied;
+        }
+
+        /**
+         * If a condition was met.
+         *
+         * @param name: name of the condition
+         * @return true if the condition was met
+         */
+        public boolean isMet(final String name) {
+            return Boolean.TRUE.equals(state(name).get("met"));
+        }
+
+        /**
+         * If the element of a condition was visible.
+         *
+         * @param name: name of the condition
+         * @return true if the element was visible
+         */
+        public boolean isVisible(final String name) {
+            return Boolean.TRUE.equals(state(name).get("visible"));
+        }
+
+        /**
+         * Method to get the text of the element of a condition, with surrounding
+         * and repeated whitespace removed.
+         *
+         * @param name: name of the condition
+         * @return text of the element, null if it was not in the DOM
+         */
+        public String getText(final String name) {
+            return (String) state(name).get("text");
+        }
+
+        /**
+         * Method to get how long the wait took inside the page.
+         *
+         * @return elapsed time in milliseconds
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Method to get when the conditions were checked last, by the clock of the
+         * browser. For a satisfied batch this is when it was seen satisfied, before
+         * the result travelled back to the test.
+         *
+         * @return epoch time in milliseconds
+         */
+        public long getCheckedAtMillis() {
+            return checkedAtMillis;
+        }
+
+        /**
+         * Method to describe the conditions which were not met, for logs and
+         * assertion messages.
+         *
+         * @return description of the unmet conditions
+         */
+        public String describe() {
+            final StringBuilder description = new StringBuilder();
+            states.forEach((name, state) -> {
+                if (!Boolean.TRUE.equals(state.get("met"))) {
+                    description.append(String.format("%s: found=%s, visible=%s, text='%s'%s; ", name,
+                            state.get("found"), state.get("visible"), state.get("text"),
+                            state.get("error") == null ? "" : ", error=" + state.get("error")));
+                }
+            });
+            return description.length() == 0 ? "all conditions met" : description.toString().trim();
+        }
+
+        private Map<String, Object> state(final String name) {
+            final Map<String, Object> state = states.get(name);
+            if (state == null) {
+                throw new IllegalArgumentException(String.format("No condition named %s in the batch", name));
+            }
+            return state;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package utilities;
 
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * The class {@code ConvertUtils} holds static methods required for type
@@ -34,4 +35,50 @@ public final class ConvertUtils {
     public static long stringToLong(final String numStr) {
         return Long.parseLong(Objects.requireNonNull(numStr, "numStr must not be null!"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Method to convert a URL glob pattern to a regular expression, following the
+     * glob syntax Playwright uses for routes: {@code **} matches any characters,
+     * {@code *} any characters except {@code /}, {@code ?} a single character and
+     * {@code {a,b}} one of the alternatives.
+     *
+     * @param glob: URL glob pattern to be converted.
+     *
+     * @return compiled regular expression matching the whole URL.
+     */
+    public static Pattern globToPattern(final String glob) {
+        Objects.requireNonNull(glob, "glob must not be null!");
+        final StringBuilder regex = new StringBuilder("^");
+        boolean inGroup = false;
+        for (int i = 0; i < glob.length(); i++) {
+            final char c = glob.charAt(i);
+            switch (c) {
+            case '*':
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^/]*");
+                }
+                break;
+            case '?':
+                regex.append('.');
+                break;
+            case '{':
+                inGroup = true;
+                regex.append("(?:");
+                break;
+            case '}':
+                inGroup = false;
+                regex.append(')');
+                break;
+            case ',':
+                regex.append(inGroup ? "|" : ",");
+                break;
+            default:
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.append('$').toString());
+    }
+}
@@ -11,6 +11,7 @@ import org.apache.commons.io.FileUtils;
 import net.masterthought.cucumber.Configuration;
 import net.masterthought.cucumber.ReportBuilder;
 import net.masterthought.cucumber.presentation.PresentationMode;
+import net.masterthought.cucumber.reducers.ReducingMethod;
 import net.masterthought.cucumber.sorting.SortingMethod;
 
 /**
@@ -51,6 +52,8 @@ public final class CucumberReport {
 		final Configuration configuration = new Configuration(new File(reportOutputDirectory), projectName);
 		configuration.addPresentationModes(PresentationMode.EXPAND_ALL_STEPS);
 		configuration.setSortingMethod(SortingMethod.NATURAL);
+		// Shards and runners report parts of the same features, show each feature once
+		configuration.addReducingMethod(ReducingMethod.MERGE_FEATURES_BY_ID);
 		if (metadata != null) {
 			for (final String classificationName : metadata.keySet())
 				configuration.addClassifications(classificationName, metadata.get(classificationName));
@@ -79,4 +82,21 @@ public final class CucumberReport {
 	public static void generateReport(final String projectName) {
 		generateReport(projectName, null);
 	}
+
+	/**
+	 * Method to generate one cucumber report from the JSON files of several
+	 * shards, once every shard finished. The JSON files are searched in the given
+	 * directory and its sub-directories, so each shard's JSON reports can be
+	 * copied into a sub-directory of their own.
+	 * 
+	 * @param args: JSON files directory, report output directory and optionally
+	 *              the project name.
+	 */
+	public static void main(final String[] args) {
+		if (args.length < 2) {
+			System.err.println("Usage: CucumberReport <jsonFilesDirectory> <reportOutputDirectory> [projectName]");
+			System.exit(1);
+		}
+		generateReport(args[0], args[1], args.length > 2 ? args[2] : "Atomicwork UI Tests", null);
+	}
 }
@@ -0,0 +1,45 @@
+package utilities;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class {@code Deadline} is a point in time by which a wait must be over.
+ * Passing a deadline instead of a timeout through nested waits keeps their
+ * total time within the timeout of the outer wait.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Method to create a deadline a given time from now.
+     *
+     * @param timeoutInMillis: time until the deadline
+     * @return deadline
+     */
+    public static Deadline after(final long timeoutInMillis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis));
+    }
+
+    /**
+     * Method to get the time left until the deadline.
+     *
+     * @return remaining time in milliseconds, 0 once the deadline passed
+     */
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * If the deadline passed.
+     *
+     * @return true if no time is left
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+}
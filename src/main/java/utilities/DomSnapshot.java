@@ -0,0 +1,154 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+
+/**
+ * The class {@code DomSnapshot} reads several elements of a page in a single
+ * round trip. It waits once, inside the page, until the elements of all fields
+ * are visible and then returns the text, form value and visibility of every
+ * field together, instead of one wait and one read per field.
+ * <p>
+ * Like {@link ConditionBatch}, which it uses in the page, selectors must be
+ * plain CSS or XPath (starting with {@code /} or {@code (}).
+ *
+ * <pre>
+ * final DomSnapshot.Values values = DomSnapshot.create()
+ *         .field("id", selectors.requestId)
+ *         .field("subject", selectors.subjectInput)
+ *         .take(page, 10000);
+ * final String subject = values.getValue("subject");
+ * </pre>
+ */
+public final class DomSnapshot {
+
+    private static final String SNAPSHOT_EXPRESSION = "args => window.__conditionWaiter "
+            + "? window.__conditionWaiter.snapshot(args[0], args[1]) : null";
+
+    private final List<Map<String, Object>> fields = new ArrayList<>();
+
+    private DomSnapshot() {
+    }
+
+    /**
+     * Method to start a snapshot.
+     *
+     * @return snapshot without fields
+     */
+    public static DomSnapshot create() {
+        return new DomSnapshot();
+    }
+
+    /**
+     * Method to add a field to the snapshot.
+     *
+     * @param name:     name under which the field is returned
+     * @param selector: CSS or XPath selector of the element
+     * @return Object of this class
+     */
+    public DomSnapshot field(final String name, final String selector) {
+        final Map<String, Object> field = new HashMap<>();
+        field.put("name", name);
+        field.put("selector", selector);
+        fields.add(field);
+        return this;
+    }
+
+    /**
+     * Method to wait until the elements of all fields are visible and read them.
+     *
+     * @param page:            Playwright Page object
+     * @param timeoutInMillis: maximum time to wait
+     * @return values of the fields
+     * @throws TimeoutError             if an element is not visible after the
+     *                                  timeout
+     * @throws IllegalArgumentException if a selector could not be evaluated in the
+     *                                  page
+     */
+    @SuppressWarnings("unchecked")
+    public Values take(final Page page, final long timeoutInMillis) {
+        final long start = System.nanoTime();
+        final Map<String, Object> result = ConditionBatch.evaluateWaiter(page, SNAPSHOT_EXPRESSION,
+                remainingMillis -> List.of(fields, remainingMillis), timeoutInMillis);
+        final boolean satisfied = Boolean.TRUE.equals(result.get("satisfied"));
+        WaitUtils.record("domSnapshot", start, satisfied);
+        if (!satisfied) {
+            final StringBuilder description = new StringBuilder();
+            for (final Object state : (List<Object>) result.get("states")) {
+                final Map<String, Object> fieldState = (Map<String, Object>) state;
+                if (!Boolean.TRUE.equals(fieldState.get("met"))) {
+                    description.append(String.format("%s: found=%s, visible=%s%s; ", fieldState.get("name"),
+                            fieldState.get("found"), fieldState.get("visible"),
+                            fieldState.get("error") == null ? "" : ", error=" + fieldState.get("error")));
+                }
+            }
+            final String message = "Snapshot fields not visible: " + description.toString().trim();
+            if (Boolean.TRUE.equals(result.get("failed"))) {
+                throw new IllegalArgumentException(message);
+            }
+            throw new TimeoutError(String.format("%s (waited %d ms)", message, timeoutInMillis));
+        }
+        return new Values((List<Object>) result.get("states"));
+    }
+
+    /**
+     * Values of the fields of a snapshot.
+     */
+    public static final class Values {
+        private final Map<String, Map<String, Object>> states = new LinkedHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private Values(final List<Object> fieldStates) {
+            for (final Object state : fieldStates) {
+                final Map<String, Object> fieldState = (Map<String, Object>) state;
+                states.put((String) fieldState.get("name"), fieldState);
+            }
+        }
+
+        /**
+         * Method to get the text of the element of a field, with surrounding and
+         * repeated whitespace removed.
+         *
+         * @param name: name of the field
+         * @return text of the element
+         */
+        public String getText(final String name) {
+            return (String) state(name).get("text");
+        }
+
+        /**
+         * Method to get the value of the element of a field, for inputs, text
+         * areas and selects, whose text does not follow what the user typed.
+         *
+         * @param name: name of the field
+         * @return value of the element, null if the element has no value
+         */
+        public String getValue(final String name) {
+            return (String) state(name).get("value");
+        }
+
+        /**
+         * If the element of a field was visible.
+         *
+         * @param name: name of the field
+         * @return true if the element was visible
+         */
+        public boolean isVisible(final String name) {
+            return Boolean.TRUE.equals(state(name).get("visible"));
+        }
+
+        private Map<String, Object> state(final String name) {
+            final Map<String, Object> state = states.get(name);
+            if (state == null) {
+                throw new IllegalArgumentException(String.format("No field named %s in the snapshot", name));
+            }
+            return state;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package utilities;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.Logger;
+
+import enums.InstrumentationMode;
+import enums.InteractionProfile;
+
+/**
+ * The class {@code InteractionStats} sums the interaction counters of finished
+ * scenarios by interaction profile, so the Playwright calls per scenario of the
+ * profiles can be compared across runs in the interactions performance report.
+ * The calls are those counted by {@link PlaywrightInstrumentation}, so they
+ * include the direct Locator calls of the page objects, and they are left out
+ * of the report when the instrumentation is off.
+ */
+public final class InteractionStats {
+
+    private static final Logger LOGGER = Log.getLogger(InteractionStats.class);
+    private static final Map<InteractionProfile, ProfileStats> STATS = new EnumMap<>(InteractionProfile.class);
+
+    private InteractionStats() {
+    }
+
+    /**
+     * Method to add the counters of a finished scenario.
+     *
+     * @param scope: scope of the scenario
+     */
+    static synchronized void record(final ScenarioScope scope) {
+        final ProfileStats stats = STATS.computeIfAbsent(scope.getInteractionProfile(), profile -> new ProfileStats());
+        stats.scenarios++;
+        stats.protocolCalls += scope.getProtocolCalls();
+        stats.callsByScenario.merge(scope.getScenarioName(), scope.getProtocolCalls(), Math::max);
+        scope.getFallbacks().forEach((reason, count) -> stats.fallbacks.merge(reason, count, Integer::sum));
+    }
+
+    /**
+     * Method to log the interaction statistics and write them to the interactions
+     * performance report.
+     */
+    public static synchronized void writeReport() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        final Map<String, Object> report = new TreeMap<>();
+        STATS.forEach((profile, stats) -> report.put(profile.name().toLowerCase(), stats.toMap()));
+        LOGGER.info("Interaction statistics: {}", report);
+        PerformanceReport.write("interactions", report);
+    }
+
+    /**
+     * Counters of the scenarios which ran with one profile.
+     */
+    private static final class ProfileStats {
+        private int scenarios;
+        private long protocolCalls;
+        private final Map<String, Integer> fallbacks = new TreeMap<>();
+        private final Map<String, Integer> callsByScenario = new TreeMap<>();
+
+        private Map<String, Object> toMap() {
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("scenarios", scenarios);
+            if (PlaywrightInstrumentation.getMode() != InstrumentationMode.OFF) {
+                stats.put("protocolCalls", protocolCalls);
+                stats.put("averageCallsPerScenario", scenarios == 0 ? 0 : protocolCalls / scenarios);
+                stats.put("callsByScenario", callsByScenario);
+            }
+            stats.put("fallbacks", fallbacks);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@code LatencyHistogram} records durations and answers percentiles
+ * over them. Durations are counted in microsecond buckets which are exact up to
+ * 64 µs and then grow with the value, 32 buckets for every power of two, so a
+ * percentile is off by at most about 3% while the histogram has a fixed size
+ * of a few kilobytes however many durations it records. Recording is lock free
+ * and can be done from any thread.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 42;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Method to record a duration.
+     *
+     * @param elapsedNanos: duration in nanoseconds
+     */
+    public void record(final long elapsedNanos) {
+        final long nanos = Math.max(0, elapsedNanos);
+        counts.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(nanos)));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Method to get the number of recorded durations.
+     *
+     * @return number of durations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Method to get the longest recorded duration, exactly.
+     *
+     * @return longest duration in nanoseconds, 0 if none was recorded
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Method to get the sum of the recorded durations.
+     *
+     * @return total duration in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Method to get the duration which the given share of the recorded durations
+     * does not exceed.
+     *
+     * @param percentile: share of the durations, between 0 and 100
+     * @return duration in nanoseconds, never more than the longest duration, 0
+     *         if none was recorded
+     */
+    public long percentileNanos(final double percentile) {
+        final long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(highestMicrosOf(bucket)), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Method to summarize the histogram for reports.
+     *
+     * @return count, p50, p95, p99, max, mean and total in milliseconds
+     */
+    public Map<String, Object> toMap() {
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        final long total = getCount();
+        summary.put("count", total);
+        summary.put("p50Millis", toMillis(percentileNanos(50)));
+        summary.put("p95Millis", toMillis(percentileNanos(95)));
+        summary.put("p99Millis", toMillis(percentileNanos(99)));
+        summary.put("maxMillis", toMillis(getMaxNanos()));
+        summary.put("meanMillis", toMillis(total == 0 ? 0 : getTotalNanos() / total));
+        summary.put("totalMillis", toMillis(getTotalNanos()));
+        return summary;
+    }
+
+    private static double toMillis(final long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+
+    /**
+     * Method to get the bucket of a duration. Durations below 2 * SUB_BUCKETS
+     * have a bucket each; above, every power of two is split into SUB_BUCKETS
+     * buckets of equal width.
+     */
+    private static int bucketOf(final long micros) {
+        if (micros < 2 * SUB_BUCKETS) {
+            return (int) micros;
+        }
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) Math.min(micros >>> shift, 2 * SUB_BUCKETS - 1);
+        return shift * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestMicrosOf(final int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long subBucket = bucket - shift * SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
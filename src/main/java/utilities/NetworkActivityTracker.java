@@ -0,0 +1,153 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.Logger;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+
+/**
+ * The class {@code NetworkActivityTracker} keeps track of the requests of a page
+ * which are in flight, based on the request, requestfinished and requestfailed
+ * events. A page is settled when none of the tracked requests is in flight and
+ * no new one started for the quiet time. Unlike network idle, it ignores
+ * requests which never finish (websockets, event streams) and requests filtered
+ * out by URL patterns, so long polling does not keep a page from being ready.
+ * <p>
+ * Playwright delivers page events on the thread which is inside a Playwright
+ * call, so {@link #waitForSettled(int)} waits with
+ * {@link Page#waitForCondition} to keep events flowing while it waits.
+ * <p>
+ * A tracker holds its page and is dropped when the page closes, which includes
+ * closing its context or browser.
+ */
+public final class NetworkActivityTracker {
+
+    private static final Logger LOGGER = Log.getLogger(NetworkActivityTracker.class);
+    private static final Map<Page, NetworkActivityTracker> TRACKERS = Collections.synchronizedMap(new HashMap<>());
+    private static final Set<String> UNTRACKED_RESOURCE_TYPES = Set.of("websocket", "eventsource");
+
+    private final Page page;
+    private final List<Pattern> allowPatterns = new ArrayList<>();
+    private final List<Pattern> denyPatterns = new ArrayList<>();
+    private final long quietTimeNanos;
+    private final Set<Request> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    private NetworkActivityTracker(final Page page, final List<String> allowGlobs, final List<String> denyGlobs,
+            final int quietTimeMs) {
+        this.page = page;
+        for (final String glob : allowGlobs) {
+            allowPatterns.add(ConvertUtils.globToPattern(glob));
+        }
+        for (final String glob : denyGlobs) {
+            denyPatterns.add(ConvertUtils.globToPattern(glob));
+        }
+        quietTimeNanos = TimeUnit.MILLISECONDS.toNanos(quietTimeMs);
+    }
+
+    /**
+     * Method to start tracking the network activity of a page.
+     *
+     * @param page:        Playwright Page object
+     * @param allowGlobs:  URL globs of requests to wait for, empty for all
+     * @param denyGlobs:   URL globs of requests never to wait for
+     * @param quietTimeMs: time no tracked request may start before the page is
+     *                     settled
+     * @return tracker attached to the page
+     */
+    public static NetworkActivityTracker attach(final Page page, final List<String> allowGlobs,
+            final List<String> denyGlobs, final int quietTimeMs) {
+        final NetworkActivityTracker tracker = new NetworkActivityTracker(page, allowGlobs, denyGlobs, quietTimeMs);
+        page.onRequest(tracker::requestStarted);
+        page.onRequestFinished(tracker::requestCompleted);
+        page.onRequestFailed(tracker::requestCompleted);
+        page.onClose(closedPage -> TRACKERS.remove(closedPage));
+        TRACKERS.put(PlaywrightInstrumentation.unwrap(page), tracker);
+        return tracker;
+    }
+
+    /**
+     * Method to get the tracker attached to a page.
+     *
+     * @param page: Playwright Page object
+     * @return tracker of the page, null if its network activity is not tracked
+     */
+    public static NetworkActivityTracker of(final Page page) {
+        return TRACKERS.get(PlaywrightInstrumentation.unwrap(page));
+    }
+
+    /**
+     * Method to wait until the page is settled.
+     *
+     * @param timeoutInMillis: maximum time to wait
+     * @throws com.microsoft.playwright.TimeoutError if tracked requests are still
+     *                                               in flight after the timeout
+     */
+    public void waitForSettled(final int timeoutInMillis) {
+        final long start = System.nanoTime();
+        page.waitForCondition(this::isSettled, new Page.WaitForConditionOptions().setTimeout(timeoutInMillis));
+        LOGGER.debug("Network settled after {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * If no tracked request is in flight and none started for the quiet time.
+     *
+     * @return true if the page is settled
+     */
+    public boolean isSettled() {
+        return inFlight.isEmpty() && System.nanoTime() - lastActivityNanos >= quietTimeNanos;
+    }
+
+    /**
+     * Method to get the number of tracked requests in flight.
+     *
+     * @return number of requests in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private void requestStarted(final Request request) {
+        if (isTracked(request)) {
+            inFlight.add(request);
+            lastActivityNanos = System.nanoTime();
+        }
+    }
+
+    private void requestCompleted(final Request request) {
+        if (inFlight.remove(request)) {
+            lastActivityNanos = System.nanoTime();
+        }
+    }
+
+    private boolean isTracked(final Request request) {
+        if (UNTRACKED_RESOURCE_TYPES.contains(request.resourceType())) {
+            return false;
+        }
+        final String url = request.url();
+        for (final Pattern denyPattern : denyPatterns) {
+            if (denyPattern.matcher(url).matches()) {
+                return false;
+            }
+        }
+        if (allowPatterns.isEmpty()) {
+            return true;
+        }
+        for (final Pattern allowPattern : allowPatterns) {
+            if (allowPattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
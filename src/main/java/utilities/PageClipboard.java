@@ -0,0 +1,91 @@
+package utilities;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+
+/**
+ * The class {@code PageClipboard} reads the text a page copied to the
+ * clipboard, from inside the page. The script {@code scripts/clipboard-capture.js}
+ * captures every copy of a document, so the clipboard of the operating system,
+ * which needs a display and is shared by all workers, is never used. Every page
+ * has its own clipboard, so parallel scenarios do not read each other's
+ * values.
+ *
+ * <pre>
+ * final PageClipboard clipboard = PageClipboard.of(page).clear();
+ * PlaywrightUtils.safeClick(copyButton);
+ * final String copied = clipboard.awaitText(5000);
+ * </pre>
+ */
+public final class PageClipboard {
+
+    /**
+     * File name of the capture script in the scripts directory of the
+     * classpath.
+     */
+    public static final String CAPTURE_SCRIPT = "clipboard-capture.js";
+    private static final String TEXT_EXPRESSION = "() => window.__pageClipboard ? window.__pageClipboard.text() : null";
+
+    private final Page page;
+
+    private PageClipboard(final Page page) {
+        this.page = page;
+    }
+
+    /**
+     * Method to install the capture in every document of a browser context.
+     *
+     * @param browserContext: context whose pages copy text
+     */
+    public static void install(final BrowserContext browserContext) {
+        browserContext.addInitScript(ScriptResources.get(CAPTURE_SCRIPT));
+    }
+
+    /**
+     * Method to get the clipboard of a page.
+     *
+     * @param page: Playwright Page object
+     * @return clipboard of the page
+     */
+    public static PageClipboard of(final Page page) {
+        return new PageClipboard(page);
+    }
+
+    /**
+     * Method to forget the text copied so far, so that {@link #awaitText(long)}
+     * waits for the next copy. The capture is installed first in documents
+     * created before {@link #install(BrowserContext)}.
+     *
+     * @return Object of this class
+     */
+    public PageClipboard clear() {
+        page.evaluate("script => { if (!window.__pageClipboard) { (0, eval)(script); } "
+                + "window.__pageClipboard.clear(); }", ScriptResources.get(CAPTURE_SCRIPT));
+        return this;
+    }
+
+    /**
+     * Method to get the text the page copied last.
+     *
+     * @return copied text, null if the page did not copy any text
+     */
+    public String readText() {
+        return (String) page.evaluate(TEXT_EXPRESSION);
+    }
+
+    /**
+     * Method to wait until the page copied text and get it.
+     *
+     * @param timeoutInMillis: maximum time to wait
+     * @return copied text
+     * @throws TimeoutError if the page did not copy any text within the timeout
+     */
+    public String awaitText(final long timeoutInMillis) {
+        if (!WaitUtils.untilFunction(page, "() => window.__pageClipboard && window.__pageClipboard.text() !== null",
+                null, timeoutInMillis)) {
+            throw new TimeoutError(String.format("The page did not copy any text within %d ms", timeoutInMillis));
+        }
+        return readText();
+    }
+}
@@ -0,0 +1,290 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.logging.log4j.Logger;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * The class {@code PerformanceBudget} checks how long user-facing actions take
+ * against their budgets, so that latency regressions fail a scenario like
+ * functional ones. A page object starts a timed action with
+ * {@link #markClick(Page, String, Runnable)}, e.g. the click which opens a page,
+ * and the step checking the budget measures the time until the readiness signal
+ * of the action with {@link #elapsedMillis(String, long)}, e.g. the title of the
+ * page or the toast confirming it.
+ * <p>
+ * The readiness signals are timed by the clock of the browser, so the start is
+ * too: the clock of {@code scripts/action-clock.js} records the browser time of
+ * the click when it is dispatched to the page. Only a click which replaced the
+ * document, and so lost the clock, falls back to the clock of the JVM before
+ * the click. Every checked budget is kept for the scenario and written to the
+ * budgets performance report at the end of the run, as JSON and as an HTML
+ * page.
+ */
+public final class PerformanceBudget {
+
+    private static final Logger LOGGER = Log.getLogger(PerformanceBudget.class);
+    private static final Queue<Result> RESULTS = new ConcurrentLinkedQueue<>();
+    private static final String CLOCK_SCRIPT = "action-clock.js";
+    private static final String RESET_EXPRESSION = "() => { if (window.__actionClock) "
+            + "window.__actionClock.lastClickAt = null; }";
+    private static final String CLICKED_AT_EXPRESSION = "() => window.__actionClock "
+            + "? window.__actionClock.lastClickAt : null";
+
+    private PerformanceBudget() {
+    }
+
+    /**
+     * Method to install the click clock in every document of a browser context.
+     *
+     * @param browserContext: context whose pages run timed actions
+     */
+    public static void install(final BrowserContext browserContext) {
+        browserContext.addInitScript(ScriptResources.get(CLOCK_SCRIPT));
+    }
+
+    /**
+     * Method to run the click which starts a timed action in the scenario
+     * running on the current thread, and mark the action as started when the
+     * browser received the click. A later start of the same action replaces it.
+     *
+     * @param page:   Playwright Page object the click goes to
+     * @param action: name of the action
+     * @param click:  click starting the action
+     */
+    public static void markClick(final Page page, final String action, final Runnable click) {
+        evaluateClock(page, RESET_EXPRESSION);
+        final long beforeClick = System.currentTimeMillis();
+        click.run();
+        final Object clickedAt = evaluateClock(page, CLICKED_AT_EXPRESSION);
+        if (clickedAt instanceof Number) {
+            ScenarioScope.current().actionStarts().put(action, ((Number) clickedAt).longValue());
+        } else {
+            LOGGER.debug("No browser time of the click starting {}, using the time before the click", action);
+            ScenarioScope.current().actionStarts().put(action, beforeClick);
+        }
+    }
+
+    private static Object evaluateClock(final Page page, final String expression) {
+        try {
+            return page.evaluate(expression);
+        } catch (PlaywrightException e) {
+            // The click replaced the document
+            return null;
+        }
+    }
+
+    /**
+     * Method to get when an action last started in the scenario running on the
+     * current thread.
+     *
+     * @param action: name of the action
+     * @return epoch time in milliseconds
+     * @throws IllegalStateException if the action was not started in the
+     *                               scenario
+     */
+    public static long startedAt(final String action) {
+        final Long start = ScenarioScope.current().actionStarts().get(action);
+        if (start == null) {
+            throw new IllegalStateException(
+                    String.format("The timed action %s was not started in this scenario", action));
+        }
+        return start;
+    }
+
+    /**
+     * Method to get how long an action took until its readiness signal.
+     *
+     * @param action:         name of the action
+     * @param endEpochMillis: epoch time in milliseconds the signal was observed
+     * @return elapsed time in milliseconds
+     * @throws IllegalStateException if the action was not started in the
+     *                               scenario
+     */
+    public static long elapsedMillis(final String action, final long endEpochMillis) {
+        return Math.max(0, endEpochMillis - startedAt(action));
+    }
+
+    /**
+     * Method to check the elapsed time of an action against its budget and
+     * record the result for the scenario and the report.
+     *
+     * @param budgetName:    name of the budget
+     * @param budgetMillis:  budget in milliseconds
+     * @param elapsedMillis: time the action took in milliseconds
+     * @return result of the check
+     */
+    public static Result check(final String budgetName, final long budgetMillis, final long elapsedMillis) {
+        final ScenarioScope scope = ScenarioScope.current();
+        final Result result = new Result(budgetName, budgetMillis, elapsedMillis, scope.getScenarioName());
+        scope.budgetResults().add(result);
+        RESULTS.add(result);
+        if (result.isWithinBudget()) {
+            LOGGER.info(result.describe());
+        } else {
+            LOGGER.warn(result.describe());
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the budgets checked in the scenario running on the current
+     * thread.
+     *
+     * @return budget results, in the order they were checked
+     */
+    public static List<Result> scenarioResults() {
+        return new ArrayList<>(ScenarioScope.current().budgetResults());
+    }
+
+    /**
+     * Method to summarize the budgets checked in the run, for the main page of
+     * the cucumber report.
+     *
+     * @return summary, null if no budget was checked
+     */
+    public static String summary() {
+        final List<Result> results = new ArrayList<>(RESULTS);
+        if (results.isEmpty()) {
+            return null;
+        }
+        final long exceeded = results.stream().filter(result -> !result.isWithinBudget()).count();
+        return String.format("%d checked, %d exceeded", results.size(), exceeded);
+    }
+
+    /**
+     * Method to write the checked budgets to the budgets performance report, as
+     * JSON and as an HTML page with the exceeded budgets first.
+     */
+    public static void writeReport() {
+        final List<Result> results = new ArrayList<>(RESULTS);
+        if (results.isEmpty()) {
+            return;
+        }
+        results.sort((first, second) -> Boolean.compare(first.isWithinBudget(), second.isWithinBudget()));
+        final List<Map<String, Object>> report = new ArrayList<>();
+        final StringBuilder rows = new StringBuilder();
+        for (final Result result : results) {
+            report.add(result.toMap());
+            rows.append(String.format(
+                    "<tr class=\"%s\"><td>%s</td><td>%s</td><td>%d</td><td>%d</td><td>%s</td></tr>%n",
+                    result.isWithinBudget() ? "passed" : "failed", escapeHtml(result.getScenarioName()),
+                    escapeHtml(result.getBudgetName()), result.getElapsedMillis(), result.getBudgetMillis(),
+                    result.isWithinBudget() ? "within budget" : "exceeded"));
+        }
+        LOGGER.info("Performance budgets: {}", summary());
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("summary", summary());
+        data.put("budgets", report);
+        PerformanceReport.write("budgets", data);
+        PerformanceReport.writeText("budgets.html", String.format("<!DOCTYPE html>%n<html>%n<head>%n"
+                + "<meta charset=\"utf-8\">%n<title>Performance budgets</title>%n<style>%n"
+                + "body { font-family: sans-serif; } table { border-collapse: collapse; }%n"
+                + "th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: left; }%n"
+                + "tr.passed td:last-child { color: #2e7d32; } tr.failed td:last-child { color: #c62828; }%n"
+                + "</style>%n</head>%n<body>%n<h1>Performance budgets</h1>%n<p>%s</p>%n<table>%n"
+                + "<tr><th>Scenario</th><th>Budget</th><th>Elapsed ms</th><th>Budget ms</th><th>Result</th></tr>%n"
+                + "%s</table>%n</body>%n</html>%n", summary(), rows));
+    }
+
+    private static String escapeHtml(final String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * Elapsed time of an action checked against its budget.
+     */
+    public static final class Result {
+        private final String budgetName;
+        private final long budgetMillis;
+        private final long elapsedMillis;
+        private final String scenarioName;
+
+        private Result(final String budgetName, final long budgetMillis, final long elapsedMillis,
+                final String scenarioName) {
+            this.budgetName = budgetName;
+            this.budgetMillis = budgetMillis;
+            this.elapsedMillis = elapsedMillis;
+            this.scenarioName = scenarioName;
+        }
+
+        /**
+         * Method to get the name of the budget.
+         *
+         * @return budget name
+         */
+        public String getBudgetName() {
+            return budgetName;
+        }
+
+        /**
+         * Method to get the budget of the action.
+         *
+         * @return budget in milliseconds
+         */
+        public long getBudgetMillis() {
+            return budgetMillis;
+        }
+
+        /**
+         * Method to get how long the action took.
+         *
+         * @return elapsed time in milliseconds
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Method to get the name of the scenario the budget was checked in.
+         *
+         * @return scenario name
+         */
+        public String getScenarioName() {
+            return scenarioName;
+        }
+
+        /**
+         * If the action took no longer than its budget.
+         *
+         * @return true if the budget was kept
+         */
+        public boolean isWithinBudget() {
+            return elapsedMillis <= budgetMillis;
+        }
+
+        /**
+         * Method to describe the result, for logs and assertion messages.
+         *
+         * @return description of the result
+         */
+        public String describe() {
+            return String.format("%s took %d ms, budget %d ms%s", budgetName, elapsedMillis, budgetMillis,
+                    isWithinBudget() ? "" : String.format(" (exceeded by %d ms)", elapsedMillis - budgetMillis));
+        }
+
+        private Map<String, Object> toMap() {
+            final Map<String, Object> result = new LinkedHashMap<>();
+            result.put("scenario", scenarioName);
+            result.put("budget", budgetName);
+            result.put("elapsedMillis", elapsedMillis);
+            result.put("budgetMillis", budgetMillis);
+            result.put("withinBudget", isWithinBudget());
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return describe();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The class {@code PerformanceReport} writes the performance counters collected
+ * during a run as JSON files next to the cucumber reports, so CI can archive
+ * and compare them between runs.
+ */
+public final class PerformanceReport {
+
+    private static final Logger LOGGER = Log.getLogger(PerformanceReport.class);
+    private static final String REPORT_DIRECTORY = "target/reports/performance";
+
+    private PerformanceReport() {
+    }
+
+    /**
+     * Method to write a performance report.
+     * 
+     * @param name: report name, used as the file name
+     * @param data: report content
+     * @return written report file, null if it could not be written
+     */
+    public static File write(final String name, final Map<String, Object> data) {
+        final File reportFile = new File(REPORT_DIRECTORY, name + ".json");
+        try {
+            reportFile.getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, data);
+            LOGGER.info("Performance report written to {}", reportFile.getPath());
+            return reportFile;
+        } catch (IOException e) {
+            LOGGER.warn("Could not write performance report {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Method to write a performance report in a text format, e.g. for metrics
+     * scrapers.
+     * 
+     * @param fileName: file name of the report, with its extension
+     * @param content:  report content
+     * @return written report file, null if it could not be written
+     */
+    public static File writeText(final String fileName, final String content) {
+        final File reportFile = new File(REPORT_DIRECTORY, fileName);
+        try {
+            reportFile.getParentFile().mkdirs();
+            Files.writeString(reportFile.toPath(), content, StandardCharsets.UTF_8);
+            LOGGER.info("Performance report written to {}", reportFile.getPath());
+            return reportFile;
+        } catch (IOException e) {
+            LOGGER.warn("Could not write performance report {}: {}", fileName, e.getMessage());
+            return null;
+        }
+    }
+}
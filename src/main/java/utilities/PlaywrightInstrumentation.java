@@ -0,0 +1,368 @@
+package utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import enums.InstrumentationMode;
+
+/**
+ * The class {@code PlaywrightInstrumentation} records the Playwright calls made
+ * through the page handed out by the PlaywrightManager, and through every
+ * locator created from it. Calls which go to the browser are counted per step,
+ * per scenario and per method, e.g. {@code Locator.click}, which shows the page
+ * objects and steps making the most round trips. Calls which only build a
+ * locator or register a listener are not counted. The calls of a scenario are
+ * also counted in its {@link ScenarioScope}, for the comparison of the
+ * interaction profiles by {@link InteractionStats}.
+ * <p>
+ * How much is recorded depends on the {@link InstrumentationMode}: COUNTERS
+ * only counts calls and failures, FULL also times every call and writes it
+ * with its method, selector, duration and outcome to
+ * {@code playwright-calls.jsonl} in the performance reports directory when the
+ * scenario ends. When instrumentation is OFF the page is not wrapped at all.
+ * <p>
+ * Playwright casts pages and locators passed to its own API to its
+ * implementation, so a wrapped page or locator must be passed through
+ * {@link #unwrap(Page)} or {@link #unwrap(Locator)} first; arguments of calls
+ * on wrapped objects are unwrapped automatically. Registries keyed by page key
+ * by the unwrapped page, since Playwright hands the unwrapped page to event
+ * listeners.
+ */
+public final class PlaywrightInstrumentation {
+
+    private static final Logger LOGGER = Log.getLogger(PlaywrightInstrumentation.class);
+    private static final String CALLS_FILE = "target/reports/performance/playwright-calls.jsonl";
+    private static final String OUTSIDE_SCENARIO = "(outside scenario)";
+    private static final String BETWEEN_STEPS = "(between steps)";
+    private static final Set<String> LOCAL_PAGE_METHODS = Set.of("locator", "getByAltText", "getByLabel",
+            "getByPlaceholder", "getByRole", "getByTestId", "getByText", "getByTitle", "frameLocator", "context",
+            "url", "isClosed", "mainFrame", "frames", "frame", "keyboard", "mouse", "touchscreen", "request",
+            "viewportSize", "video", "waitForCondition", "toString", "hashCode", "equals");
+    private static final Set<String> LOCAL_LOCATOR_METHODS = Set.of("locator", "first", "last", "nth", "filter",
+            "and", "or", "getByAltText", "getByLabel", "getByPlaceholder", "getByRole", "getByTestId", "getByText",
+            "getByTitle", "frameLocator", "page", "toString", "hashCode", "equals");
+    private static final Set<String> PAGE_SELECTOR_METHODS = Set.of("waitForSelector", "querySelector",
+            "querySelectorAll", "click", "fill", "hover", "isVisible", "textContent");
+    private static final Pattern LISTENER_METHOD = Pattern.compile("(on|off)[A-Z].*");
+    private static final Map<String, CallStats> BY_STEP = new ConcurrentHashMap<>();
+    private static final Map<String, CallStats> BY_SCENARIO = new ConcurrentHashMap<>();
+    private static final Map<String, CallStats> BY_METHOD = new ConcurrentHashMap<>();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static volatile InstrumentationMode mode = InstrumentationMode.OFF;
+    private static boolean callsFileStarted;
+
+    private PlaywrightInstrumentation() {
+    }
+
+    /**
+     * Method to set how calls of pages wrapped from now on are recorded.
+     *
+     * @param mode: instrumentation mode
+     */
+    public static void setMode(final InstrumentationMode mode) {
+        PlaywrightInstrumentation.mode = mode;
+    }
+
+    /**
+     * Method to get how calls are recorded.
+     *
+     * @return instrumentation mode
+     */
+    public static InstrumentationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Method to wrap a page so that its calls, and the calls of the locators
+     * created from it, are recorded.
+     *
+     * @param page: Playwright Page object
+     * @return instrumented page, the page itself if instrumentation is off
+     */
+    public static Page wrap(final Page page) {
+        if (mode == InstrumentationMode.OFF || page == null || unwrap(page) != page) {
+            return page;
+        }
+        return (Page) Proxy.newProxyInstance(Page.class.getClassLoader(), new Class<?>[] { Page.class },
+                new CallHandler(page, "Page", LOCAL_PAGE_METHODS));
+    }
+
+    private static Locator wrap(final Locator locator) {
+        return (Locator) Proxy.newProxyInstance(Locator.class.getClassLoader(), new Class<?>[] { Locator.class },
+                new CallHandler(locator, "Locator", LOCAL_LOCATOR_METHODS));
+    }
+
+    /**
+     * Method to get the Playwright page behind an instrumented page.
+     *
+     * @param page: page which may be instrumented
+     * @return unwrapped page
+     */
+    public static Page unwrap(final Page page) {
+        return (Page) unwrapTarget(page);
+    }
+
+    /**
+     * Method to get the Playwright locator behind an instrumented locator.
+     *
+     * @param locator: locator which may be instrumented
+     * @return unwrapped locator
+     */
+    public static Locator unwrap(final Locator locator) {
+        return (Locator) unwrapTarget(locator);
+    }
+
+    private static Object unwrapTarget(final Object wrapped) {
+        if (wrapped != null && Proxy.isProxyClass(wrapped.getClass())
+                && Proxy.getInvocationHandler(wrapped) instanceof CallHandler) {
+            return ((CallHandler) Proxy.getInvocationHandler(wrapped)).target;
+        }
+        return wrapped;
+    }
+
+    /**
+     * Method to unwrap the pages and locators among the arguments of a call, so
+     * they can be passed to Playwright.
+     *
+     * @param args: arguments of the call, may be null
+     * @return arguments with every page and locator unwrapped
+     */
+    static Object[] unwrapArgs(final Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        final Object[] unwrapped = args.clone();
+        for (int i = 0; i < unwrapped.length; i++) {
+            if (unwrapped[i] instanceof Locator) {
+                unwrapped[i] = SelectorProfiler.unwrap((Locator) unwrapped[i]);
+            } else if (unwrapped[i] instanceof Page) {
+                unwrapped[i] = unwrap((Page) unwrapped[i]);
+            } else if (unwrapped[i] instanceof Locator.FilterOptions) {
+                final Locator.FilterOptions options = (Locator.FilterOptions) unwrapped[i];
+                options.has = SelectorProfiler.unwrap(options.has);
+                options.hasNot = SelectorProfiler.unwrap(options.hasNot);
+            } else if (unwrapped[i] instanceof Locator.LocatorOptions) {
+                final Locator.LocatorOptions options = (Locator.LocatorOptions) unwrapped[i];
+                options.has = SelectorProfiler.unwrap(options.has);
+                options.hasNot = SelectorProfiler.unwrap(options.hasNot);
+            } else if (unwrapped[i] instanceof Page.LocatorOptions) {
+                final Page.LocatorOptions options = (Page.LocatorOptions) unwrapped[i];
+                options.has = SelectorProfiler.unwrap(options.has);
+                options.hasNot = SelectorProfiler.unwrap(options.hasNot);
+            }
+        }
+        return unwrapped;
+    }
+
+    /**
+     * Method to write the calls recorded in the full mode for a scenario which
+     * ended.
+     *
+     * @param scope: scope of the scenario
+     */
+    static void flush(final ScenarioScope scope) {
+        final List<Map<String, Object>> records = scope.callRecords();
+        if (records.isEmpty()) {
+            return;
+        }
+        synchronized (PlaywrightInstrumentation.class) {
+            final File callsFile = new File(CALLS_FILE);
+            callsFile.getParentFile().mkdirs();
+            // The first scenario of the run starts a new file
+            final StandardOpenOption openOption = callsFileStarted ? StandardOpenOption.APPEND
+                    : StandardOpenOption.TRUNCATE_EXISTING;
+            try (Writer writer = Files.newBufferedWriter(callsFile.toPath(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, openOption)) {
+                for (final Map<String, Object> record : records) {
+                    final Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("scenario", scope.getScenarioName());
+                    line.putAll(record);
+                    writer.write(OBJECT_MAPPER.writeValueAsString(line));
+                    writer.write(System.lineSeparator());
+                }
+                callsFileStarted = true;
+            } catch (IOException e) {
+                LOGGER.warn("Could not write Playwright calls to {}: {}", CALLS_FILE, e.getMessage());
+            }
+        }
+        records.clear();
+    }
+
+    /**
+     * Method to log the calls per step and write the calls per step, scenario
+     * and method to the playwright-calls performance report, most calls first.
+     */
+    public static void writeReport() {
+        if (BY_METHOD.isEmpty()) {
+            return;
+        }
+        final boolean timed = mode == InstrumentationMode.FULL;
+        final List<Map<String, Object>> steps = rows("step", BY_STEP, timed);
+        final StringBuilder table = new StringBuilder(String.format("%n%-60s %7s %8s %9s", "step", "calls",
+                "failures", "totalMs"));
+        for (final Map<String, Object> step : steps) {
+            table.append(String.format("%n%-60s %7d %8d %9s", step.get("step"), step.get("calls"),
+                    step.get("failures"), step.getOrDefault("totalMillis", "-")));
+        }
+        LOGGER.info("Playwright calls per step, most first:{}", table);
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("mode", mode.name().toLowerCase());
+        data.put("steps", steps);
+        data.put("scenarios", rows("scenario", BY_SCENARIO, timed));
+        data.put("methods", rows("method", BY_METHOD, timed));
+        PerformanceReport.write("playwright-calls", data);
+    }
+
+    private static List<Map<String, Object>> rows(final String key, final Map<String, CallStats> stats,
+            final boolean timed) {
+        final List<Map.Entry<String, CallStats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, CallStats> entry) -> entry.getValue().calls.sum())
+                .reversed().thenComparing(Map.Entry::getKey));
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        for (final Map.Entry<String, CallStats> entry : entries) {
+            final Map<String, Object> row = new LinkedHashMap<>();
+            row.put(key, entry.getKey());
+            row.putAll(entry.getValue().toMap(timed));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Records the calls of a page or locator which go to the browser.
+     */
+    private static final class CallHandler implements InvocationHandler {
+        private final Object target;
+        private final String type;
+        private final Set<String> localMethods;
+
+        private CallHandler(final Object target, final String type, final Set<String> localMethods) {
+            this.target = target;
+            this.type = type;
+            this.localMethods = localMethods;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final Object[] targetArgs = unwrapArgs(args);
+            final String name = method.getName();
+            if (localMethods.contains(name) || LISTENER_METHOD.matcher(name).matches()) {
+                return wrapResult(call(method, targetArgs));
+            }
+            final InstrumentationMode currentMode = mode;
+            final long start = currentMode == InstrumentationMode.FULL ? System.nanoTime() : 0;
+            try {
+                final Object result = call(method, targetArgs);
+                record(currentMode, name, args, start, null);
+                return wrapResult(result);
+            } catch (RuntimeException e) {
+                record(currentMode, name, args, start, e);
+                throw e;
+            }
+        }
+
+        private Object call(final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static Object wrapResult(final Object result) {
+            return result instanceof Locator ? wrap((Locator) result) : result;
+        }
+
+        private void record(final InstrumentationMode currentMode, final String name, final Object[] args,
+                final long startNanos, final RuntimeException failure) {
+            final ScenarioScope scope = ScenarioScope.current();
+            final String scenario = scope.isScenario() ? scope.getScenarioName() : OUTSIDE_SCENARIO;
+            final String step = !scope.isScenario() ? OUTSIDE_SCENARIO
+                    : scope.getStepName() == null ? BETWEEN_STEPS : scope.getStepName();
+            final String methodName = type + "." + name;
+            final long elapsedNanos = currentMode == InstrumentationMode.FULL ? System.nanoTime() - startNanos : 0;
+            final boolean failed = failure != null;
+            BY_STEP.computeIfAbsent(step, key -> new CallStats()).add(elapsedNanos, failed);
+            BY_SCENARIO.computeIfAbsent(scenario, key -> new CallStats()).add(elapsedNanos, failed);
+            BY_METHOD.computeIfAbsent(methodName, key -> new CallStats()).add(elapsedNanos, failed);
+            if (scope.isScenario()) {
+                scope.countProtocolCall();
+            }
+            if (currentMode == InstrumentationMode.FULL && scope.isScenario()) {
+                final Map<String, Object> callRecord = new LinkedHashMap<>();
+                callRecord.put("step", step);
+                callRecord.put("method", methodName);
+                callRecord.put("selector", selectorOf(name, args));
+                callRecord.put("durationMillis", TimeUnit.NANOSECONDS.toMicros(elapsedNanos) / 1000.0);
+                callRecord.put("outcome", failed ? failure.getClass().getSimpleName() : "ok");
+                scope.callRecords().add(callRecord);
+            }
+        }
+
+        private String selectorOf(final String name, final Object[] args) {
+            if (target instanceof Locator) {
+                return target.toString().replaceFirst("^Locator@", "");
+            }
+            if (PAGE_SELECTOR_METHODS.contains(name) && args != null && args.length > 0
+                    && args[0] instanceof String) {
+                return (String) args[0];
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Calls, failures and time of one step, scenario or method.
+     */
+    private static final class CallStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void add(final long elapsedNanos, final boolean failed) {
+            calls.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        private Map<String, Object> toMap(final boolean timed) {
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("calls", calls.sum());
+            stats.put("failures", failures.sum());
+            if (timed) {
+                stats.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+                stats.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            }
+            return stats;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.WaitForSelectorState;
 
+import enums.InteractionProfile;
+
 /**
  * The class {@link PlaywrightUtils} includes essential utility methods for interacting with web
  * elements using Playwright.
@@ -17,6 +19,16 @@ public final class PlaywrightUtils {
     private PlaywrightUtils() {
     }
 
+    /**
+     * Method to get the default timeout within the timeout budget of the
+     * scenario.
+     *
+     * @return default timeout in milliseconds
+     */
+    private static long defaultTimeout() {
+        return WaitUtils.budgeted(DEFAULT_TIMEOUT * 1000);
+    }
+
     /**
      * Method to wait until page is loaded completely with default timeout
      * 
@@ -34,16 +46,43 @@ public final class PlaywrightUtils {
      */
     public static void untilPageLoadComplete(final Page page, final int timeoutInSeconds) {
         try {
-            page.waitForLoadState(LoadState.DOMCONTENTLOADED, 
-                    new Page.WaitForLoadStateOptions().setTimeout(timeoutInSeconds * 1000));
-            page.waitForLoadState(LoadState.NETWORKIDLE, 
-                    new Page.WaitForLoadStateOptions().setTimeout(timeoutInSeconds * 1000));
+            waitForPageReady(page, timeoutInSeconds);
             LOGGER.info("Page loaded successfully!!!");
         } catch (TimeoutError e) {
             LOGGER.info("Page loading timed out.");
         }
     }
 
+    /**
+     * Method to wait until the DOM of the page is loaded and its network activity
+     * is settled. Pages with a {@link NetworkActivityTracker} wait for their
+     * tracked requests only, other pages wait for network idle. Both steps share
+     * one deadline within the timeout budget of the scenario.
+     * 
+     * @param page:             Playwright Page object
+     * @param timeoutInSeconds: time to wait until page is ready
+     * @throws TimeoutError if the page is not ready within the timeout
+     */
+    public static void waitForPageReady(final Page page, final int timeoutInSeconds) {
+        final long start = System.nanoTime();
+        final Deadline deadline = Deadline.after(WaitUtils.budgeted(timeoutInSeconds * 1000L));
+        boolean ready = false;
+        try {
+            page.waitForLoadState(LoadState.DOMCONTENTLOADED,
+                    new Page.WaitForLoadStateOptions().setTimeout(Math.max(1, deadline.remainingMillis())));
+            final NetworkActivityTracker tracker = NetworkActivityTracker.of(page);
+            if (tracker != null) {
+                tracker.waitForSettled((int) Math.max(1, deadline.remainingMillis()));
+            } else {
+                page.waitForLoadState(LoadState.NETWORKIDLE,
+                        new Page.WaitForLoadStateOptions().setTimeout(Math.max(1, deadline.remainingMillis())));
+            }
+            ready = true;
+        } finally {
+            WaitUtils.record("waitForPageReady", start, ready);
+        }
+    }
+
     /**
      * Method to check if an element is visible.
      * 
@@ -87,41 +126,11 @@ public final class PlaywrightUtils {
      * @param timeoutInSecs: Timeout in seconds
      */
     public static void waitUntilTextMatches(final Locator locator, final String text, final int timeoutInSecs) {
-        try {
-            // First make sure the element exists by waiting for it
-            locator.waitFor(new Locator.WaitForOptions().setTimeout(timeoutInSecs * 1000));
-            
-            // Get the element handle from the locator
-            ElementHandle elementHandle = locator.elementHandle();
-            if (elementHandle == null) {
-                LOGGER.error("Failed to get element handle for locator");
-                return;
-            }
-            
-            // Escape single quotes in text
-            String escapedText = text.replace("'", "\\'");
-            
-            // Use the elementHandle for the JavaScript function
-            Page page = locator.page();
-            page.waitForFunction(
-                "element => element.textContent.trim() === '" + escapedText + "'",
-                elementHandle,
-                new Page.WaitForFunctionOptions().setTimeout(timeoutInSecs * 1000)
-            );
-            
+        if (WaitUtils.untilTextEquals(locator, text, timeoutInSecs * 1000L)) {
             LOGGER.info("Text matched: '{}'", text);
-        } catch (TimeoutError e) {
-            // Get actual text for logging
-            String actualText = "";
-            try {
-                actualText = locator.textContent().trim();
-            } catch (Exception ex) {
-                LOGGER.error("Could not get actual text: {}", ex.getMessage());
-            }
+        } else {
             LOGGER.error("Text did not match within timeout period. Expected: '{}', Actual: '{}'", 
-                    text, actualText);
-        } catch (PlaywrightException e) {
-            LOGGER.error("Error during text matching: {}", e.getMessage());
+                    text, actualText(locator));
         }
     }
 
@@ -133,47 +142,32 @@ public final class PlaywrightUtils {
      * @param timeoutInSecs: Timeout in seconds
      */
     public static void waitUntilTextContains(final Locator locator, final String substring, final int timeoutInSecs) {
-        try {
-            // First make sure the element exists by waiting for it
-            locator.waitFor(new Locator.WaitForOptions().setTimeout(timeoutInSecs * 1000));
-            
-            // Get the element handle from the locator
-            ElementHandle elementHandle = locator.elementHandle();
-            if (elementHandle == null) {
-                LOGGER.error("Failed to get element handle for locator");
-                return;
-            }
-            
-            // Escape single quotes in substring
-            String escapedText = substring.replace("'", "\\'");
-            
-            // Use the elementHandle for the JavaScript function
-            Page page = locator.page();
-            page.waitForFunction(
-                "element => element.textContent.includes('" + escapedText + "')",
-                elementHandle,
-                new Page.WaitForFunctionOptions().setTimeout(timeoutInSecs * 1000)
-            );
-            
+        if (WaitUtils.untilTextContains(locator, substring, timeoutInSecs * 1000L)) {
             LOGGER.info("Text contains: '{}'", substring);
-        } catch (TimeoutError e) {
-            // Get actual text for logging
-            String actualText = "";
-            try {
-                actualText = locator.textContent().trim();
-            } catch (Exception ex) {
-                LOGGER.error("Could not get actual text: {}", ex.getMessage());
-            }
+        } else {
             LOGGER.error("Text does not contain expected substring within timeout period. Expected to contain: '{}', Actual: '{}'", 
-                    substring, actualText);
-        } catch (PlaywrightException e) {
-            LOGGER.error("Error during text contains check: {}", e.getMessage());
+                    substring, actualText(locator));
         }
     }
 
     /**
-     * Simpler alternative to waitUntilTextMatches that doesn't use JavaScript
-     * Can be used as a fallback if the main method has issues
+     * Method to get the text of an element for logging, without waiting for it.
+     * 
+     * @param locator: Playwright Locator object
+     * @return trimmed text of the element, empty if it could not be read
+     */
+    private static String actualText(final Locator locator) {
+        try {
+            return isPresent(locator) ? locator.first().textContent().trim() : "";
+        } catch (Exception ex) {
+            LOGGER.error("Could not get actual text: {}", ex.getMessage());
+            return "";
+        }
+    }
+
+    /**
+     * Alternative to waitUntilTextMatches which reports the outcome instead of
+     * logging it.
      * 
      * @param locator Playwright Locator object
      * @param expectedText Text to match
@@ -181,37 +175,13 @@ public final class PlaywrightUtils {
      * @return true if text matches, false otherwise
      */
     public static boolean waitForTextSimple(final Locator locator, final String expectedText, final int timeoutInSecs) {
-        try {
-            long endTime = System.currentTimeMillis() + (timeoutInSecs * 1000);
-            
-            // First wait for the element to exist
-            locator.waitFor(new Locator.WaitForOptions().setTimeout(timeoutInSecs * 1000));
-            
-            // Then poll until text matches or timeout
-            while (System.currentTimeMillis() < endTime) {
-                String actualText = locator.textContent().trim();
-                if (expectedText.equals(actualText)) {
-                    LOGGER.info("Text matched using simple method: '{}'", expectedText);
-                    return true;
-                }
-                // Sleep briefly between checks
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return false;
-                }
-            }
-            
-            // Log timeout
-            String actualText = locator.textContent().trim();
-            LOGGER.error("Text did not match within timeout period (simple method). Expected: '{}', Actual: '{}'", 
-                    expectedText, actualText);
-            return false;
-        } catch (Exception e) {
-            LOGGER.error("Error in waitForTextSimple: {}", e.getMessage());
-            return false;
+        if (WaitUtils.untilTextEquals(locator, expectedText, timeoutInSecs * 1000L)) {
+            LOGGER.info("Text matched using simple method: '{}'", expectedText);
+            return true;
         }
+        LOGGER.error("Text did not match within timeout period (simple method). Expected: '{}', Actual: '{}'", 
+                expectedText, actualText(locator));
+        return false;
     }
 
     /**
@@ -276,7 +246,7 @@ public final class PlaywrightUtils {
     }
     
     /**
-     * Method to hover and then click with a small delay between operations.
+     * Method to hover and then click once the hover effects are rendered.
      * Useful for menus that require hover to activate.
      * 
      * @param locator Playwright Locator object
@@ -289,12 +259,8 @@ public final class PlaywrightUtils {
             // Then hover over it
             locator.hover();
             
-            // Small delay to let any hover effects take place
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // Let any hover effects render before clicking
+            WaitUtils.untilAnimationFrames(locator.page(), 2);
             
             // Then click with JavaScript
             clickWithJavaScript(locator);
@@ -308,45 +274,28 @@ public final class PlaywrightUtils {
     
     /**
      * Method to retry an operation multiple times with increasing delays.
-     * Useful for flaky operations that might succeed on retry.
+     * Useful for flaky operations that might succeed on retry. Only Playwright
+     * failures are retried; the failure of the last attempt is logged with its
+     * cause.
      * 
      * @param operation The operation to retry
      * @param maxAttempts Maximum number of attempts
      * @param initialDelayMs Initial delay in milliseconds
      * @return true if operation succeeded, false if all attempts failed
+     * @deprecated use {@link Retry#run(String, RetryPolicy, Runnable)}, which
+     *             names the call site and throws the root cause
      */
+    @Deprecated
     public static boolean retry(Runnable operation, int maxAttempts, int initialDelayMs) {
-        int attempt = 0;
-        int delay = initialDelayMs;
-        
-        while (attempt < maxAttempts) {
-            try {
-                operation.run();
-                LOGGER.info("Operation succeeded on attempt {}", attempt + 1);
-                return true;
-            } catch (Exception e) {
-                attempt++;
-                LOGGER.warn("Attempt {} failed: {}. Retrying in {}ms", 
-                        attempt, e.getMessage(), delay);
-                
-                if (attempt >= maxAttempts) {
-                    LOGGER.error("All {} attempts failed", maxAttempts);
-                    return false;
-                }
-                
-                try {
-                    Thread.sleep(delay);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return false;
-                }
-                
-                // Increase delay for next attempt (exponential backoff)
-                delay *= 2;
-            }
+        final RetryPolicy policy = RetryPolicy.forPlaywright().maxAttempts(maxAttempts)
+                .initialDelayMillis(initialDelayMs).build();
+        try {
+            Retry.run("PlaywrightUtils.retry", policy, operation);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.error("Operation failed: {}", e.getMessage(), e);
+            return false;
         }
-        
-        return false;
     }
 
     /**
@@ -357,7 +306,7 @@ public final class PlaywrightUtils {
      */
     public static void waitForElement(final Locator locator, final int timeoutInSecs) {
         try {
-            locator.waitFor(new Locator.WaitForOptions().setTimeout(timeoutInSecs * 1000));
+            locator.waitFor(new Locator.WaitForOptions().setTimeout(WaitUtils.budgeted(timeoutInSecs * 1000)));
             LOGGER.info("Element is visible");
         } catch (TimeoutError e) {
             LOGGER.error("Timeout waiting for element");
@@ -375,33 +324,113 @@ public final class PlaywrightUtils {
     }
 
     /**
-     * Safely clicks an element with default timeout
+     * Safely clicks an element with default timeout, as described by the
+     * interaction profile of the current scenario.
      * 
      * @param locator Playwright Locator object to click
      */
     public static void safeClick(final Locator locator) {
+        final ScenarioScope scope = ScenarioScope.current();
+        if (scope.getInteractionProfile() == InteractionProfile.FAST) {
+            fastClick(locator, scope);
+            return;
+        }
         try {
-            locator.waitFor(new Locator.WaitForOptions().setTimeout(DEFAULT_TIMEOUT * 1000));
+            locator.waitFor(new Locator.WaitForOptions().setTimeout(defaultTimeout()));
             locator.hover();
             locator.click();
             LOGGER.info("Element clicked successfully");
         } catch (Exception e) {
             LOGGER.warn("Standard click failed, trying JavaScript click as fallback: {}", e.getMessage());
+            scope.countFallback("jsClick");
             clickWithJavaScript(locator);
         }
     }
 
     /**
-     * Safely enters text with default timeout
+     * Method to click an element without the JavaScript click fallback of the
+     * SAFE interaction profile, so that a click which fails, e.g. because an
+     * overlay covers the element or it stays disabled, fails the step. With the
+     * SAFE profile the element is hovered over and clicked; with the FAST
+     * profile it is clicked like {@link #safeClick(Locator)} does.
+     * 
+     * @param locator: Playwright Locator object to click
+     */
+    public static void click(final Locator locator) {
+        final ScenarioScope scope = ScenarioScope.current();
+        if (scope.getInteractionProfile() == InteractionProfile.FAST) {
+            fastClick(locator, scope);
+            return;
+        }
+        locator.hover();
+        locator.click();
+        LOGGER.info("Element clicked successfully");
+    }
+
+    /**
+     * Method to click an element with a single actionability-aware click. A
+     * failure is only followed by a fallback which can fix it: a JavaScript
+     * click when another element receives the click or the element cannot be
+     * scrolled into view, and a hover before clicking again when the element is
+     * still animating.
+     * 
+     * @param locator: Playwright Locator object to click
+     * @param scope:   scope of the current scenario
+     */
+    private static void fastClick(final Locator locator, final ScenarioScope scope) {
+        try {
+            locator.click(new Locator.ClickOptions().setTimeout(defaultTimeout()));
+            LOGGER.info("Element clicked successfully");
+        } catch (PlaywrightException e) {
+            final String fallback = clickFallbackFor(e);
+            if (fallback == null) {
+                throw e;
+            }
+            LOGGER.warn("Click failed, trying {} as fallback: {}", fallback, e.getMessage());
+            scope.countFallback(fallback);
+            if (fallback.equals("hoverClick")) {
+                locator.hover(new Locator.HoverOptions().setTimeout(defaultTimeout()));
+                locator.click(new Locator.ClickOptions().setTimeout(defaultTimeout()));
+            } else {
+                locator.evaluate("element => element.click()");
+                LOGGER.info("Clicked element using JavaScript");
+            }
+        }
+    }
+
+    /**
+     * Method to classify a failed click by the call log in its message.
+     * 
+     * @param exception: failure of the click
+     * @return hoverClick or jsClick, null if no fallback can fix the failure
+     */
+    private static String clickFallbackFor(final PlaywrightException exception) {
+        final String message = exception.getMessage() == null ? "" : exception.getMessage();
+        if (message.contains("intercepts pointer events") || message.contains("outside of the viewport")) {
+            return "jsClick";
+        }
+        if (message.contains("element is not stable")) {
+            return "hoverClick";
+        }
+        return null;
+    }
+
+    /**
+     * Safely enters text with default timeout. With the FAST interaction profile
+     * the text is filled in a single call, which waits for the element to be
+     * editable.
      * 
      * @param locator Playwright Locator object
      * @param text Text to enter
      */
     public static void enterText(final Locator locator, final String text) {
+        final ScenarioScope scope = ScenarioScope.current();
         try {
-            locator.waitFor(new Locator.WaitForOptions().setTimeout(DEFAULT_TIMEOUT * 1000));
-            locator.hover();
-            locator.fill(text);
+            if (scope.getInteractionProfile() != InteractionProfile.FAST) {
+                locator.waitFor(new Locator.WaitForOptions().setTimeout(defaultTimeout()));
+                locator.hover();
+            }
+            locator.fill(text, new Locator.FillOptions().setTimeout(defaultTimeout()));
             LOGGER.info("Text entered successfully: '{}'", text);
         } catch (Exception e) {
             LOGGER.error("Failed to enter text: {}", e.getMessage());
@@ -417,7 +446,7 @@ public final class PlaywrightUtils {
      */
     public static String getText(final Locator locator) {
         try {
-            locator.waitFor(new Locator.WaitForOptions().setTimeout(DEFAULT_TIMEOUT * 1000));
+            locator.waitFor(new Locator.WaitForOptions().setTimeout(defaultTimeout()));
             String text = locator.textContent().trim();
             LOGGER.info("Got text: '{}'", text);
             return text;
@@ -435,35 +464,12 @@ public final class PlaywrightUtils {
      * @return true if element disappeared, false if timeout occurred
      */
     public static boolean waitForElementToDisappear(final Locator locator, final int timeoutInSecs) {
-        try {
-            if (!isVisible(locator)) {
-                return true; // Already not visible
-            }
-
-            // Use polling approach instead of waitForSelector which has issues with locator strings
-            long endTime = System.currentTimeMillis() + (timeoutInSecs * 1000);
-            
-            while (System.currentTimeMillis() < endTime) {
-                if (!isVisible(locator)) {
-                    LOGGER.info("Element disappeared successfully");
-                    return true;
-                }
-                
-                // Small pause before checking again
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return false;
-                }
-            }
-            
-            LOGGER.warn("Element did not disappear within timeout");
-            return false;
-        } catch (Exception e) {
-            LOGGER.warn("Error while waiting for element to disappear: {}", e.getMessage());
-            return false;
+        if (WaitUtils.untilHidden(locator, timeoutInSecs * 1000L)) {
+            LOGGER.info("Element disappeared successfully");
+            return true;
         }
+        LOGGER.warn("Element did not disappear within timeout");
+        return false;
     }
 
     /**
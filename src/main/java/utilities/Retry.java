@@ -0,0 +1,163 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The class {@code Retry} runs an operation again after it failed, as described
+ * by a {@link RetryPolicy}. Exceptions which are not retryable are thrown at
+ * once. When the attempts or the time budget are used up, the exception of the
+ * last attempt is thrown unchanged, with the exceptions of the earlier attempts
+ * added as suppressed, so the root cause reaches the report.
+ * <p>
+ * Every call names its call site. Calls, retries, failures and the time lost to
+ * failed attempts and delays are counted per call site and written to the
+ * retries performance report, which shows where flaky flows spend their time.
+ *
+ * <pre>
+ * Retry.run("SettingsPage.deleteWorkspace", DELETE_POLICY, () -&gt; clickDelete());
+ * </pre>
+ */
+public final class Retry {
+
+    private static final Logger LOGGER = Log.getLogger(Retry.class);
+    private static final Map<String, RetryStats> STATS = new ConcurrentHashMap<>();
+
+    private Retry() {
+    }
+
+    /**
+     * Method to run an operation until it succeeds or the policy gives up.
+     *
+     * @param callSite:  name of the call site in the statistics
+     * @param policy:    retry policy
+     * @param operation: operation to run
+     */
+    public static void run(final String callSite, final RetryPolicy policy, final Runnable operation) {
+        call(callSite, policy, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Method to call an operation until it succeeds or the policy gives up.
+     *
+     * @param callSite:  name of the call site in the statistics
+     * @param policy:    retry policy
+     * @param operation: operation to call
+     * @param <T>        type of the result
+     * @return result of the successful attempt
+     * @throws RuntimeException the exception of the last attempt if no attempt
+     *                          succeeded
+     */
+    public static <T> T call(final String callSite, final RetryPolicy policy, final Supplier<T> operation) {
+        final RetryStats stats = STATS.computeIfAbsent(callSite, name -> new RetryStats());
+        final Deadline budget = Deadline.after(WaitUtils.budgeted(policy.getBudgetMillis()));
+        final List<RuntimeException> failures = new ArrayList<>();
+        long lostNanos = 0;
+        stats.calls.increment();
+        for (int attempt = 1;; attempt++) {
+            final long attemptStart = System.nanoTime();
+            try {
+                final T result = operation.get();
+                if (attempt > 1) {
+                    LOGGER.info("{} succeeded on attempt {}", callSite, attempt);
+                }
+                stats.lostMillis.add(TimeUnit.NANOSECONDS.toMillis(lostNanos));
+                return result;
+            } catch (RuntimeException e) {
+                lostNanos += System.nanoTime() - attemptStart;
+                final long delayMillis = policy.delayMillis(attempt);
+                final String reason = giveUpReason(policy, e, attempt, budget, delayMillis);
+                if (reason != null) {
+                    stats.failures.increment();
+                    stats.lostMillis.add(TimeUnit.NANOSECONDS.toMillis(lostNanos));
+                    if (attempt > 1) {
+                        LOGGER.error("{} failed after {} attempt(s), {}: {}", callSite, attempt, reason,
+                                e.getMessage());
+                    }
+                    failures.forEach(e::addSuppressed);
+                    throw e;
+                }
+                LOGGER.warn("{} attempt {} failed: {}. Retrying in {} ms", callSite, attempt, e.getMessage(),
+                        delayMillis);
+                failures.add(e);
+                stats.retries.increment();
+                final long delayStart = System.nanoTime();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+                lostNanos += System.nanoTime() - delayStart;
+                if (Thread.currentThread().isInterrupted()) {
+                    stats.failures.increment();
+                    stats.lostMillis.add(TimeUnit.NANOSECONDS.toMillis(lostNanos));
+                    failures.remove(e);
+                    failures.forEach(e::addSuppressed);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to decide if a failed attempt is the last one. No attempt is made
+     * whose delay would end after the time budget.
+     *
+     * @return why no further attempt is made, null to retry
+     */
+    private static String giveUpReason(final RetryPolicy policy, final RuntimeException exception, final int attempt,
+            final Deadline budget, final long delayMillis) {
+        if (!policy.isRetryable(exception)) {
+            return "not retryable";
+        }
+        if (attempt >= policy.getMaxAttempts()) {
+            return "attempts exhausted";
+        }
+        if (budget.isExpired() || delayMillis >= budget.remainingMillis()) {
+            return "time budget of " + policy.getBudgetMillis() + " ms exhausted";
+        }
+        return null;
+    }
+
+    /**
+     * Method to log the retry statistics and write them to the retries
+     * performance report.
+     */
+    public static void writeReport() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        final Map<String, Object> report = new TreeMap<>();
+        STATS.forEach((callSite, stats) -> report.put(callSite, stats.toMap()));
+        LOGGER.info("Retry statistics: {}", report);
+        PerformanceReport.write("retries", report);
+    }
+
+    /**
+     * Calls, retries, failures and lost time of one call site.
+     */
+    private static final class RetryStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder lostMillis = new LongAdder();
+
+        private Map<String, Object> toMap() {
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("calls", calls.sum());
+            stats.put("retries", retries.sum());
+            stats.put("failures", failures.sum());
+            stats.put("lostMillis", lostMillis.sum());
+            return stats;
+        }
+    }
+}
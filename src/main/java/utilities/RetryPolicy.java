@@ -0,0 +1,236 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * The class {@code RetryPolicy} describes when and how {@link Retry} retries a
+ * failed operation: which exceptions are worth another attempt, how many
+ * attempts are made, how long all attempts together may take and how the delay
+ * between attempts grows and is randomized. Policies are immutable and can be
+ * shared between threads.
+ *
+ * <pre>
+ * private static final RetryPolicy DELETE_POLICY = RetryPolicy.forPlaywright()
+ *         .maxAttempts(3).initialDelayMillis(500).budgetMillis(20000).build();
+ * </pre>
+ */
+public final class RetryPolicy {
+
+    private static final String CLOSED_TARGET_MESSAGE = "has been closed";
+
+    private final int maxAttempts;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final long budgetMillis;
+    private final double jitter;
+    private final List<Class<? extends RuntimeException>> retryOn;
+    private final Predicate<RuntimeException> retryIf;
+
+    private RetryPolicy(final Builder builder) {
+        maxAttempts = builder.maxAttempts;
+        initialDelayMillis = builder.initialDelayMillis;
+        maxDelayMillis = builder.maxDelayMillis;
+        budgetMillis = builder.budgetMillis;
+        jitter = builder.jitter;
+        retryOn = List.copyOf(builder.retryOn);
+        retryIf = builder.retryIf;
+    }
+
+    /**
+     * Method to start a policy which retries no exception until
+     * {@link Builder#retryOn(Class[])} is called.
+     *
+     * @return builder with the default attempts, delays and budget
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Method to start a policy for Playwright calls. It retries
+     * {@link PlaywrightException} (including timeouts), except when the page,
+     * context or browser was closed, which no further attempt can fix.
+     *
+     * @return builder retrying transient Playwright failures
+     */
+    public static Builder forPlaywright() {
+        return builder().retryOn(PlaywrightException.class)
+                .retryIf(e -> e.getMessage() == null || !e.getMessage().contains(CLOSED_TARGET_MESSAGE));
+    }
+
+    /**
+     * If a failed attempt may be retried.
+     *
+     * @param exception: failure of the attempt
+     * @return true if the exception is of a retryable type and passes the
+     *         predicate of the policy
+     */
+    public boolean isRetryable(final RuntimeException exception) {
+        if (exception instanceof TimeoutBudget.ExhaustedException) {
+            return false;
+        }
+        for (final Class<? extends RuntimeException> retryableType : retryOn) {
+            if (retryableType.isInstance(exception)) {
+                return retryIf.test(exception);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to get the delay before the next attempt. The delay doubles with
+     * every failed attempt up to the maximum delay and is then randomized by up
+     * to the jitter fraction, so workers failing at the same time do not retry in
+     * lockstep.
+     *
+     * @param failedAttempts: number of failed attempts so far, starting at 1
+     * @return delay in milliseconds
+     */
+    public long delayMillis(final int failedAttempts) {
+        final long delay = Math.min(maxDelayMillis, initialDelayMillis << Math.min(failedAttempts - 1, 20));
+        final long jitterMillis = (long) (delay * jitter);
+        return delay + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+    }
+
+    /**
+     * Method to get the maximum number of attempts.
+     *
+     * @return maximum attempts, including the first one
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Method to get how long all attempts and delays together may take.
+     *
+     * @return time budget in milliseconds
+     */
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RetryPolicy[maxAttempts=%d, initialDelay=%d ms, maxDelay=%d ms, budget=%d ms, "
+                + "jitter=%.2f, retryOn=%s]", maxAttempts, initialDelayMillis, maxDelayMillis, budgetMillis, jitter,
+                retryOn);
+    }
+
+    /**
+     * Builder of a {@link RetryPolicy}.
+     */
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private long initialDelayMillis = 250;
+        private long maxDelayMillis = 5000;
+        private long budgetMillis = 30000;
+        private double jitter = 0.25;
+        private final List<Class<? extends RuntimeException>> retryOn = new ArrayList<>();
+        private Predicate<RuntimeException> retryIf = exception -> true;
+
+        private Builder() {
+        }
+
+        /**
+         * Method to set the maximum number of attempts, including the first one.
+         *
+         * @param maxAttempts: maximum attempts, at least 1
+         * @return Object of this class
+         */
+        public Builder maxAttempts(final int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1 but was " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Method to set the delay after the first failed attempt.
+         *
+         * @param initialDelayMillis: delay in milliseconds
+         * @return Object of this class
+         */
+        public Builder initialDelayMillis(final long initialDelayMillis) {
+            this.initialDelayMillis = Math.max(0, initialDelayMillis);
+            return this;
+        }
+
+        /**
+         * Method to cap the delay between attempts.
+         *
+         * @param maxDelayMillis: maximum delay in milliseconds
+         * @return Object of this class
+         */
+        public Builder maxDelayMillis(final long maxDelayMillis) {
+            this.maxDelayMillis = Math.max(0, maxDelayMillis);
+            return this;
+        }
+
+        /**
+         * Method to set how long all attempts and delays together may take. No
+         * attempt is started whose delay would end after the budget.
+         *
+         * @param budgetMillis: time budget in milliseconds
+         * @return Object of this class
+         */
+        public Builder budgetMillis(final long budgetMillis) {
+            this.budgetMillis = Math.max(0, budgetMillis);
+            return this;
+        }
+
+        /**
+         * Method to set the fraction of the delay added at random.
+         *
+         * @param jitter: fraction between 0 and 1
+         * @return Object of this class
+         */
+        public Builder jitter(final double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("jitter must be between 0 and 1 but was " + jitter);
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Method to add exception types which are retried.
+         *
+         * @param exceptionTypes: retryable exception types, subclasses included
+         * @return Object of this class
+         */
+        @SafeVarargs
+        public final Builder retryOn(final Class<? extends RuntimeException>... exceptionTypes) {
+            for (final Class<? extends RuntimeException> exceptionType : exceptionTypes) {
+                retryOn.add(exceptionType);
+            }
+            return this;
+        }
+
+        /**
+         * Method to restrict the retryable exceptions further, e.g. by message.
+         *
+         * @param predicate: test a retryable exception must pass as well
+         * @return Object of this class
+         */
+        public Builder retryIf(final Predicate<RuntimeException> predicate) {
+            retryIf = retryIf.and(predicate);
+            return this;
+        }
+
+        /**
+         * Method to build the policy.
+         *
+         * @return immutable policy
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
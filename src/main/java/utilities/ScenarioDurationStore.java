@@ -0,0 +1,227 @@
+package utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The class {@code ScenarioDurationStore} is a singleton class which keeps the
+ * historical duration of every scenario, keyed by feature URI and line. The
+ * durations are used to balance the scenarios between shards. They are read
+ * once per JVM, and every shard must plan from the same durations, so the file
+ * is not changed while shards may still be starting: a sharded run writes its
+ * measurements to a file of its own next to it, e.g.
+ * {@code scenario-durations.shard-0.json}, and {@link #main(String[])} merges
+ * them into the file once every shard finished. An unsharded run merges its
+ * measurements into the file at the end of the run, under a file lock. The
+ * file is in {@code .durations/} of the project, outside {@code target/} so
+ * that {@code mvn clean} does not delete it, unless a history file, e.g. one
+ * kept in source control, is passed with {@code -Dscenario.durations.file}. A
+ * new measurement is smoothed with the previous one, so a single slow run does
+ * not reshuffle the shards.
+ */
+public final class ScenarioDurationStore {
+
+    private static final Logger LOGGER = Log.getLogger(ScenarioDurationStore.class);
+    private static final String DEFAULT_DURATIONS_FILE = ".durations/scenario-durations.json";
+    private static final TypeReference<TreeMap<String, Long>> DURATIONS_TYPE = new TypeReference<>() {
+    };
+    private static final ScenarioDurationStore durationStore = new ScenarioDurationStore();
+
+    private final File durationsFile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Long> knownDurations;
+    private final Map<String, Long> measuredDurations = new ConcurrentHashMap<>();
+
+    private ScenarioDurationStore() {
+        final String durationsFileFrmCmd = System.getProperty("scenario.durations.file");
+        durationsFile = new File(durationsFileFrmCmd == null || durationsFileFrmCmd.isBlank() ? DEFAULT_DURATIONS_FILE
+                : durationsFileFrmCmd);
+        knownDurations = Collections.unmodifiableMap(read());
+    }
+
+    /**
+     * Method to get instance of the ScenarioDurationStore.
+     *
+     * @return instance of ScenarioDurationStore
+     */
+    public static ScenarioDurationStore getInstance() {
+        return durationStore;
+    }
+
+    /**
+     * Method to build the key of a scenario. Scenario outline examples have the
+     * line of their example row, so every example has its own key.
+     *
+     * @param featureUri: URI of the feature file
+     * @param line:       line of the scenario in the feature file
+     * @return scenario key as uri:line
+     */
+    public static String key(final URI featureUri, final int line) {
+        return featureUri + ":" + line;
+    }
+
+    /**
+     * Method to get the durations known before this run started.
+     *
+     * @return durations in milliseconds by scenario key
+     */
+    public Map<String, Long> getKnownDurations() {
+        return knownDurations;
+    }
+
+    /**
+     * Method to record the duration of a scenario which finished in this run.
+     *
+     * @param scenarioKey:    key of the scenario
+     * @param durationMillis: duration of the scenario in milliseconds
+     */
+    public void record(final String scenarioKey, final long durationMillis) {
+        measuredDurations.put(scenarioKey, durationMillis);
+    }
+
+    /**
+     * Method to merge the durations measured in this run into the durations
+     * file. Only for an unsharded run, see {@link #saveShard(int)}.
+     */
+    public void save() {
+        if (measuredDurations.isEmpty()) {
+            return;
+        }
+        if (merge(measuredDurations)) {
+            LOGGER.info("Saved durations of {} scenario(s) to {}", measuredDurations.size(), durationsFile.getPath());
+        }
+    }
+
+    /**
+     * Method to write the durations measured by a shard to its own file next to
+     * the durations file, which the other shards do not read.
+     *
+     * @param shardIndex: index of the shard, starting at 0
+     */
+    public void saveShard(final int shardIndex) {
+        if (measuredDurations.isEmpty()) {
+            return;
+        }
+        final File shardFile = new File(durationsFile.getAbsoluteFile().getParentFile(),
+                shardFilePrefix() + shardIndex + ".json");
+        shardFile.getParentFile().mkdirs();
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(shardFile, new TreeMap<>(measuredDurations));
+            LOGGER.info("Saved durations of {} scenario(s) to {}", measuredDurations.size(), shardFile.getPath());
+        } catch (IOException e) {
+            LOGGER.warn("Could not save scenario durations to {}: {}", shardFile.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Method to merge the files written by {@link #saveShard(int)} into the
+     * durations file and delete them, once every shard finished.
+     */
+    public void mergeShards() {
+        final String prefix = shardFilePrefix();
+        final File[] shardFiles = durationsFile.getAbsoluteFile().getParentFile()
+                .listFiles((directory, name) -> name.startsWith(prefix) && name.endsWith(".json"));
+        if (shardFiles == null || shardFiles.length == 0) {
+            LOGGER.info("No shard durations to merge into {}", durationsFile.getPath());
+            return;
+        }
+        final Map<String, Long> measured = new TreeMap<>();
+        for (final File shardFile : shardFiles) {
+            try {
+                measured.putAll(objectMapper.readValue(shardFile, DURATIONS_TYPE));
+            } catch (IOException e) {
+                LOGGER.warn("Could not read shard durations from {}: {}", shardFile.getPath(), e.getMessage());
+            }
+        }
+        if (merge(measured)) {
+            for (final File shardFile : shardFiles) {
+                shardFile.delete();
+            }
+            LOGGER.info("Merged durations of {} scenario(s) from {} shard(s) into {}", measured.size(),
+                    shardFiles.length, durationsFile.getPath());
+        }
+    }
+
+    /**
+     * Method to merge shard durations into the durations file after a sharded
+     * run, e.g. with {@code mvn exec:java
+     * -Dexec.mainClass=utilities.ScenarioDurationStore}. The durations file is
+     * the one of {@code -Dscenario.durations.file}, or the default one.
+     *
+     * @param args: not used
+     */
+    public static void main(final String[] args) {
+        getInstance().mergeShards();
+    }
+
+    /**
+     * Method to merge measured durations into the durations file under a file
+     * lock, smoothing each with the previous duration of its scenario.
+     *
+     * @param measured: durations in milliseconds by scenario key
+     * @return true if the file was written
+     */
+    private boolean merge(final Map<String, Long> measured) {
+        durationsFile.getAbsoluteFile().getParentFile().mkdirs();
+        try (RandomAccessFile file = new RandomAccessFile(durationsFile, "rw");
+                FileChannel channel = file.getChannel();
+                FileLock lock = channel.lock()) {
+            final byte[] content = new byte[(int) file.length()];
+            file.readFully(content);
+            final TreeMap<String, Long> durations = content.length == 0 ? new TreeMap<>()
+                    : objectMapper.readValue(content, DURATIONS_TYPE);
+            measured.forEach((scenarioKey, duration) -> durations.merge(scenarioKey, duration,
+                    (previous, current) -> (previous + current) / 2));
+            final byte[] updated = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(durations)
+                    .getBytes(StandardCharsets.UTF_8);
+            file.setLength(0);
+            file.write(updated);
+            lock.release();
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Could not save scenario durations to {}: {}", durationsFile.getPath(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Method to get the start of the names of the shard files, the name of the
+     * durations file without its extension followed by {@code .shard-}.
+     *
+     * @return prefix of the shard file names
+     */
+    private String shardFilePrefix() {
+        return durationsFile.getName().replaceFirst("\\.json$", "") + ".shard-";
+    }
+
+    /**
+     * Method to read the durations file.
+     *
+     * @return durations by scenario key, empty if there is no file yet
+     */
+    private Map<String, Long> read() {
+        if (!durationsFile.isFile() || durationsFile.length() == 0) {
+            return new TreeMap<>();
+        }
+        try {
+            return objectMapper.readValue(durationsFile, DURATIONS_TYPE);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read scenario durations from {}: {}", durationsFile.getPath(), e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import enums.InteractionProfile;
+
+/**
+ * The class {@code ScenarioScope} holds the state of the scenario running on the
+ * current worker thread which static utilities need, like the interaction
+ * profile, the interaction counters and the timeout budget. A scope is opened
+ * when a scenario starts and closed when it ends; outside of a scenario a
+ * default scope with the SAFE profile and no timeout budget is used.
+ */
+public final class ScenarioScope {
+
+    private static final String UNSCOPED = "unscoped";
+    private static final ThreadLocal<ScenarioScope> CURRENT = ThreadLocal
+            .withInitial(() -> new ScenarioScope(UNSCOPED, InteractionProfile.SAFE));
+
+    private final String scenarioName;
+    private final InteractionProfile interactionProfile;
+    private final Map<String, Integer> fallbacks = new TreeMap<>();
+    private final Set<String> failedSelectors = new HashSet<>();
+    private int protocolCalls;
+    private TimeoutBudget timeoutBudget = TimeoutBudget.unlimited();
+    private volatile String stepName;
+    private final List<Map<String, Object>> callRecords = new ArrayList<>();
+    private final List<Map<String, Object>> webVitals = new ArrayList<>();
+    private final Map<String, Long> actionStarts = new HashMap<>();
+    private final List<PerformanceBudget.Result> budgetResults = new ArrayList<>();
+
+    private ScenarioScope(final String scenarioName, final InteractionProfile interactionProfile) {
+        this.scenarioName = scenarioName;
+        this.interactionProfile = interactionProfile;
+    }
+
+    /**
+     * Method to open the scope of a scenario on the current thread.
+     *
+     * @param scenarioName:       name of the scenario
+     * @param interactionProfile: how elements are clicked and filled
+     * @return scope of the scenario
+     */
+    public static ScenarioScope begin(final String scenarioName, final InteractionProfile interactionProfile) {
+        final ScenarioScope scope = new ScenarioScope(scenarioName, interactionProfile);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Method to get the scope of the scenario running on the current thread.
+     *
+     * @return current scope, the default scope outside of a scenario
+     */
+    public static ScenarioScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Method to close the scope of the current thread, add its counters to the
+     * interaction statistics and write its recorded Playwright calls.
+     */
+    public static void end() {
+        final ScenarioScope scope = CURRENT.get();
+        if (scope.isScenario()) {
+            InteractionStats.record(scope);
+            PlaywrightInstrumentation.flush(scope);
+        }
+        CURRENT.remove();
+    }
+
+    /**
+     * If this is the scope of a scenario rather than the default scope.
+     *
+     * @return false outside of a scenario
+     */
+    public boolean isScenario() {
+        return !UNSCOPED.equals(scenarioName);
+    }
+
+    /**
+     * Method to get the name of the scenario.
+     *
+     * @return scenario name
+     */
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    /**
+     * Method to get how elements are clicked and filled in this scenario.
+     *
+     * @return interaction profile
+     */
+    public InteractionProfile getInteractionProfile() {
+        return interactionProfile;
+    }
+
+    /**
+     * Method to get the name of the step running in the scenario.
+     *
+     * @return step definition as Class.method, null between steps
+     */
+    public String getStepName() {
+        return stepName;
+    }
+
+    /**
+     * Method to set the name of the step running in the scenario, so Playwright
+     * calls are attributed to it.
+     *
+     * @param stepName: step definition as Class.method, null when it finished
+     */
+    public void setStepName(final String stepName) {
+        this.stepName = stepName;
+    }
+
+    /**
+     * Method to get the timeout budget of the scenario, which every wait
+     * consults.
+     *
+     * @return timeout budget, unlimited if none was started
+     */
+    public TimeoutBudget getTimeoutBudget() {
+        return timeoutBudget;
+    }
+
+    /**
+     * Method to set the timeout budget of the scenario.
+     *
+     * @param timeoutBudget: started timeout budget
+     */
+    public void setTimeoutBudget(final TimeoutBudget timeoutBudget) {
+        this.timeoutBudget = timeoutBudget;
+    }
+
+    /**
+     * Method to get the number of Playwright calls of the scenario which went to
+     * the browser, as counted by {@link PlaywrightInstrumentation}, whatever made
+     * them. Nothing is counted when the instrumentation is off.
+     *
+     * @return protocol calls so far
+     */
+    public int getProtocolCalls() {
+        return protocolCalls;
+    }
+
+    /**
+     * Method to get how often each fallback was used.
+     *
+     * @return fallback counts by reason
+     */
+    public Map<String, Integer> getFallbacks() {
+        return fallbacks;
+    }
+
+    void countProtocolCall() {
+        protocolCalls++;
+    }
+
+    void countFallback(final String reason) {
+        fallbacks.merge(reason, 1, Integer::sum);
+    }
+
+    /**
+     * Method to get the selectors whose last call in this scenario failed, so a
+     * following call on them is counted as a retry.
+     *
+     * @return names of the selectors
+     */
+    Set<String> failedSelectors() {
+        return failedSelectors;
+    }
+
+    /**
+     * Method to get the Playwright calls recorded in this scenario by the full
+     * instrumentation mode.
+     *
+     * @return call records
+     */
+    List<Map<String, Object>> callRecords() {
+        return callRecords;
+    }
+
+    /**
+     * Method to get the web performance samples collected in this scenario.
+     *
+     * @return samples, in the order they were collected
+     */
+    List<Map<String, Object>> webVitals() {
+        return webVitals;
+    }
+
+    /**
+     * Method to get when the timed actions of this scenario last started.
+     *
+     * @return epoch time in milliseconds by action name
+     */
+    Map<String, Long> actionStarts() {
+        return actionStarts;
+    }
+
+    /**
+     * Method to get the performance budgets checked in this scenario.
+     *
+     * @return budget results, in the order they were checked
+     */
+    List<PerformanceBudget.Result> budgetResults() {
+        return budgetResults;
+    }
+}
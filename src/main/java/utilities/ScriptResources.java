@@ -0,0 +1,43 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class {@code ScriptResources} loads the JavaScript files which the
+ * framework injects into the browser from the {@code scripts} directory of the
+ * classpath. Every script is read once per JVM.
+ */
+public final class ScriptResources {
+
+    private static final Map<String, String> SCRIPTS = new ConcurrentHashMap<>();
+
+    private ScriptResources() {
+    }
+
+    /**
+     * Method to get the source of a script.
+     *
+     * @param fileName: file name of the script in the scripts directory
+     * @return script source
+     */
+    public static String get(final String fileName) {
+        return SCRIPTS.computeIfAbsent(fileName, ScriptResources::load);
+    }
+
+    private static String load(final String fileName) {
+        final String resource = "scripts/" + fileName;
+        try (InputStream script = ScriptResources.class.getClassLoader().getResourceAsStream(resource)) {
+            if (script == null) {
+                throw new IllegalStateException(String.format("Script %s not found on the classpath", resource));
+            }
+            return new String(script.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
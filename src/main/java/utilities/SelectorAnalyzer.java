@@ -0,0 +1,561 @@
+package utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * The class {@code SelectorAnalyzer} checks the selectors of the page selector
+ * classes before a run. It reflects over the public String fields of every
+ * {@code *Selectors} class, classifies each selector as XPath, CSS or Playwright
+ * selector and lints it for constructs which are slow to resolve (subtree text
+ * comparisons, axis walks, wildcards) or break silently and then burn full
+ * timeouts (generated class names, positions, environment-specific ids).
+ * <p>
+ * Given HTML snapshots of the application, e.g. saved with
+ * {@link Page#content()}, the selectors are also resolved against them in a
+ * headless browser: a selector which matches nothing in any snapshot is an
+ * error, one which matches several elements is a warning.
+ * <p>
+ * It runs as a standalone main, or before the suite with
+ * {@code -DselectorLint=warn} (log the findings) or {@code -DselectorLint=fail}
+ * (stop the suite on errors). The findings are written to
+ * {@value #REPORT_FILE}.
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=utilities.SelectorAnalyzer \
+ *     -Dexec.args="--dom target/dom-snapshots --fail-on error"
+ * </pre>
+ */
+public final class SelectorAnalyzer {
+
+    private static final Logger LOGGER = Log.getLogger(SelectorAnalyzer.class);
+    private static final String REPORT_FILE = "target/reports/selectors/selector-analysis.json";
+    private static final String DEFAULT_PACKAGE = "pageselectors";
+    private static final String SELECTORS_SUFFIX = "Selectors";
+    private static final int MAX_STEPS = 6;
+    private static final Pattern XPATH_STEP = Pattern.compile("/+[^/]");
+    private static final Pattern CSS_STEP = Pattern.compile("\\s*[>+~]\\s*|\\s+");
+    private static final Pattern PLAYWRIGHT_ONLY = Pattern
+            .compile(":has-text\\(|:text(-is|-matches)?\\(|:visible|^text=|^internal:|>>|:nth-match\\(");
+    private static final List<Rule> RULES = List.of(
+            new Rule("generated-class", Severity.ERROR, null,
+                    "\\b(?:css|sc|jss|emotion)-[A-Za-z0-9]{5,}\\b|\\b[A-Za-z]+_[A-Za-z]+__[A-Za-z0-9_-]{5}\\b",
+                    "Bound to a generated class name, which changes with every build of the styles"),
+            new Rule("environment-id", Severity.WARN, null, "['\"][^'\"]*/\\d{3,}(/[^'\"]*)?['\"]",
+                    "Contains a hard-coded record id, which only exists in the test data of one environment"),
+            new Rule("xpath-absolute", Severity.ERROR, Kind.XPATH, "^\\(?/[A-Za-z]",
+                    "Absolute XPath from the document root, which breaks with any layout change"),
+            new Rule("xpath-subtree-text", Severity.WARN, Kind.XPATH, "contains\\(\\s*\\.\\s*,|\\[\\s*\\.\\s*=",
+                    "Compares the text of the whole subtree of every candidate; compare normalize-space() of a "
+                            + "specific element or anchor on an attribute"),
+            new Rule("xpath-axis-walk", Severity.WARN, Kind.XPATH,
+                    "\\b(?:ancestor|preceding|preceding-sibling|following)(?:-or-self)?::",
+                    "Walks up or across the document from every candidate; anchor on a closer ancestor or an "
+                            + "attribute"),
+            new Rule("xpath-wildcard", Severity.WARN, Kind.XPATH, "//\\*",
+                    "Descendant wildcard, which tests every element of the document"),
+            new Rule("xpath-position", Severity.WARN, Kind.XPATH, "\\[\\s*(?:\\d+|last\\(\\))\\s*\\]",
+                    "Positional index, which selects another element when the order changes"),
+            new Rule("xpath-class-equals", Severity.WARN, Kind.XPATH, "@class\\s*=",
+                    "Exact class attribute, which no longer matches once any class is added or removed"),
+            new Rule("xpath-exact-text", Severity.INFO, Kind.XPATH, "text\\(\\)\\s*=",
+                    "Exact text node match, which fails on extra whitespace or nested markup; "
+                            + "normalize-space() is more robust"),
+            new Rule("css-position", Severity.WARN, Kind.CSS,
+                    ":(?:nth-child|nth-last-child|nth-of-type|first-child|last-child)\\b",
+                    "Structural position, which selects another element when the order changes"),
+            new Rule("css-class-attribute", Severity.WARN, Kind.CSS, "\\[class\\s*=",
+                    "Exact class attribute, which no longer matches once any class is added or removed"),
+            new Rule("css-universal", Severity.INFO, Kind.CSS, "(?:^|\\s)\\*(?:\\s|$)",
+                    "Universal selector, which tests every element in its scope"),
+            new Rule("playwright-text-engine", Severity.INFO, Kind.PLAYWRIGHT, PLAYWRIGHT_ONLY.pattern(),
+                    "Only Playwright can resolve it, so it cannot be used with ConditionBatch or DomSnapshot; "
+                            + "text matches change with copy and locale"));
+
+    private SelectorAnalyzer() {
+    }
+
+    /**
+     * Kind of a selector.
+     */
+    public enum Kind {
+        XPATH, CSS, PLAYWRIGHT
+    }
+
+    /**
+     * Severity of a finding.
+     */
+    public enum Severity {
+        INFO, WARN, ERROR
+    }
+
+    /**
+     * Method to analyze the selector classes from the command line.
+     *
+     * @param args: {@code [--package <name>] [--dom <file or directory>]...
+     *              [--fail-on error|warn]}
+     */
+    public static void main(final String[] args) {
+        String packageName = DEFAULT_PACKAGE;
+        Severity failOn = null;
+        final List<Path> domSnapshots = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                usage();
+            }
+            switch (args[i]) {
+            case "--package":
+                packageName = args[++i];
+                break;
+            case "--dom":
+                domSnapshots.addAll(listSnapshots(Paths.get(args[++i])));
+                break;
+            case "--fail-on":
+                failOn = Severity.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                break;
+            default:
+                usage();
+            }
+        }
+        final List<Selector> selectors = findSelectors(packageName);
+        final List<Finding> findings = lint(selectors);
+        if (!domSnapshots.isEmpty()) {
+            findings.addAll(validate(selectors, domSnapshots));
+        }
+        report(selectors, findings);
+        if (failOn != null && hasFindings(findings, failOn)) {
+            System.exit(1);
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: SelectorAnalyzer [--package <name>] [--dom <file or directory>]... "
+                + "[--fail-on error|warn]");
+        System.exit(2);
+    }
+
+    /**
+     * Method to lint the selectors of the default package before the suite, as
+     * set by the selectorLint system property: off (default), warn or fail.
+     *
+     * @throws IllegalStateException with selectorLint=fail if a selector has an
+     *                               error
+     */
+    public static void checkBeforeSuite() {
+        final String mode = System.getProperty("selectorLint", "off").trim().toLowerCase(Locale.ROOT);
+        if ("off".equals(mode) || mode.isEmpty()) {
+            return;
+        }
+        final List<Selector> selectors = findSelectors(DEFAULT_PACKAGE);
+        final List<Finding> findings = lint(selectors);
+        report(selectors, findings);
+        if ("fail".equals(mode) && hasFindings(findings, Severity.ERROR)) {
+            throw new IllegalStateException(String.format("Selector analysis found errors, see %s", REPORT_FILE));
+        }
+    }
+
+    /**
+     * Method to read the selectors of every selector class of a package.
+     *
+     * @param packageName: package of the selector classes
+     * @return selectors in class and field order
+     */
+    public static List<Selector> findSelectors(final String packageName) {
+        final List<Selector> selectors = new ArrayList<>();
+        for (final String className : findClassNames(packageName)) {
+            final Class<?> selectorClass;
+            try {
+                selectorClass = Class.forName(className);
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOGGER.warn("Could not load selector class {}: {}", className, e.getMessage());
+                continue;
+            }
+            final Object instance = instantiate(selectorClass);
+            for (final Field field : selectorClass.getDeclaredFields()) {
+                if (!Modifier.isPublic(field.getModifiers()) || field.getType() != String.class
+                        || (instance == null && !Modifier.isStatic(field.getModifiers()))) {
+                    continue;
+                }
+                try {
+                    selectors.add(new Selector(selectorClass.getSimpleName(), field.getName(),
+                            (String) field.get(instance)));
+                } catch (IllegalAccessException e) {
+                    LOGGER.warn("Could not read {}.{}: {}", className, field.getName(), e.getMessage());
+                }
+            }
+        }
+        return selectors;
+    }
+
+    /**
+     * Method to lint selectors without a browser.
+     *
+     * @param selectors: selectors to lint
+     * @return findings in selector order
+     */
+    public static List<Finding> lint(final List<Selector> selectors) {
+        final List<Finding> findings = new ArrayList<>();
+        final Map<String, Selector> firstByValue = new HashMap<>();
+        for (final Selector selector : selectors) {
+            final String value = selector.getValue();
+            if (value == null || value.isBlank()) {
+                findings.add(new Finding(selector, "blank", Severity.ERROR, "Selector is empty"));
+                continue;
+            }
+            for (final Rule rule : RULES) {
+                if ((rule.kind == null || rule.kind == selector.getKind()) && rule.pattern.matcher(value).find()) {
+                    findings.add(new Finding(selector, rule.id, rule.severity, rule.message));
+                }
+            }
+            if (selector.getKind() == Kind.XPATH) {
+                try {
+                    XPathFactory.newInstance().newXPath().compile(value);
+                } catch (XPathExpressionException e) {
+                    findings.add(new Finding(selector, "xpath-syntax", Severity.ERROR,
+                            "Invalid XPath: " + rootMessage(e)));
+                }
+            }
+            final int steps = countSteps(selector);
+            if (steps > MAX_STEPS) {
+                findings.add(new Finding(selector, "long-chain", Severity.INFO,
+                        String.format("Chain of %d steps, which breaks with any change on the path", steps)));
+            }
+            final Selector first = firstByValue.putIfAbsent(value, selector);
+            if (first != null && !first.getClassName().equals(selector.getClassName())) {
+                findings.add(new Finding(selector, "duplicate", Severity.INFO,
+                        "Same selector as " + first.getName()));
+            } else if (first != null) {
+                findings.add(new Finding(selector, "duplicate", Severity.INFO,
+                        "Same selector as " + first.getName() + ", keep one field"));
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * Method to resolve selectors against HTML snapshots in a headless browser.
+     *
+     * @param selectors:    selectors to resolve
+     * @param domSnapshots: HTML files of the application pages
+     * @return findings for selectors which are invalid, match nothing in any
+     *         snapshot or match several elements
+     */
+    public static List<Finding> validate(final List<Selector> selectors, final List<Path> domSnapshots) {
+        final List<Finding> findings = new ArrayList<>();
+        final Map<Selector, Integer> maxMatches = new LinkedHashMap<>();
+        final Map<Selector, String> invalid = new HashMap<>();
+        try (Playwright playwright = Playwright.create();
+                Browser browser = playwright.chromium().launch()) {
+            final Page page = browser.newPage();
+            for (final Path snapshot : domSnapshots) {
+                page.setContent(Files.readString(snapshot, StandardCharsets.UTF_8));
+                for (final Selector selector : selectors) {
+                    if (selector.getValue() == null || selector.getValue().isBlank()
+                            || invalid.containsKey(selector)) {
+                        continue;
+                    }
+                    try {
+                        maxMatches.merge(selector, page.locator(selector.getValue()).count(), Math::max);
+                    } catch (PlaywrightException e) {
+                        invalid.put(selector, e.getMessage().split("\n")[0]);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read DOM snapshot: " + e.getMessage(), e);
+        }
+        invalid.forEach((selector, message) -> findings.add(new Finding(selector, "dom-invalid", Severity.ERROR,
+                "Playwright cannot parse the selector: " + message)));
+        maxMatches.forEach((selector, matches) -> {
+            if (matches == 0) {
+                findings.add(new Finding(selector, "dom-no-match", Severity.ERROR, String.format(
+                        "Matches no element in any of the %d DOM snapshot(s)", domSnapshots.size())));
+            } else if (matches > 1) {
+                findings.add(new Finding(selector, "dom-ambiguous", Severity.WARN, String.format(
+                        "Matches up to %d elements, actions on it fail in strict mode", matches)));
+            }
+        });
+        return findings;
+    }
+
+    /**
+     * Method to log the findings and write them to the report file.
+     *
+     * @param selectors:        analyzed selectors
+     * @param unsortedFindings: findings of the analysis
+     */
+    public static void report(final List<Selector> selectors, final List<Finding> unsortedFindings) {
+        final List<Finding> findings = new ArrayList<>(unsortedFindings);
+        findings.sort((a, b) -> b.getSeverity().compareTo(a.getSeverity()));
+        final Map<Severity, Long> counts = findings.stream()
+                .collect(Collectors.groupingBy(Finding::getSeverity, () -> new EnumMap<>(Severity.class),
+                        Collectors.counting()));
+        LOGGER.info("Analyzed {} selector(s): {} error(s), {} warning(s), {} info(s)", selectors.size(),
+                counts.getOrDefault(Severity.ERROR, 0L), counts.getOrDefault(Severity.WARN, 0L),
+                counts.getOrDefault(Severity.INFO, 0L));
+        for (final Finding finding : findings) {
+            final String line = String.format("%-5s %-40s %-22s %s [%s]", finding.getSeverity(),
+                    finding.getSelector().getName(), finding.getRule(), finding.getMessage(),
+                    finding.getSelector().getValue());
+            if (finding.getSeverity() == Severity.INFO) {
+                LOGGER.info(line);
+            } else {
+                LOGGER.warn(line);
+            }
+        }
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("selectors", selectors.stream().map(selector -> {
+            final Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", selector.getName());
+            entry.put("kind", selector.getKind());
+            entry.put("selector", selector.getValue());
+            return entry;
+        }).collect(Collectors.toList()));
+        report.put("findings", findings.stream().map(finding -> {
+            final Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("selector", finding.getSelector().getName());
+            entry.put("severity", finding.getSeverity());
+            entry.put("rule", finding.getRule());
+            entry.put("message", finding.getMessage());
+            return entry;
+        }).collect(Collectors.toList()));
+        final File reportFile = new File(REPORT_FILE);
+        try {
+            reportFile.getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+            LOGGER.info("Selector analysis written to {}", reportFile.getPath());
+        } catch (IOException e) {
+            LOGGER.warn("Could not write selector analysis: {}", e.getMessage());
+        }
+    }
+
+    private static boolean hasFindings(final List<Finding> findings, final Severity minimum) {
+        return findings.stream().anyMatch(finding -> finding.getSeverity().compareTo(minimum) >= 0);
+    }
+
+    /**
+     * Method to classify a selector the way Playwright does: selectors starting
+     * with {@code //}, {@code ..} or {@code (} are XPath, selectors using
+     * Playwright pseudo classes or engines can only be resolved by Playwright and
+     * all others are CSS.
+     *
+     * @param selector: selector string
+     * @return kind of the selector
+     */
+    public static Kind classify(final String selector) {
+        final String trimmed = selector == null ? "" : selector.trim();
+        if (trimmed.startsWith("/") || trimmed.startsWith("(") || trimmed.startsWith("..")
+                || trimmed.startsWith("xpath=")) {
+            return Kind.XPATH;
+        }
+        return PLAYWRIGHT_ONLY.matcher(trimmed).find() ? Kind.PLAYWRIGHT : Kind.CSS;
+    }
+
+    private static int countSteps(final Selector selector) {
+        final Pattern stepPattern = selector.getKind() == Kind.XPATH ? XPATH_STEP : CSS_STEP;
+        // Quoted values may contain separators, they do not count as steps
+        final String unquoted = selector.getValue().replaceAll("'[^']*'|\"[^\"]*\"", "''");
+        final long steps = stepPattern.matcher(unquoted).results().count();
+        return (int) (selector.getKind() == Kind.XPATH ? steps : steps + 1);
+    }
+
+    private static String rootMessage(final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() == null ? cause.toString() : cause.getMessage();
+    }
+
+    private static Object instantiate(final Class<?> selectorClass) {
+        try {
+            return selectorClass.getConstructor(Page.class).newInstance((Page) null);
+        } catch (ReflectiveOperationException e) {
+            try {
+                return selectorClass.getConstructor().newInstance();
+            } catch (ReflectiveOperationException ex) {
+                LOGGER.warn("Could not instantiate {}, only its static fields are analyzed",
+                        selectorClass.getName());
+                return null;
+            }
+        }
+    }
+
+    private static List<Path> listSnapshots(final Path path) {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> file.toString().endsWith(".html") || file.toString().endsWith(".htm"))
+                    .sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not list DOM snapshots in " + path, e);
+        }
+    }
+
+    /**
+     * Method to find the selector classes of a package on the classpath, in
+     * directories or jar files.
+     */
+    private static List<String> findClassNames(final String packageName) {
+        final String packagePath = packageName.replace('.', '/');
+        final TreeSet<String> classNames = new TreeSet<>();
+        try {
+            final Enumeration<URL> resources = Thread.currentThread().getContextClassLoader()
+                    .getResources(packagePath);
+            for (final URL resource : Collections.list(resources)) {
+                if ("jar".equals(resource.getProtocol())) {
+                    try (JarFile jarFile = ((JarURLConnection) resource.openConnection()).getJarFile()) {
+                        for (final JarEntry entry : Collections.list(jarFile.entries())) {
+                            final String name = entry.getName();
+                            if (name.startsWith(packagePath + "/") && name.indexOf('/', packagePath.length() + 1) < 0) {
+                                addClassName(classNames, packageName, name.substring(packagePath.length() + 1));
+                            }
+                        }
+                    }
+                } else if ("file".equals(resource.getProtocol())) {
+                    final File[] files = new File(resource.toURI()).listFiles();
+                    for (final File file : files == null ? new File[0] : files) {
+                        addClassName(classNames, packageName, file.getName());
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("Could not list the classes of package " + packageName, e);
+        }
+        return new ArrayList<>(classNames);
+    }
+
+    private static void addClassName(final TreeSet<String> classNames, final String packageName,
+            final String fileName) {
+        if (fileName.endsWith(SELECTORS_SUFFIX + ".class")) {
+            classNames.add(packageName + "." + fileName.substring(0, fileName.length() - ".class".length()));
+        }
+    }
+
+    /**
+     * A selector field of a selector class.
+     */
+    public static final class Selector {
+        private final String className;
+        private final String fieldName;
+        private final String value;
+        private final Kind kind;
+
+        private Selector(final String className, final String fieldName, final String value) {
+            this.className = className;
+            this.fieldName = fieldName;
+            this.value = value;
+            kind = classify(value);
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Method to get the name of the selector.
+         *
+         * @return name as Class.field
+         */
+        public String getName() {
+            return className + "." + fieldName;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+    }
+
+    /**
+     * A problem found in a selector.
+     */
+    public static final class Finding {
+        private final Selector selector;
+        private final String rule;
+        private final Severity severity;
+        private final String message;
+
+        private Finding(final Selector selector, final String rule, final Severity severity, final String message) {
+            this.selector = selector;
+            this.rule = rule;
+            this.severity = severity;
+            this.message = message;
+        }
+
+        public Selector getSelector() {
+            return selector;
+        }
+
+        public String getRule() {
+            return rule;
+        }
+
+        public Severity getSeverity() {
+            return severity;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * A lint rule: a pattern which is slow or brittle in selectors of a kind.
+     */
+    private static final class Rule {
+        private final String id;
+        private final Severity severity;
+        private final Kind kind;
+        private final Pattern pattern;
+        private final String message;
+
+        private Rule(final String id, final Severity severity, final Kind kind, final String regex,
+                final String message) {
+            this.id = id;
+            this.severity = severity;
+            this.kind = kind;
+            pattern = Pattern.compile(regex);
+            this.message = message;
+        }
+    }
+}
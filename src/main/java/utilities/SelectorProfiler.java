@@ -0,0 +1,272 @@
+package utilities;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.Logger;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.TimeoutError;
+
+/**
+ * The class {@code SelectorProfiler} measures what every selector of the
+ * page selector classes costs at run time. Locators handed out by the page
+ * object layer are wrapped, and every call which goes to the browser (waits,
+ * actions, reads) is timed and counted under the selector field it came from,
+ * e.g. {@code SettingsPageSelectors.workspaceEllipsis}. Timeouts, other
+ * failures, calls repeated after a failure in the same scenario and the number
+ * of elements a selector matched are recorded as well.
+ * <p>
+ * At the end of the run the selectors are written to the selectors performance
+ * report, sorted by total time, which shows the locators worth rewriting.
+ * Profiling is switched on with {@link #setEnabled(boolean)}; when it is off
+ * locators are not wrapped at all.
+ * <p>
+ * Playwright casts locators passed to its own API to its implementation, so a
+ * wrapped locator must be passed through {@link #unwrap(Locator)} before it is
+ * given to e.g. {@code PlaywrightAssertions.assertThat}; it also removes the
+ * wrapper of {@link PlaywrightInstrumentation}. Locators passed to methods of a
+ * wrapped locator are unwrapped automatically.
+ */
+public final class SelectorProfiler {
+
+    private static final Logger LOGGER = Log.getLogger(SelectorProfiler.class);
+    private static final String SELECTORS_PACKAGE = "pageselectors";
+    private static final Set<String> BUILDER_METHODS = Set.of("locator", "first", "last", "nth", "filter", "and",
+            "or", "getByAltText", "getByLabel", "getByPlaceholder", "getByRole", "getByTestId", "getByText",
+            "getByTitle", "frameLocator", "page", "toString", "hashCode", "equals");
+    private static final Pattern STRICT_MODE_MATCHES = Pattern.compile("resolved to (\\d+) elements");
+    private static final Map<String, SelectorStats> STATS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+    private static volatile Map<String, String> fieldNames;
+
+    private SelectorProfiler() {
+    }
+
+    /**
+     * Method to switch profiling on or off for locators wrapped from now on.
+     *
+     * @param enabled: true to profile selectors
+     */
+    public static void setEnabled(final boolean enabled) {
+        SelectorProfiler.enabled = enabled;
+    }
+
+    /**
+     * If selectors are profiled.
+     *
+     * @return true if locators are wrapped
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Method to wrap a locator so that its calls are profiled under the selector
+     * field of the selector.
+     *
+     * @param locator:  locator created for the selector
+     * @param selector: selector string of the locator
+     * @return profiled locator, the locator itself if profiling is off
+     */
+    public static Locator wrap(final Locator locator, final String selector) {
+        if (!enabled || isProfiled(locator)) {
+            return locator;
+        }
+        return wrapAs(locator, nameOf(selector));
+    }
+
+    /**
+     * Method to get the Playwright locator behind a profiled or instrumented
+     * locator.
+     *
+     * @param locator: locator which may be profiled
+     * @return unwrapped locator
+     */
+    public static Locator unwrap(final Locator locator) {
+        if (isProfiled(locator)) {
+            return PlaywrightInstrumentation.unwrap(((ProfilingHandler) Proxy.getInvocationHandler(locator)).target);
+        }
+        return PlaywrightInstrumentation.unwrap(locator);
+    }
+
+    private static boolean isProfiled(final Locator locator) {
+        return locator != null && Proxy.isProxyClass(locator.getClass())
+                && Proxy.getInvocationHandler(locator) instanceof ProfilingHandler;
+    }
+
+    private static Locator wrapAs(final Locator locator, final String name) {
+        return (Locator) Proxy.newProxyInstance(Locator.class.getClassLoader(), new Class<?>[] { Locator.class },
+                new ProfilingHandler(locator, name));
+    }
+
+    /**
+     * Method to get the selector field a selector string is declared in.
+     *
+     * @param selector: selector string
+     * @return Class.field, joined by a comma if several fields declare it, the
+     *         selector itself if no field does
+     */
+    private static String nameOf(final String selector) {
+        Map<String, String> names = fieldNames;
+        if (names == null) {
+            synchronized (SelectorProfiler.class) {
+                if (fieldNames == null) {
+                    final Map<String, String> byValue = new HashMap<>();
+                    for (final SelectorAnalyzer.Selector field : SelectorAnalyzer.findSelectors(SELECTORS_PACKAGE)) {
+                        if (field.getValue() != null) {
+                            byValue.merge(field.getValue(), field.getName(), (first, next) -> first + ", " + next);
+                        }
+                    }
+                    fieldNames = byValue;
+                }
+                names = fieldNames;
+            }
+        }
+        return names.getOrDefault(selector, selector);
+    }
+
+    /**
+     * Method to log the selector statistics as a table and write them to the
+     * selectors performance report, slowest selector first.
+     */
+    public static void writeReport() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        final List<Map.Entry<String, SelectorStats>> rows = new ArrayList<>(STATS.entrySet());
+        rows.sort(Comparator.comparingLong((Map.Entry<String, SelectorStats> row) -> row.getValue().totalNanos.sum())
+                .reversed());
+        final StringBuilder table = new StringBuilder(String.format("%n%-60s %7s %9s %7s %7s %8s %7s %7s %9s",
+                "selector", "calls", "totalMs", "avgMs", "maxMs", "timeouts", "errors", "retries", "matches"));
+        final List<Map<String, Object>> report = new ArrayList<>();
+        for (final Map.Entry<String, SelectorStats> row : rows) {
+            final Map<String, Object> stats = row.getValue().toMap();
+            table.append(String.format("%n%-60s %7d %9d %7d %7d %8d %7d %7d %9s", row.getKey(), stats.get("calls"),
+                    stats.get("totalMillis"), stats.get("averageMillis"), stats.get("maxMillis"),
+                    stats.get("timeouts"), stats.get("failures"), stats.get("retries"), stats.get("matches")));
+            final Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("selector", row.getKey());
+            entry.putAll(stats);
+            report.add(entry);
+        }
+        LOGGER.info("Selector statistics, slowest first:{}", table);
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("selectors", report);
+        PerformanceReport.write("selectors", data);
+    }
+
+    /**
+     * Times the calls of a locator which go to the browser.
+     */
+    private static final class ProfilingHandler implements InvocationHandler {
+        private final Locator target;
+        private final String name;
+
+        private ProfilingHandler(final Locator target, final String name) {
+            this.target = target;
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final Object[] targetArgs = PlaywrightInstrumentation.unwrapArgs(args);
+            if (BUILDER_METHODS.contains(method.getName())) {
+                final Object result = call(method, targetArgs);
+                return result instanceof Locator ? wrapAs((Locator) result, name) : result;
+            }
+            final SelectorStats stats = STATS.computeIfAbsent(name, key -> new SelectorStats());
+            final ScenarioScope scope = ScenarioScope.current();
+            final boolean retry = scope.failedSelectors().remove(name);
+            final long start = System.nanoTime();
+            try {
+                final Object result = call(method, targetArgs);
+                stats.record(System.nanoTime() - start, retry, null);
+                if ("count".equals(method.getName())) {
+                    stats.recordMatches((Integer) result);
+                }
+                return result;
+            } catch (RuntimeException e) {
+                stats.record(System.nanoTime() - start, retry, e);
+                scope.failedSelectors().add(name);
+                final Matcher matches = STRICT_MODE_MATCHES.matcher(String.valueOf(e.getMessage()));
+                if (matches.find()) {
+                    stats.recordMatches(Integer.parseInt(matches.group(1)));
+                }
+                throw e;
+            }
+        }
+
+        private Object call(final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Calls, time, failures and matches of one selector.
+     */
+    private static final class SelectorStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAccumulator minMatches = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maxMatches = new LongAccumulator(Math::max, -1);
+
+        private void record(final long elapsedNanos, final boolean retry, final RuntimeException failure) {
+            calls.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            if (retry) {
+                retries.increment();
+            }
+            if (failure instanceof TimeoutError) {
+                timeouts.increment();
+            } else if (failure != null) {
+                failures.increment();
+            }
+        }
+
+        private void recordMatches(final int matches) {
+            minMatches.accumulate(matches);
+            maxMatches.accumulate(matches);
+        }
+
+        private Map<String, Object> toMap() {
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            final long count = calls.sum();
+            stats.put("calls", count);
+            stats.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+            stats.put("averageMillis", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / count));
+            stats.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            stats.put("timeouts", timeouts.sum());
+            stats.put("failures", failures.sum());
+            stats.put("retries", retries.sum());
+            stats.put("matches", maxMatches.get() < 0 ? "-"
+                    : minMatches.get() == maxMatches.get() ? String.valueOf(maxMatches.get())
+                            : minMatches.get() + "-" + maxMatches.get());
+            return stats;
+        }
+    }
+}
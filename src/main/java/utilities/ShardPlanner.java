@@ -0,0 +1,110 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The class {@code ShardPlanner} schedules scenarios from their historical
+ * durations. It splits scenarios between shards, i.e. JVMs which each run a
+ * part of the suite, and orders the scenarios of a run longest-first.
+ * <p>
+ * When splitting, scenarios are balanced by their
+ * historical duration rather than by count: the longest scenario is assigned
+ * first, always to the shard with the least total duration so far. Scenarios
+ * without a known duration are estimated with the average known duration. Ties
+ * are broken by scenario key and shard index, so every shard computes the same
+ * plan from the same durations.
+ */
+public final class ShardPlanner {
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * Method to select the scenarios of one shard.
+     *
+     * @param scenarios:  all scenarios of the run
+     * @param keyOf:      function returning the duration key of a scenario
+     * @param durations:  known durations in milliseconds by scenario key
+     * @param shardIndex: index of the shard, starting at 0
+     * @param shardTotal: number of shards
+     * @param <T>         type of the scenarios
+     * @return scenarios of the shard, in their original order
+     */
+    public static <T> List<T> select(final List<T> scenarios, final Function<T, String> keyOf,
+            final Map<String, Long> durations, final int shardIndex, final int shardTotal) {
+        if (shardTotal <= 1) {
+            return scenarios;
+        }
+        final long estimate = averageDuration(durations);
+        final List<Integer> order = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator
+                .comparingLong((Integer i) -> durations.getOrDefault(keyOf.apply(scenarios.get(i)), estimate))
+                .reversed().thenComparing(i -> keyOf.apply(scenarios.get(i))));
+
+        final long[] shardLoads = new long[shardTotal];
+        final boolean[] selected = new boolean[scenarios.size()];
+        for (final int i : order) {
+            int lightestShard = 0;
+            for (int shard = 1; shard < shardTotal; shard++) {
+                if (shardLoads[shard] < shardLoads[lightestShard]) {
+                    lightestShard = shard;
+                }
+            }
+            shardLoads[lightestShard] += durations.getOrDefault(keyOf.apply(scenarios.get(i)), estimate);
+            selected[i] = lightestShard == shardIndex;
+        }
+
+        final List<T> shardScenarios = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            if (selected[i]) {
+                shardScenarios.add(scenarios.get(i));
+            }
+        }
+        return shardScenarios;
+    }
+
+    /**
+     * Method to order scenarios longest-first, so that long scenarios do not
+     * start last and stretch the run while the other workers are idle. Scenarios
+     * without a known duration follow in their original order.
+     *
+     * @param scenarios: scenarios of the run
+     * @param keyOf:     function returning the duration key of a scenario
+     * @param durations: known durations in milliseconds by scenario key
+     * @param <T>        type of the scenarios
+     * @return scenarios in the order they should be started
+     */
+    public static <T> List<T> orderLongestFirst(final List<T> scenarios, final Function<T, String> keyOf,
+            final Map<String, Long> durations) {
+        final List<T> ordered = new ArrayList<>(scenarios);
+        // The sort is stable, so unknown scenarios keep their original order
+        ordered.sort(Comparator.comparingLong((T scenario) -> durations.getOrDefault(keyOf.apply(scenario), -1L))
+                .reversed());
+        return ordered;
+    }
+
+    /**
+     * Method to get the average of the known durations.
+     *
+     * @param durations: known durations in milliseconds
+     * @return average duration, 1 if no duration is known so that scenarios are
+     *         balanced by count
+     */
+    private static long averageDuration(final Map<String, Long> durations) {
+        if (durations.isEmpty()) {
+            return 1;
+        }
+        long total = 0;
+        for (final long duration : durations.values()) {
+            total += duration;
+        }
+        return Math.max(1, total / durations.size());
+    }
+}
@@ -17,7 +17,10 @@ public final class ThreadUtils {
      * number of seconds.
      *
      * @param secs: time to sleep in seconds
+     * @deprecated a fixed sleep either waits too long or not long enough, wait
+     *             for the actual condition with {@link WaitUtils} instead.
      */
+    @Deprecated
     public static void sleep(final int secs) {
         try {
             Thread.sleep(secs * 1000);
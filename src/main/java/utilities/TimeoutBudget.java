@@ -0,0 +1,139 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@code TimeoutBudget} caps the total time a scenario may spend. It
+ * is started when the scenario starts, and every wait asks it for its timeout:
+ * a wait gets the smaller of its own timeout and the time left in the budget,
+ * so a broken scenario cannot stack full timeouts for minutes. Once the budget
+ * is used up, the next wait fails at once with an {@link ExhaustedException}
+ * which breaks down where the time went.
+ */
+public final class TimeoutBudget {
+
+    private static final TimeoutBudget UNLIMITED = new TimeoutBudget(0);
+
+    private final long budgetMillis;
+    private final long startNanos = System.nanoTime();
+    private final Deadline deadline;
+    private final Map<String, LongAdder> spentMillis = new ConcurrentHashMap<>();
+    private volatile boolean exhausted;
+
+    private TimeoutBudget(final long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        deadline = Deadline.after(budgetMillis);
+    }
+
+    /**
+     * Method to start a budget.
+     *
+     * @param budgetMillis: total time of the scenario, 0 for no limit
+     * @return started budget
+     */
+    public static TimeoutBudget start(final long budgetMillis) {
+        return budgetMillis <= 0 ? UNLIMITED : new TimeoutBudget(budgetMillis);
+    }
+
+    /**
+     * Method to get a budget without limit, used outside of scenarios.
+     *
+     * @return unlimited budget
+     */
+    public static TimeoutBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * If the budget limits the time of the scenario.
+     *
+     * @return false for an unlimited budget
+     */
+    public boolean isLimited() {
+        return this != UNLIMITED;
+    }
+
+    /**
+     * Method to get the timeout of a wait within the budget.
+     *
+     * @param timeoutInMillis: timeout the wait would use on its own
+     * @return the smaller of the timeout and the time left, at least 1 ms
+     * @throws ExhaustedException if no time is left
+     */
+    public long clamp(final long timeoutInMillis) {
+        if (!isLimited()) {
+            return timeoutInMillis;
+        }
+        final long remainingMillis = deadline.remainingMillis();
+        if (remainingMillis <= 0) {
+            exhausted = true;
+            throw new ExhaustedException(describe());
+        }
+        return Math.max(1, Math.min(timeoutInMillis, remainingMillis));
+    }
+
+    /**
+     * Method to add the time a wait took to the breakdown of the budget.
+     *
+     * @param waitName:      kind of wait
+     * @param elapsedMillis: time the wait took
+     */
+    public void charge(final String waitName, final long elapsedMillis) {
+        if (isLimited()) {
+            spentMillis.computeIfAbsent(waitName, name -> new LongAdder()).add(elapsedMillis);
+        }
+    }
+
+    /**
+     * If the budget was used up, checked at the end of every step so a scenario
+     * whose waits swallowed the {@link ExhaustedException} still fails.
+     *
+     * @return true if no time is left
+     */
+    public boolean isExhausted() {
+        if (isLimited() && deadline.isExpired()) {
+            exhausted = true;
+        }
+        return exhausted;
+    }
+
+    /**
+     * Method to describe where the time of the budget went, longest wait kind
+     * first. Time not spent in waits is reported as other.
+     *
+     * @return breakdown of the budget
+     */
+    public String describe() {
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        final List<Map.Entry<String, Long>> spent = new ArrayList<>();
+        long waitedMillis = 0;
+        for (final Map.Entry<String, LongAdder> entry : spentMillis.entrySet()) {
+            spent.add(Map.entry(entry.getKey(), entry.getValue().sum()));
+            waitedMillis += entry.getValue().sum();
+        }
+        spent.add(Map.entry("other", Math.max(0, elapsedMillis - waitedMillis)));
+        spent.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        final StringBuilder description = new StringBuilder(String.format(
+                "Scenario timeout budget of %d ms, %d ms elapsed:", budgetMillis, elapsedMillis));
+        for (final Map.Entry<String, Long> entry : spent) {
+            description.append(String.format("%n  %-24s %8d ms", entry.getKey(), entry.getValue()));
+        }
+        return description.toString();
+    }
+
+    /**
+     * Thrown by a wait when the timeout budget of the scenario is used up.
+     */
+    public static final class ExhaustedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public ExhaustedException(final String message) {
+            super(message);
+        }
+    }
+}
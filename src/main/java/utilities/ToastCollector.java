@@ -0,0 +1,203 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+
+/**
+ * The class {@code ToastCollector} captures the toast notifications of a page in
+ * the background. The observer of {@code scripts/toast-observer.js} reports
+ * every toast to an exposed binding as soon as it is shown, and the toast is
+ * queued on the Java side with its text and the time it appeared. Page objects
+ * take toasts from the queue instead of waiting for the toast element, so a
+ * toast which was dismissed early or is stacked under another one is not
+ * missed, and reading it does not wait at all once it arrived.
+ * <p>
+ * Toasts are taken in the order they appeared. Playwright calls the binding on
+ * the thread which is inside a Playwright call, so {@link #next(long)} waits
+ * with {@link WaitUtils#until(Page, java.util.function.BooleanSupplier, long)}
+ * to keep the binding calls flowing while it waits.
+ * <p>
+ * A collector holds its page and is dropped when the page closes, which
+ * includes closing its context or browser.
+ */
+public final class ToastCollector {
+
+    /**
+     * File name of the observer script in the scripts directory of the
+     * classpath.
+     */
+    public static final String OBSERVER_SCRIPT = "toast-observer.js";
+    private static final String BINDING = "__toastCollected";
+    private static final Map<Page, ToastCollector> COLLECTORS = Collections.synchronizedMap(new HashMap<>());
+
+    private final Page page;
+    private final ConcurrentLinkedQueue<Toast> pending = new ConcurrentLinkedQueue<>();
+    private final List<Toast> taken = Collections.synchronizedList(new ArrayList<>());
+
+    private ToastCollector(final Page page) {
+        this.page = page;
+    }
+
+    /**
+     * Method to install the observer and its binding in every page of a browser
+     * context.
+     *
+     * @param browserContext: context whose pages show toasts
+     */
+    public static void install(final BrowserContext browserContext) {
+        browserContext.exposeBinding(BINDING, (source, args) -> {
+            of(source.page()).pending.add(new Toast((String) args[0], ((Number) args[1]).longValue()));
+            return null;
+        });
+        browserContext.addInitScript(ScriptResources.get(OBSERVER_SCRIPT));
+    }
+
+    /**
+     * Method to get the collector of a page, created with the first toast of the
+     * page or the first time it is asked for.
+     *
+     * @param page: Playwright Page object
+     * @return collector of the page
+     */
+    public static ToastCollector of(final Page page) {
+        final Page key = PlaywrightInstrumentation.unwrap(page);
+        synchronized (COLLECTORS) {
+            ToastCollector collector = COLLECTORS.get(key);
+            if (collector == null) {
+                collector = new ToastCollector(page);
+                COLLECTORS.put(key, collector);
+                page.onClose(COLLECTORS::remove);
+            }
+            return collector;
+        }
+    }
+
+    /**
+     * Method to mark the toasts collected so far as stale, right before the
+     * action whose toast is read next, so that {@link #next(long)} returns the
+     * first toast shown after that action and not one nobody read before.
+     */
+    public void skipCollected() {
+        for (Toast toast = pending.poll(); toast != null; toast = pending.poll()) {
+            taken.add(toast);
+        }
+    }
+
+    /**
+     * Method to take the oldest toast which was not taken yet, waiting for one
+     * if none is queued.
+     *
+     * @param timeoutInMillis: maximum time to wait
+     * @return toast
+     * @throws TimeoutError if no toast appeared within the timeout
+     */
+    public Toast next(final long timeoutInMillis) {
+        return next(text -> true, timeoutInMillis);
+    }
+
+    /**
+     * Method to take the oldest toast whose text matches, waiting for one if
+     * none is queued. Older toasts which do not match are dropped.
+     *
+     * @param textMatches:     condition on the text of the toast
+     * @param timeoutInMillis: maximum time to wait
+     * @return matching toast
+     * @throws TimeoutError if no matching toast appeared within the timeout
+     */
+    public Toast next(final Predicate<String> textMatches, final long timeoutInMillis) {
+        final Toast[] found = new Toast[1];
+        final boolean appeared = WaitUtils.until(page, () -> {
+            for (Toast toast = pending.poll(); toast != null; toast = pending.poll()) {
+                taken.add(toast);
+                if (textMatches.test(toast.getText())) {
+                    found[0] = toast;
+                    return true;
+                }
+            }
+            return false;
+        }, timeoutInMillis);
+        if (!appeared) {
+            throw new TimeoutError(String.format("No matching toast within %d ms, toasts seen: %s", timeoutInMillis,
+                    getToasts()));
+        }
+        return found[0];
+    }
+
+    /**
+     * Method to get the oldest toast which was not taken yet, waiting for one if
+     * none is queued. The toast is not taken, so it is still returned by
+     * {@link #next(long)}.
+     *
+     * @param timeoutInMillis: maximum time to wait
+     * @return oldest toast not taken yet
+     * @throws TimeoutError if no toast appeared within the timeout
+     */
+    public Toast peek(final long timeoutInMillis) {
+        if (!WaitUtils.until(page, () -> pending.peek() != null, timeoutInMillis)) {
+            throw new TimeoutError(String.format("No toast within %d ms, toasts seen: %s", timeoutInMillis,
+                    getToasts()));
+        }
+        return pending.peek();
+    }
+
+    /**
+     * Method to get the toasts of the page which were taken or are queued, in
+     * the order they appeared.
+     *
+     * @return toasts of the page
+     */
+    public List<Toast> getToasts() {
+        final List<Toast> toasts;
+        synchronized (taken) {
+            toasts = new ArrayList<>(taken);
+        }
+        toasts.addAll(pending);
+        return toasts;
+    }
+
+    /**
+     * A toast as it was shown in the page.
+     */
+    public static final class Toast {
+        private final String text;
+        private final long timestampMillis;
+
+        private Toast(final String text, final long timestampMillis) {
+            this.text = text;
+            this.timestampMillis = timestampMillis;
+        }
+
+        /**
+         * Method to get the text of the toast, with surrounding and repeated
+         * whitespace removed.
+         *
+         * @return text of the toast
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Method to get when the toast appeared, by the clock of the browser.
+         *
+         * @return epoch time in milliseconds
+         */
+        public long getTimestampMillis() {
+            return timestampMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("'%s' at %d", text, timestampMillis);
+        }
+    }
+}
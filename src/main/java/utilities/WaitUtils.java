@@ -0,0 +1,281 @@
+package utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import org.apache.logging.log4j.Logger;
+import org.opentest4j.AssertionFailedError;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.assertions.LocatorAssertions;
+import com.microsoft.playwright.assertions.PlaywrightAssertions;
+import com.microsoft.playwright.options.WaitForSelectorState;
+
+/**
+ * The class {@link WaitUtils} is the single place where the framework waits for
+ * a condition. Every wait has a deadline and returns as soon as the condition
+ * holds. Waits on the page are left to Playwright, which re-checks them when
+ * the DOM changes instead of on a fixed interval; conditions outside of the
+ * browser are polled with a backoff which starts short and grows. How long
+ * every kind of wait took is recorded and written to the waits performance
+ * report.
+ * <p>
+ * No wait outlasts the {@link TimeoutBudget} of the scenario: its timeout is
+ * cut to the time left in the budget, and once the budget is used up the wait
+ * throws {@link TimeoutBudget.ExhaustedException} instead of waiting.
+ */
+public final class WaitUtils {
+
+    private static final Logger LOGGER = Log.getLogger(WaitUtils.class);
+    private static final long INITIAL_POLL_MILLIS = 5;
+    private static final long MAX_POLL_MILLIS = 250;
+    private static final Map<String, WaitStats> STATS = new ConcurrentHashMap<>();
+
+    private WaitUtils() {
+    }
+
+    /**
+     * Method to get the timeout of a wait within the timeout budget of the
+     * scenario running on the current thread. Waits outside of this class use
+     * it for the timeouts they pass to Playwright.
+     *
+     * @param timeoutInMillis: timeout the wait would use on its own
+     * @return the smaller of the timeout and the time left in the budget
+     * @throws TimeoutBudget.ExhaustedException if the budget is used up
+     */
+    public static long budgeted(final long timeoutInMillis) {
+        return ScenarioScope.current().getTimeoutBudget().clamp(timeoutInMillis);
+    }
+
+    /**
+     * Method to wait until an element is hidden or detached.
+     *
+     * @param locator:         Playwright Locator object
+     * @param timeoutInMillis: maximum time to wait
+     * @return true if the element is hidden, false if the timeout passed
+     */
+    public static boolean untilHidden(final Locator locator, final long timeoutInMillis) {
+        return untilState(locator, WaitForSelectorState.HIDDEN, timeoutInMillis, "untilHidden");
+    }
+
+    /**
+     * Method to wait until an element is visible.
+     *
+     * @param locator:         Playwright Locator object
+     * @param timeoutInMillis: maximum time to wait
+     * @return true if the element is visible, false if the timeout passed
+     */
+    public static boolean untilVisible(final Locator locator, final long timeoutInMillis) {
+        return untilState(locator, WaitForSelectorState.VISIBLE, timeoutInMillis, "untilVisible");
+    }
+
+    private static boolean untilState(final Locator locator, final WaitForSelectorState state,
+            final long timeoutInMillis, final String waitName) {
+        final long start = System.nanoTime();
+        try {
+            locator.waitFor(new Locator.WaitForOptions().setState(state).setTimeout(budgeted(timeoutInMillis)));
+            return record(waitName, start, true);
+        } catch (PlaywrightException e) {
+            return record(waitName, start, false);
+        }
+    }
+
+    /**
+     * Method to wait until the trimmed text of an element equals the expected
+     * text.
+     *
+     * @param locator:         Playwright Locator object
+     * @param expectedText:    expected text
+     * @param timeoutInMillis: maximum time to wait
+     * @return true if the text matched, false if the timeout passed
+     */
+    public static boolean untilTextEquals(final Locator locator, final String expectedText,
+            final long timeoutInMillis) {
+        final long start = System.nanoTime();
+        try {
+            PlaywrightAssertions.assertThat(SelectorProfiler.unwrap(locator)).hasText(expectedText,
+                    new LocatorAssertions.HasTextOptions().setTimeout(budgeted(timeoutInMillis)));
+            return record("untilTextEquals", start, true);
+        } catch (AssertionFailedError | PlaywrightException e) {
+            return record("untilTextEquals", start, false);
+        }
+    }
+
+    /**
+     * Method to wait until the text of an element contains the expected text.
+     *
+     * @param locator:         Playwright Locator object
+     * @param substring:       expected part of the text
+     * @param timeoutInMillis: maximum time to wait
+     * @return true if the text contains the substring, false if the timeout
+     *         passed
+     */
+    public static boolean untilTextContains(final Locator locator, final String substring,
+            final long timeoutInMillis) {
+        final long start = System.nanoTime();
+        try {
+            PlaywrightAssertions.assertThat(SelectorProfiler.unwrap(locator)).containsText(substring,
+                    new LocatorAssertions.ContainsTextOptions().setTimeout(budgeted(timeoutInMillis)));
+            return record("untilTextContains", start, true);
+        } catch (AssertionFailedError | PlaywrightException e) {
+            return record("untilTextContains", start, false);
+        }
+    }
+
+    /**
+     * Method to wait until a JavaScript function evaluated in the page returns a
+     * truthy value.
+     *
+     * @param page:            Playwright Page object
+     * @param expression:      JavaScript function to evaluate
+     * @param arg:             argument passed to the function, may be null
+     * @param timeoutInMillis: maximum time to wait
+     * @return true if the function returned a truthy value, false if the timeout
+     *         passed
+     */
+    public static boolean untilFunction(final Page page, final String expression, final Object arg,
+            final long timeoutInMillis) {
+        final long start = System.nanoTime();
+        try {
+            page.waitForFunction(expression, arg,
+                    new Page.WaitForFunctionOptions().setTimeout(budgeted(timeoutInMillis)));
+            return record("untilFunction", start, true);
+        } catch (PlaywrightException e) {
+            return record("untilFunction", start, false);
+        }
+    }
+
+    /**
+     * Method to wait until a condition on the Java side holds, e.g. a value
+     * updated by a page event. Page events keep being delivered while waiting.
+     * The condition must not call Playwright itself.
+     *
+     * @param page:            Playwright Page object whose events update the
+     *                         condition
+     * @param condition:       condition to wait for
+     * @param timeoutInMillis: maximum time to wait
+     * @return true if the condition holds, false if the timeout passed
+     */
+    public static boolean until(final Page page, final BooleanSupplier condition, final long timeoutInMillis) {
+        final long start = System.nanoTime();
+        if (condition.getAsBoolean()) {
+            return record("untilCondition", start, true);
+        }
+        try {
+            page.waitForCondition(condition, new Page.WaitForConditionOptions().setTimeout(budgeted(timeoutInMillis)));
+            return record("untilCondition", start, true);
+        } catch (PlaywrightException e) {
+            return record("untilCondition", start, false);
+        }
+    }
+
+    /**
+     * Method to wait until a condition which does not depend on a page holds. It
+     * is polled with a backoff, starting after a few milliseconds and growing up
+     * to a quarter second.
+     *
+     * @param condition:       condition to wait for
+     * @param timeoutInMillis: maximum time to wait
+     * @return true if the condition holds, false if the timeout passed or the
+     *         thread was interrupted
+     */
+    public static boolean until(final BooleanSupplier condition, final long timeoutInMillis) {
+        final long start = System.nanoTime();
+        final Deadline deadline = Deadline.after(budgeted(timeoutInMillis));
+        long pollMillis = INITIAL_POLL_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (deadline.isExpired() || Thread.currentThread().isInterrupted()) {
+                return record("untilPolled", start, false);
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(Math.min(pollMillis, deadline.remainingMillis())));
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+        return record("untilPolled", start, true);
+    }
+
+    /**
+     * Method to wait until the browser rendered a number of frames, e.g. to let a
+     * hover effect apply before clicking. It returns as soon as the frames are
+     * painted instead of after a fixed delay.
+     *
+     * @param page:   Playwright Page object
+     * @param frames: number of animation frames to wait for
+     */
+    public static void untilAnimationFrames(final Page page, final int frames) {
+        final long start = System.nanoTime();
+        page.evaluate("frames => new Promise(resolve => { const next = left => left > 0 ? "
+                + "requestAnimationFrame(() => next(left - 1)) : resolve(); next(frames); })", frames);
+        record("untilAnimationFrames", start, true);
+    }
+
+    /**
+     * Method to record how long a wait took, and charge it to the timeout
+     * budget of the scenario.
+     *
+     * @param waitName:   kind of wait
+     * @param startNanos: {@link System#nanoTime()} when the wait started
+     * @param satisfied:  if the condition held before the deadline
+     * @return satisfied
+     */
+    static boolean record(final String waitName, final long startNanos, final boolean satisfied) {
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        STATS.computeIfAbsent(waitName, name -> new WaitStats()).add(elapsedMillis, satisfied);
+        ScenarioScope.current().getTimeoutBudget().charge(waitName, elapsedMillis);
+        if (!satisfied) {
+            LOGGER.debug("{} timed out after {} ms", waitName, elapsedMillis);
+        }
+        return satisfied;
+    }
+
+    /**
+     * Method to log the wait statistics and write them to the waits performance
+     * report.
+     */
+    public static void writeReport() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        final Map<String, Object> report = new TreeMap<>();
+        STATS.forEach((waitName, waitStats) -> report.put(waitName, waitStats.toMap()));
+        LOGGER.info("Wait statistics: {}", report);
+        PerformanceReport.write("waits", report);
+    }
+
+    /**
+     * Count, total and maximum time of one kind of wait.
+     */
+    private static final class WaitStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+        private void add(final long elapsedMillis, final boolean satisfied) {
+            count.increment();
+            totalMillis.add(elapsedMillis);
+            maxMillis.accumulate(elapsedMillis);
+            if (!satisfied) {
+                timeouts.increment();
+            }
+        }
+
+        private Map<String, Object> toMap() {
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", count.sum());
+            stats.put("timeouts", timeouts.sum());
+            stats.put("totalMillis", totalMillis.sum());
+            stats.put("averageMillis", count.sum() == 0 ? 0 : totalMillis.sum() / count.sum());
+            stats.put("maxMillis", maxMillis.get());
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * The class {@code WebVitals} samples the front-end performance of the portal
+ * while the scenarios run. The collector of {@code scripts/web-vitals.js}
+ * records Navigation Timing, paint, largest contentful paint, layout shift and
+ * long task entries for every page load and every route change of the single
+ * page app. After a navigation the page objects call {@link #capture(Page)},
+ * which collects the samples of the segments which ended and were not
+ * collected yet, keeps them for the scenario and adds them to the statistics of
+ * their URL pattern, where ids in the path are replaced by {@code {id}}. The
+ * segment still open is collected by a later call, or ended and collected by
+ * {@link #capture(Page, boolean)} at the end of the scenario. The segments a
+ * full page load ended in the old document are carried to the new one in
+ * session storage, so the capture after a navigation returns the load of the
+ * page navigated away from.
+ * <p>
+ * The samples of a scenario are attached to it, and the statistics per URL
+ * pattern are written to the web-vitals performance report at the end of the
+ * run. Collection is switched on with {@link #setEnabled(boolean)}.
+ */
+public final class WebVitals {
+
+    /**
+     * File name of the collector script in the scripts directory of the
+     * classpath.
+     */
+    public static final String COLLECTOR_SCRIPT = "web-vitals.js";
+    private static final Logger LOGGER = Log.getLogger(WebVitals.class);
+    private static final String DRAIN_EXPRESSION = "endCurrent => window.__webVitals ? window.__webVitals.drain(endCurrent) : []";
+    private static final Pattern ID_SEGMENT = Pattern
+            .compile("/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F-]{27}|[0-9a-fA-F]{24,}|[A-Za-z]+-\\d+)(?=/|$)");
+    private static final List<String> TIMINGS = List.of("ttfbMs", "fcpMs", "lcpMs", "domContentLoadedMs", "loadMs",
+            "readyMs", "longTaskMs");
+    private static final Map<String, PatternStats> BY_PATTERN = new ConcurrentHashMap<>();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static volatile boolean enabled;
+
+    private WebVitals() {
+    }
+
+    /**
+     * Method to switch collection on or off.
+     *
+     * @param enabled: true to collect web performance metrics
+     */
+    public static void setEnabled(final boolean enabled) {
+        WebVitals.enabled = enabled;
+    }
+
+    /**
+     * If web performance metrics are collected.
+     *
+     * @return true if the collector is installed
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Method to install the collector in every document of a browser context.
+     *
+     * @param browserContext: context whose pages are sampled
+     */
+    public static void install(final BrowserContext browserContext) {
+        if (enabled) {
+            browserContext.addInitScript(ScriptResources.get(COLLECTOR_SCRIPT));
+        }
+    }
+
+    /**
+     * Method to collect the samples of the page which ended and were not
+     * collected yet and add them to the scenario and the statistics of their URL
+     * pattern. The current segment is still open and is collected by a later
+     * call.
+     *
+     * @param page: Playwright Page object
+     * @return collected samples, empty if collection is off
+     */
+    public static List<Map<String, Object>> capture(final Page page) {
+        return capture(page, false);
+    }
+
+    /**
+     * Method to collect the samples of the page which ended and were not
+     * collected yet and add them to the scenario and the statistics of their URL
+     * pattern.
+     *
+     * @param page:       Playwright Page object
+     * @param endCurrent: true to end the current segment and collect it too, at
+     *                    the end of the scenario
+     * @return collected samples, empty if collection is off
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, Object>> capture(final Page page, final boolean endCurrent) {
+        if (!enabled || page == null) {
+            return Collections.emptyList();
+        }
+        final List<Object> drained;
+        try {
+            drained = (List<Object>) page.evaluate(DRAIN_EXPRESSION, endCurrent);
+        } catch (PlaywrightException e) {
+            LOGGER.debug("Could not collect web vitals: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+        final ScenarioScope scope = ScenarioScope.current();
+        final List<Map<String, Object>> samples = new ArrayList<>();
+        for (final Object entry : drained) {
+            final Map<String, Object> sample = new LinkedHashMap<>((Map<String, Object>) entry);
+            final String urlPattern = urlPattern((String) sample.get("url"));
+            sample.put("urlPattern", urlPattern);
+            sample.put("step", scope.getStepName());
+            BY_PATTERN.computeIfAbsent(urlPattern, key -> new PatternStats()).add(sample);
+            if (scope.isScenario()) {
+                scope.webVitals().add(sample);
+            }
+            samples.add(sample);
+        }
+        return samples;
+    }
+
+    /**
+     * Method to get the samples collected in the scenario running on the current
+     * thread as JSON, to attach them to the scenario.
+     *
+     * @return samples as a JSON array, null if none were collected
+     */
+    public static String scenarioReport() {
+        final List<Map<String, Object>> samples = ScenarioScope.current().webVitals();
+        if (samples.isEmpty()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(samples);
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Could not write web vitals of the scenario: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Method to get the URL pattern of a URL: its path without query and
+     * fragment, with numeric ids, UUIDs, hex ids and keys like {@code REQ-42}
+     * replaced by {@code {id}}.
+     *
+     * @param url: URL of a page
+     * @return URL pattern
+     */
+    static String urlPattern(final String url) {
+        if (url == null) {
+            return "unknown";
+        }
+        String path = url.replaceFirst("[?#].*$", "");
+        String previous;
+        do {
+            previous = path;
+            path = ID_SEGMENT.matcher(path).replaceAll("/{id}");
+        } while (!path.equals(previous));
+        return path;
+    }
+
+    /**
+     * Method to log the statistics per URL pattern and write them to the
+     * web-vitals performance report.
+     */
+    public static void writeReport() {
+        if (BY_PATTERN.isEmpty()) {
+            return;
+        }
+        final Map<String, Object> report = new TreeMap<>();
+        BY_PATTERN.forEach((urlPattern, stats) -> report.put(urlPattern, stats.toMap()));
+        LOGGER.info("Web vitals per URL pattern: {}", report);
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("urlPatterns", report);
+        PerformanceReport.write("web-vitals", data);
+    }
+
+    /**
+     * Samples of one URL pattern.
+     */
+    private static final class PatternStats {
+        private final LongAdder navigations = new LongAdder();
+        private final LongAdder routeChanges = new LongAdder();
+        private final LongAdder longTasks = new LongAdder();
+        private final DoubleAdder clsTotal = new DoubleAdder();
+        private final DoubleAccumulator clsMax = new DoubleAccumulator(Math::max, 0);
+        private final Map<String, LatencyHistogram> timings = new ConcurrentHashMap<>();
+
+        private void add(final Map<String, Object> sample) {
+            if ("navigation".equals(sample.get("type"))) {
+                navigations.increment();
+            } else {
+                routeChanges.increment();
+            }
+            longTasks.add(((Number) sample.getOrDefault("longTasks", 0)).longValue());
+            final double cls = ((Number) sample.getOrDefault("cls", 0)).doubleValue();
+            clsTotal.add(cls);
+            clsMax.accumulate(cls);
+            for (final String timing : TIMINGS) {
+                final Object millis = sample.get(timing);
+                if (millis instanceof Number) {
+                    timings.computeIfAbsent(timing, key -> new LatencyHistogram())
+                            .record((long) (((Number) millis).doubleValue() * 1_000_000));
+                }
+            }
+        }
+
+        private Map<String, Object> toMap() {
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            final long samples = navigations.sum() + routeChanges.sum();
+            stats.put("navigations", navigations.sum());
+            stats.put("routeChanges", routeChanges.sum());
+            for (final String timing : TIMINGS) {
+                final LatencyHistogram histogram = timings.get(timing);
+                if (histogram != null) {
+                    final Map<String, Object> summary = histogram.toMap();
+                    final Map<String, Object> percentiles = new LinkedHashMap<>();
+                    percentiles.put("p50", summary.get("p50Millis"));
+                    percentiles.put("p95", summary.get("p95Millis"));
+                    percentiles.put("max", summary.get("maxMillis"));
+                    stats.put(timing, percentiles);
+                }
+            }
+            stats.put("clsMean", samples == 0 ? 0 : Math.round(clsTotal.sum() / samples * 10000) / 10000.0);
+            stats.put("clsMax", clsMax.get());
+            stats.put("longTasks", longTasks.sum());
+            return stats;
+        }
+    }
+}
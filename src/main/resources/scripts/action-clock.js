@@ -0,0 +1,17 @@
+/*
+ * In-page clock of user actions. It is installed in every document of a
+ * browser context and used by the PerformanceBudget class. A capture-phase
+ * click listener stores the browser time of the last click as
+ * window.__actionClock.lastClickAt before the app handles it, so a timed
+ * action starts by the same clock as the toasts and conditions which end it.
+ */
+(() => {
+  if (window.__actionClock) {
+    return;
+  }
+  const clock = { lastClickAt: null };
+  window.addEventListener('click', () => {
+    clock.lastClickAt = Date.now();
+  }, true);
+  Object.defineProperty(window, '__actionClock', { value: clock, enumerable: false });
+})();
@@ -0,0 +1,42 @@
+/*
+ * In-page capture of the text the page copies to the clipboard. It is
+ * installed in every document of a browser context as window.__pageClipboard
+ * and used by the PageClipboard class, so the test reads what the page copied
+ * without the clipboard of the operating system, which is shared by all
+ * workers and missing on hosts without a display.
+ *
+ * Both ways a page copies are captured: navigator.clipboard.writeText, whose
+ * promise resolves even if the browser denies clipboard access, and
+ * document.execCommand('copy'), read from the selection in a copy listener
+ * which runs before any listener of the page.
+ */
+(() => {
+  if (window.__pageClipboard) {
+    return;
+  }
+
+  let captured = null;
+
+  window.__pageClipboard = {
+    text: () => captured,
+    clear: () => {
+      captured = null;
+    }
+  };
+
+  if (navigator.clipboard && navigator.clipboard.writeText) {
+    const writeText = navigator.clipboard.writeText.bind(navigator.clipboard);
+    navigator.clipboard.writeText = text => {
+      captured = String(text);
+      return writeText(text).catch(() => undefined);
+    };
+  }
+
+  document.addEventListener('copy', event => {
+    const selection = window.getSelection();
+    const text = selection ? selection.toString() : '';
+    if (text) {
+      captured = text;
+    }
+  }, true);
+})();
@@ -0,0 +1,150 @@
+/*
+ * In-page waiter which resolves a batch of DOM conditions at once. It is
+ * installed in every document of a browser context as window.__conditionWaiter
+ * and used by the ConditionBatch class. Conditions are re-checked whenever the
+ * DOM changes, at most once per animation frame, and every 100ms for changes
+ * which do not mutate the DOM, all without a round trip to the test.
+ *
+ * A condition is {name, selector, type, text} where type is one of visible,
+ * hidden, textEquals or textContains. Selectors starting with "/" or "(" are
+ * XPath expressions, any other selector is CSS. The result holds, for every
+ * condition, if it is met, the normalized text and visibility of the first
+ * matching element, and an error if the selector could not be evaluated, and
+ * checkedAt, the epoch time of the last check (when the batch was seen
+ * satisfied, for a satisfied one).
+ *
+ * snapshot(fields, timeoutMs) waits until the element of every field
+ * {name, selector} is visible and then reads the text, form value and
+ * visibility of all of them at once, for the DomSnapshot class.
+ */
+(() => {
+  if (window.__conditionWaiter) {
+    return;
+  }
+
+  const normalize = text => (text || '').replace(/\s+/g, ' ').trim();
+
+  const findFirst = selector => {
+    if (selector.startsWith('/') || selector.startsWith('(')) {
+      return document.evaluate(selector, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)
+        .singleNodeValue;
+    }
+    return document.querySelector(selector);
+  };
+
+  const isVisible = element => {
+    if (!element || !element.isConnected) {
+      return false;
+    }
+    const style = window.getComputedStyle(element);
+    if (style.visibility === 'hidden' || style.display === 'none') {
+      return false;
+    }
+    const rect = element.getBoundingClientRect();
+    return rect.width > 0 && rect.height > 0;
+  };
+
+  const check = condition => {
+    const state = { name: condition.name, met: false, found: false, visible: false, text: null, error: null };
+    let element;
+    try {
+      element = findFirst(condition.selector);
+    } catch (e) {
+      state.error = String(e && e.message || e);
+      return state;
+    }
+    state.found = !!element;
+    state.visible = isVisible(element);
+    state.text = element ? normalize(element.textContent) : null;
+    switch (condition.type) {
+      case 'visible':
+        state.met = state.visible;
+        break;
+      case 'hidden':
+        state.met = !state.visible;
+        break;
+      case 'textEquals':
+        state.met = state.visible && state.text === normalize(condition.text);
+        break;
+      case 'textContains':
+        state.met = state.visible && state.text.includes(normalize(condition.text));
+        break;
+      default:
+        state.error = 'Unsupported condition type: ' + condition.type;
+    }
+    return state;
+  };
+
+  const evaluateAll = (conditions, mode) => {
+    const states = conditions.map(check);
+    const failed = states.some(state => state.error);
+    const satisfied = !failed && (mode === 'any' ? states.some(state => state.met) : states.every(state => state.met));
+    return { satisfied, failed, states, checkedAt: Date.now() };
+  };
+
+  const waitFor = (conditions, timeoutMs, mode) => new Promise(resolve => {
+    const started = performance.now();
+    let result = evaluateAll(conditions, mode);
+    if (result.satisfied || result.failed) {
+      resolve({ ...result, elapsedMs: 0 });
+      return;
+    }
+    let scheduled = false;
+    let done = false;
+    const finish = () => {
+      done = true;
+      observer.disconnect();
+      clearInterval(interval);
+      clearTimeout(timer);
+      resolve({ ...result, elapsedMs: Math.round(performance.now() - started) });
+    };
+    const recheck = () => {
+      scheduled = false;
+      if (done) {
+        return;
+      }
+      result = evaluateAll(conditions, mode);
+      if (result.satisfied || result.failed) {
+        finish();
+      }
+    };
+    const observer = new MutationObserver(() => {
+      if (!scheduled) {
+        scheduled = true;
+        requestAnimationFrame(recheck);
+      }
+    });
+    observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });
+    // Visibility can also change through styles and layout without a mutation
+    const interval = setInterval(recheck, 100);
+    const timer = setTimeout(() => {
+      if (!done) {
+        result = evaluateAll(conditions, mode);
+        finish();
+      }
+    }, timeoutMs);
+  });
+
+  const read = field => {
+    const element = findFirst(field.selector);
+    return {
+      name: field.name,
+      found: !!element,
+      visible: isVisible(element),
+      text: element ? normalize(element.textContent) : null,
+      value: element && 'value' in element ? element.value : null
+    };
+  };
+
+  const snapshot = (fields, timeoutMs) => {
+    const conditions = fields.map(field => ({ name: field.name, selector: field.selector, type: 'visible' }));
+    return waitFor(conditions, timeoutMs, 'all').then(result => ({
+      satisfied: result.satisfied,
+      failed: result.failed,
+      elapsedMs: result.elapsedMs,
+      states: result.failed ? result.states : fields.map(read)
+    }));
+  };
+
+  Object.defineProperty(window, '__conditionWaiter', { value: { waitFor, snapshot }, enumerable: false });
+})();
@@ -0,0 +1,49 @@
+/*
+ * In-page observer which reports every ant-design notification to the test as
+ * soon as it is shown. It is installed in every document of a browser context
+ * and used by the ToastCollector class. A MutationObserver watches the
+ * document for .ant-notification-notice-message elements and passes the
+ * normalized text and the time it appeared to the exposed binding
+ * window.__toastCollected, so a toast is captured even if it is dismissed
+ * before the test looks for it. Every element is reported once, as soon as it
+ * has text.
+ */
+(() => {
+  if (window.__toastObserver) {
+    return;
+  }
+  window.__toastObserver = true;
+
+  const TOAST_SELECTOR = '.ant-notification-notice-message';
+  const reported = new WeakSet();
+
+  const normalize = text => (text || '').replace(/\s+/g, ' ').trim();
+
+  const collect = () => {
+    if (typeof window.__toastCollected !== 'function') {
+      return;
+    }
+    for (const toast of document.querySelectorAll(TOAST_SELECTOR)) {
+      const text = normalize(toast.textContent);
+      if (text && !reported.has(toast)) {
+        reported.add(toast);
+        window.__toastCollected(text, Date.now());
+      }
+    }
+  };
+
+  const observe = () => {
+    new MutationObserver(collect).observe(document.documentElement, {
+      childList: true,
+      subtree: true,
+      characterData: true
+    });
+    collect();
+  };
+
+  if (document.documentElement) {
+    observe();
+  } else {
+    document.addEventListener('DOMContentLoaded', observe, { once: true });
+  }
+})();
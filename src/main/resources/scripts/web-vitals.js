@@ -0,0 +1,164 @@
+/*
+ * In-page collector of front-end performance metrics. It is installed in every
+ * document of a browser context as window.__webVitals and used by the
+ * WebVitals class. The document load and every route change of the single
+ * page app (a new path through history.pushState, replaceState or popstate)
+ * start a segment, and the metrics are attributed to the segment they happen
+ * in:
+ *
+ * - navigation segments: Navigation Timing (time to first byte, DOM content
+ *   loaded, load), first contentful paint and largest contentful paint;
+ * - all segments: cumulative layout shift (shifts without recent input), the
+ *   number and total duration of long tasks, and the time from the start of
+ *   the segment until it ended.
+ *
+ * A segment ends when the next route change starts a new one or the page is
+ * hidden (pagehide); its sample is taken then and its metrics are not updated
+ * afterwards. drain() returns the samples of the ended segments which were not
+ * returned yet. The current segment is still open and stays pending, so later
+ * paints, shifts and long tasks are still attributed to it, unless drain(true)
+ * is called at the end of the scenario, which ends it and returns it too.
+ *
+ * A full page load ends the segment of the old document on pagehide, in a
+ * document which is then destroyed. The samples not returned yet are therefore
+ * kept in sessionStorage on pagehide and picked up by the collector of the next
+ * document of the tab, so its drain() returns them. A load of another origin
+ * cannot read them and loses them.
+ */
+(() => {
+  if (window.__webVitals) {
+    return;
+  }
+
+  const STORAGE_KEY = '__webVitalsEnded';
+  let ended = [];
+  let current = null;
+  let navigation = null;
+
+  const round = value => (value === undefined || value === null ? null : Math.round(value * 10) / 10);
+
+  const toSample = segment => {
+    const sample = {
+      type: segment.type,
+      url: segment.url,
+      readyMs: round(segment.endTime - segment.startTime),
+      cls: Math.round(segment.cls * 10000) / 10000,
+      longTasks: segment.longTasks,
+      longTaskMs: round(segment.longTaskMs)
+    };
+    if (segment.type === 'navigation') {
+      const timing = performance.getEntriesByType('navigation')[0];
+      if (timing) {
+        sample.ttfbMs = round(timing.responseStart);
+        sample.domContentLoadedMs = round(timing.domContentLoadedEventEnd || null);
+        sample.loadMs = round(timing.loadEventEnd || null);
+        sample.transferSize = timing.transferSize;
+      }
+      sample.fcpMs = round(segment.fcp);
+      sample.lcpMs = round(segment.lcp);
+    }
+    return sample;
+  };
+
+  const end = (segment, endTime) => {
+    if (segment.endTime === undefined) {
+      segment.endTime = endTime;
+      ended.push(toSample(segment));
+    }
+  };
+
+  // Samples the previous document of the tab ended on pagehide
+  try {
+    const carried = sessionStorage.getItem(STORAGE_KEY);
+    if (carried) {
+      sessionStorage.removeItem(STORAGE_KEY);
+      ended = JSON.parse(carried);
+    }
+  } catch (e) {
+    // Storage not available in this document
+  }
+
+  const start = (type, startTime) => {
+    if (current) {
+      end(current, startTime);
+    }
+    current = {
+      type,
+      url: location.href,
+      path: location.pathname,
+      startTime,
+      cls: 0,
+      longTasks: 0,
+      longTaskMs: 0
+    };
+    return current;
+  };
+  navigation = start('navigation', 0);
+
+  const observe = (type, callback) => {
+    try {
+      new PerformanceObserver(list => list.getEntries().forEach(callback)).observe({ type, buffered: true });
+    } catch (e) {
+      // Entry type not supported by this browser
+    }
+  };
+
+  const open = segment => segment.endTime === undefined;
+
+  observe('paint', entry => {
+    if (entry.name === 'first-contentful-paint' && open(navigation)) {
+      navigation.fcp = entry.startTime;
+    }
+  });
+  observe('largest-contentful-paint', entry => {
+    if (open(navigation)) {
+      navigation.lcp = entry.startTime;
+    }
+  });
+  observe('layout-shift', entry => {
+    if (!entry.hadRecentInput && open(current)) {
+      current.cls += entry.value;
+    }
+  });
+  observe('longtask', entry => {
+    if (open(current)) {
+      current.longTasks += 1;
+      current.longTaskMs += entry.duration;
+    }
+  });
+
+  const routeChanged = () => {
+    if (location.pathname !== current.path) {
+      start('route', performance.now());
+    }
+  };
+  for (const method of ['pushState', 'replaceState']) {
+    const original = history[method];
+    history[method] = function (...args) {
+      const result = original.apply(this, args);
+      routeChanged();
+      return result;
+    };
+  }
+  window.addEventListener('popstate', routeChanged);
+  window.addEventListener('pagehide', () => {
+    end(current, performance.now());
+    try {
+      sessionStorage.setItem(STORAGE_KEY, JSON.stringify(ended));
+      ended = [];
+    } catch (e) {
+      // Storage not available, the samples are lost with the document
+    }
+  });
+
+  window.__webVitals = {
+    drain: endCurrent => {
+      if (endCurrent) {
+        end(current, performance.now());
+      }
+      const samples = ended;
+      ended = [];
+      return samples;
+    }
+  };
+})();
@@ -0,0 +1,153 @@
+package cucumber;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Logger;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import utilities.LatencyHistogram;
+import utilities.Log;
+import utilities.PerformanceReport;
+import utilities.ScenarioScope;
+
+/**
+ * The class {@code StepTimingPlugin} is a cucumber plugin which records the
+ * duration of every step definition, e.g.
+ * {@code DashboardPageSteps.verifyRequestCreated}, in a latency histogram. The
+ * histograms are shared by all runners and worker threads of the JVM, and are
+ * written at the end of every run to the steps performance report, as JSON
+ * with p50, p95, p99 and max per step, and in the OpenMetrics text format so
+ * the step durations can be compared release over release.
+ * <p>
+ * Passed and failed steps are recorded; skipped, pending and undefined steps
+ * did not run their step definition and are ignored. The plugin is added to
+ * the {@code plugin} option of the runners as {@code cucumber.StepTimingPlugin}.
+ * <p>
+ * The plugin also marks the step or hook running in the {@link ScenarioScope},
+ * so the Playwright calls it makes are attributed to it. Cucumber publishes
+ * the step events to concurrent listeners on the thread running the step.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    private static final Logger LOGGER = Log.getLogger(StepTimingPlugin.class);
+    private static final String METRIC = "cucumber_step_duration_seconds";
+    private static final Map<String, StepTimings> STEPS = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(final EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class,
+                event -> ScenarioScope.current().setStepName(stepName(event.getTestStep().getCodeLocation())));
+        publisher.registerHandlerFor(TestStepFinished.class, this::stepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeReport());
+    }
+
+    private void stepFinished(final TestStepFinished event) {
+        ScenarioScope.current().setStepName(null);
+        final Status status = event.getResult().getStatus();
+        if (!(event.getTestStep() instanceof PickleStepTestStep)
+                || status != Status.PASSED && status != Status.FAILED) {
+            return;
+        }
+        final StepTimings timings = STEPS.computeIfAbsent(
+                stepName(((PickleStepTestStep) event.getTestStep()).getCodeLocation()), name -> new StepTimings());
+        timings.histogram.record(event.getResult().getDuration().toNanos());
+        if (status == Status.FAILED) {
+            timings.failures.increment();
+        }
+    }
+
+    /**
+     * Method to get the name of a step definition from its code location, e.g.
+     * {@code DashboardPageSteps.verifyRequestCreated} for
+     * {@code stepdefinitions.atomicworkportal.DashboardPageSteps.verifyRequestCreated()}.
+     *
+     * @param codeLocation: code location of the step definition
+     * @return simple class name and method name, null for an undefined step
+     */
+    private static String stepName(final String codeLocation) {
+        if (codeLocation == null) {
+            return null;
+        }
+        final int parameters = codeLocation.indexOf('(');
+        final String method = parameters < 0 ? codeLocation : codeLocation.substring(0, parameters);
+        final int methodSeparator = method.lastIndexOf('.');
+        final int classSeparator = methodSeparator < 0 ? -1 : method.lastIndexOf('.', methodSeparator - 1);
+        return method.substring(classSeparator + 1);
+    }
+
+    /**
+     * Method to log the slowest steps and write the step histograms as JSON and
+     * OpenMetrics text.
+     */
+    private static void writeReport() {
+        if (STEPS.isEmpty()) {
+            return;
+        }
+        final List<Map.Entry<String, StepTimings>> steps = new ArrayList<>(STEPS.entrySet());
+        steps.sort(Comparator.comparingLong((Map.Entry<String, StepTimings> step) -> step.getValue().histogram
+                .percentileNanos(95)).reversed().thenComparing(Map.Entry::getKey));
+
+        final StringBuilder table = new StringBuilder(String.format("%n%-60s %7s %9s %9s %9s %9s %8s", "step",
+                "count", "p50Ms", "p95Ms", "p99Ms", "maxMs", "failures"));
+        final List<Map<String, Object>> report = new ArrayList<>();
+        final StringBuilder metrics = new StringBuilder()
+                .append("# TYPE ").append(METRIC).append(" summary\n")
+                .append("# UNIT ").append(METRIC).append(" seconds\n")
+                .append("# HELP ").append(METRIC).append(" Duration of cucumber step definitions.\n");
+        for (final Map.Entry<String, StepTimings> step : steps) {
+            final LatencyHistogram histogram = step.getValue().histogram;
+            final Map<String, Object> stats = histogram.toMap();
+            table.append(String.format("%n%-60s %7d %9.1f %9.1f %9.1f %9.1f %8d", step.getKey(), stats.get("count"),
+                    stats.get("p50Millis"), stats.get("p95Millis"), stats.get("p99Millis"), stats.get("maxMillis"),
+                    step.getValue().failures.sum()));
+            final Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("step", step.getKey());
+            entry.putAll(stats);
+            entry.put("failures", step.getValue().failures.sum());
+            report.add(entry);
+
+            final String label = "step=\"" + escape(step.getKey()) + "\"";
+            for (final double quantile : new double[] { 0.5, 0.95, 0.99, 1.0 }) {
+                metrics.append(String.format("%s{%s,quantile=\"%s\"} %s%n", METRIC, label, quantile,
+                        seconds(histogram.percentileNanos(quantile * 100))));
+            }
+            metrics.append(String.format("%s_sum{%s} %s%n", METRIC, label, seconds(histogram.getTotalNanos())))
+                    .append(String.format("%s_count{%s} %d%n", METRIC, label, histogram.getCount()));
+        }
+        metrics.append("# EOF\n");
+
+        LOGGER.info("Step durations, slowest p95 first:{}", table);
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("steps", report);
+        PerformanceReport.write("steps", data);
+        PerformanceReport.writeText("steps.openmetrics.txt", metrics.toString());
+    }
+
+    private static String seconds(final long nanos) {
+        return String.valueOf(nanos / 1e9);
+    }
+
+    private static String escape(final String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Histogram and failures of one step definition.
+     */
+    private static final class StepTimings {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+    }
+}
@@ -4,6 +4,8 @@ import enums.ContextData;
 import managers.PageObjectManager;
 import managers.PlaywrightManager;
 import utilities.ScenarioContext;
+import utilities.ScenarioScope;
+import utilities.TimeoutBudget;
 
 /**
  * The class {@code TestContext} is the parent class used to share test state
@@ -12,6 +14,11 @@ import utilities.ScenarioContext;
  * instantiate the step definition classes. To do this, constructors for the
  * step definition classes require an instance of the same class which is
  * {@code TestContext} class.
+ * <p>
+ * Each scenario runs on a single TestNG worker thread, so the
+ * {@code PlaywrightManager} held here is the one owned by that thread. The
+ * timeout budget of the scenario is kept in the scenario scope of that thread,
+ * where the wait helpers consult it.
  */
 public class TestContext {
     private final PlaywrightManager playwrightManager;
@@ -24,7 +31,8 @@ public class TestContext {
     }
     
     /**
-     * Method to get the instance of {@code PlaywrightManager} class.
+     * Method to get the instance of {@code PlaywrightManager} class bound to the
+     * thread running this scenario.
      * 
      * @return {@code PlaywrightManager} instance
      */
@@ -50,4 +58,28 @@ public class TestContext {
     public ScenarioContext<ContextData> getScenarioContext() {
         return scenarioContext;
     }
+    
+    /**
+     * Method to start the timeout budget of the scenario. It must be called after
+     * the scenario scope was opened.
+     * 
+     * @param budgetMillis: time all waits of the scenario may take, 0 for no
+     *                      budget
+     * @return started {@code TimeoutBudget}
+     */
+    public TimeoutBudget startTimeoutBudget(final long budgetMillis) {
+        final TimeoutBudget timeoutBudget = TimeoutBudget.start(budgetMillis);
+        ScenarioScope.current().setTimeoutBudget(timeoutBudget);
+        return timeoutBudget;
+    }
+    
+    /**
+     * Method to get the timeout budget of the scenario.
+     * 
+     * @return {@code TimeoutBudget} of the scenario, unlimited if none was
+     *         started
+     */
+    public TimeoutBudget getTimeoutBudget() {
+        return ScenarioScope.current().getTimeoutBudget();
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import messages.AssertFailureMsgs;
 import pageimplementations.DashboardPage;
+import pageimplementations.RequestDetails;
 import pageimplementations.RequestDrawer;
 import pagemessages.RequestDrawerPageMsgs;
 
@@ -50,9 +51,8 @@ public class DashboardPageSteps {
         String requestId = toastMessage.replaceAll(RequestDrawerPageMsgs.REQUEST_ID_REGEX, "$1");
         testContext.getScenarioContext().setContext(ContextData.REQUEST_ID, requestId);
         
-        // Direct assertion without creating variable
         Assert.assertEquals(
-            requestDrawer.getToastMessage(),
+            toastMessage,
             String.format(RequestDrawerPageMsgs.REQUEST_CREATED_NOTIFICATION, requestId),
             AssertFailureMsgs.REQUEST_CREATION_FAILED
         );
@@ -68,9 +68,8 @@ public class DashboardPageSteps {
         String problemId = toastMessage.replaceAll(RequestDrawerPageMsgs.REQUEST_ID_REGEX, "$1");
         testContext.getScenarioContext().setContext(ContextData.REQUEST_ID, problemId);
         
-        // Direct assertion without creating variable
         Assert.assertEquals(
-            requestDrawer.getToastMessage(),
+            toastMessage,
             String.format(RequestDrawerPageMsgs.PROBLEM_CREATED_NOTIFICATION, problemId),
             AssertFailureMsgs.REQUEST_CREATION_FAILED
         );
@@ -87,18 +86,19 @@ public class DashboardPageSteps {
     
     @Then("^verify the (?:request|problem) details ID, subject, and status are correct$")
     public void verifyBreadcrumbRequestId() {
+        final RequestDetails requestDetails = requestDrawer.getRequestDetails();
         Assert.assertEquals(
-            requestDrawer.getBreadcrumbRequestId(),
+            requestDetails.getRequestId(),
             testContext.getScenarioContext().getContext(ContextData.REQUEST_ID),
             AssertFailureMsgs.REQUEST_ID_MISMATCH);
         
         Assert.assertEquals(
-            requestDrawer.getRequestSubject(),
+            requestDetails.getSubject(),
             testContext.getScenarioContext().getContext(ContextData.REQUEST_SUBJECT),
             AssertFailureMsgs.REQUEST_SUBJECT_MISMATCH);
         
         Assert.assertEquals(
-            requestDrawer.getRequestStatus(),
+            requestDetails.getStatus(),
             RequestDrawerPageMsgs.REQUEST_STATUS_OPEN,
             AssertFailureMsgs.REQUEST_STATUS_MISMATCH);
     }
@@ -1,12 +1,21 @@
 package stepdefinitions.atomicworkportal;
 
+import java.nio.charset.StandardCharsets;
+
 import org.apache.logging.log4j.Logger;
 import cucumber.TestContext;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
 import managers.FileReaderManager;
+import managers.NetworkRecorder;
 import utilities.Log;
+import utilities.PerformanceBudget;
+import utilities.ScenarioDurationStore;
+import utilities.TimeoutBudget;
+import utilities.WebVitals;
 
 /**
  * The class {@code Hooks} includes method hooks which are executed before and
@@ -15,12 +24,54 @@ import utilities.Log;
 public class Hooks {
     private final TestContext testContext;
     private final Logger logger;
+    private long scenarioStartNanos;
 
     public Hooks(final TestContext testContext) {
         this.testContext = testContext;
         logger = Log.getLogger(Hooks.class);
     }
 
+    /**
+     * Before hook method to prepare the browser owned by the current worker
+     * thread for the scenario and start its timeout budget.
+     *
+     * @param scenario: {@link Scenario} object
+     */
+    @Before(order = 0)
+    public void startScenario(final Scenario scenario) {
+        scenarioStartNanos = System.nanoTime();
+        testContext.getPlaywrightManager().beginScenario(scenario.getName(),
+                NetworkRecorder.recordingName(scenario.getUri(), scenario.getName(), scenario.getLine()));
+        testContext.startTimeoutBudget(
+                FileReaderManager.getInstance().getConfigReader().getScenarioTimeoutBudget() * 1000L);
+    }
+
+    /**
+     * Before step hook method to cut the default timeout of the page to the time
+     * left in the timeout budget, so Playwright calls without their own timeout
+     * honour the budget as well.
+     */
+    @BeforeStep
+    public void applyTimeoutBudget() {
+        final TimeoutBudget timeoutBudget = testContext.getTimeoutBudget();
+        if (timeoutBudget.isLimited()) {
+            testContext.getPlaywrightManager().getPage().setDefaultTimeout(timeoutBudget.clamp(
+                    FileReaderManager.getInstance().getConfigReader().getImplicitlyWait() * 1000L));
+        }
+    }
+
+    /**
+     * After step hook method to fail the scenario as soon as its timeout budget
+     * is used up, also when a step caught the failed wait.
+     */
+    @AfterStep
+    public void checkTimeoutBudget() {
+        final TimeoutBudget timeoutBudget = testContext.getTimeoutBudget();
+        if (timeoutBudget.isExhausted()) {
+            throw new TimeoutBudget.ExhaustedException(timeoutBudget.describe());
+        }
+    }
+
     /**
      * Before hook method to open the Atomicwork portal login page.
      */
@@ -32,15 +83,76 @@ public class Hooks {
     }
 
     /**
-     * After hook method to completely recreate the browser context after each scenario.
-     * This keeps browser open but creates a fresh browser context for complete isolation.
+     * After hook method to close the browser context after each scenario and
+     * return the browser to the pool. The browser stays open and the next
+     * scenario gets a fresh browser context for complete isolation.
      */
     @After(order = 0)
     public void cleanupAfterScenario() {
         logger.info("Cleaning up after scenario");
         
-        // Recreate the browser context for a fresh start
-        testContext.getPlaywrightManager().recreateBrowserContext();
+        // Release the context and browser for a fresh start
+        testContext.getPlaywrightManager().endScenario();
+    }
+
+    /**
+     * After hook method to record the duration of the scenario, used to balance
+     * the scenarios between shards. It runs last, so the duration includes the
+     * clean-up of the scenario.
+     *
+     * @param scenario: {@link Scenario} object
+     */
+    @After(order = -1)
+    public void recordScenarioDuration(final Scenario scenario) {
+        ScenarioDurationStore.getInstance().record(ScenarioDurationStore.key(scenario.getUri(), scenario.getLine()),
+                (System.nanoTime() - scenarioStartNanos) / 1_000_000);
+    }
+
+    /**
+     * After hook method to attach where the time of the timeout budget went when
+     * the cucumber test fails. It runs first, before the scenario scope holding
+     * the budget is closed.
+     *
+     * @param scenario: {@link Scenario} object
+     */
+    @After(order = 2)
+    public void reportTimeoutBudget(final Scenario scenario) {
+        final TimeoutBudget timeoutBudget = testContext.getTimeoutBudget();
+        if (scenario.isFailed() && timeoutBudget.isLimited()) {
+            scenario.log(timeoutBudget.describe());
+        }
+    }
+
+    /**
+     * After hook method to attach the web performance samples collected for the
+     * navigations and route changes of the scenario, after ending the segment
+     * still open in the last page and collecting it.
+     *
+     * @param scenario: {@link Scenario} object
+     */
+    @After(order = 3)
+    public void attachWebVitals(final Scenario scenario) {
+        if (!WebVitals.isEnabled()) {
+            return;
+        }
+        WebVitals.capture(testContext.getPlaywrightManager().getPage(), true);
+        final String webVitals = WebVitals.scenarioReport();
+        if (webVitals != null) {
+            scenario.attach(webVitals.getBytes(StandardCharsets.UTF_8), "application/json", "web-vitals");
+        }
+    }
+
+    /**
+     * After hook method to log the performance budgets checked in the scenario,
+     * so they are shown with the scenario in the report.
+     *
+     * @param scenario: {@link Scenario} object
+     */
+    @After(order = 3)
+    public void reportPerformanceBudgets(final Scenario scenario) {
+        for (final PerformanceBudget.Result result : PerformanceBudget.scenarioResults()) {
+            scenario.log(String.format("Performance budget: %s", result.describe()));
+        }
     }
 
     /**
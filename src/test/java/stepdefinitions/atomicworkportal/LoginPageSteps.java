@@ -3,22 +3,64 @@ package stepdefinitions.atomicworkportal;
 import org.testng.Assert;
 import cucumber.TestContext;
 import io.cucumber.java.en.Given;
+import managers.AuthStateManager;
 import managers.FileReaderManager;
+import managers.PlaywrightManager;
 import messages.AssertFailureMsgs;
 import pageimplementations.LoginPage;
 
 public class LoginPageSteps {
     private final LoginPage loginPage;
-    
+    private final PlaywrightManager playwrightManager;
+    private final AuthStateManager authStateManager;
+
     public LoginPageSteps(final TestContext testContext) {
         loginPage = testContext.getPageObjectManager().getLoginPage();
+        playwrightManager = testContext.getPlaywrightManager();
+        authStateManager = AuthStateManager.getInstance();
+    }
+
+    /**
+     * Step which makes sure the user is logged in. The saved session seeded into
+     * the browser context is reused if the portal accepts it, else the user logs
+     * in through the UI and the new session is saved for the next scenarios.
+     */
+    @Given("^the user is logged in$")
+    public void isLoggedIn() {
+        final String userEmail = FileReaderManager.getInstance().getConfigReader().getUserEmail();
+        if (authStateManager.isEnabled() && loginPage.isSessionActive()) {
+            return;
+        }
+        if (authStateManager.isEnabled()) {
+            // The portal rejected the saved session the context was seeded from
+            authStateManager.invalidate(userEmail, playwrightManager.getPage().context());
+        }
+        logInThroughUi();
+        if (authStateManager.isEnabled() && loginPage.isSessionActive()) {
+            authStateManager.saveStorageState(userEmail, playwrightManager.getPage().context());
+        }
     }
-    
-    @Given("^the user (?:is logged in|logs in)$")
+
+    /**
+     * Step which always logs in through the login page, clearing a seeded
+     * session first if the browser context started logged in.
+     */
+    @Given("^the user logs in$")
     public void logIn() {
+        if (authStateManager.isEnabled() && loginPage.isSessionActive()) {
+            playwrightManager.clearBrowserState();
+            playwrightManager.navigateToLoginPage();
+        }
+        logInThroughUi();
+    }
+
+    /**
+     * Method to enter the configured credentials on the login page and sign in.
+     */
+    private void logInThroughUi() {
         Assert.assertTrue(loginPage.isLoginPage(), AssertFailureMsgs.NOT_ON_LOGIN_PAGE);
         final String userEmail = FileReaderManager.getInstance().getConfigReader().getUserEmail(),
                 password = FileReaderManager.getInstance().getConfigReader().getUserPassword();
         loginPage.enterCredentials(userEmail, password).clickSignIn();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package stepdefinitions.atomicworkportal;
+
+import org.testng.Assert;
+
+import cucumber.TestContext;
+import dataproviders.ConfigFileReader;
+import io.cucumber.java.en.Then;
+import managers.FileReaderManager;
+import pageimplementations.RequestDrawer;
+import pageimplementations.SettingsPage;
+import utilities.PerformanceBudget;
+
+/**
+ * The class {@code PerformanceBudgetSteps} containing the implementation for
+ * steps in the feature files checking how long an action took against its
+ * budget. The budget of a step is replaced by the budget configured for the
+ * environment, if there is one.
+ */
+public class PerformanceBudgetSteps {
+
+    private final SettingsPage settingsPage;
+    private final RequestDrawer requestDrawer;
+    private final ConfigFileReader configFileReader;
+
+    public PerformanceBudgetSteps(final TestContext testContext) {
+        settingsPage = testContext.getPageObjectManager().getSettingsPage();
+        requestDrawer = testContext.getPageObjectManager().getRequestDrawer();
+        configFileReader = FileReaderManager.getInstance().getConfigReader();
+    }
+
+    @Then("the {string} settings page loads within {long} ms")
+    public void verifySettingsPageLoadTime(String title, long budgetMillis) {
+        checkBudget(String.format("%s settings page", title), budgetMillis,
+                settingsPage.getSettingsPageLoadMillis(title));
+    }
+
+    @Then("^the (request|problem) is created within (\\d+) ms$")
+    public void verifyRequestCreationTime(String requestType, long budgetMillis) {
+        checkBudget(String.format("%s created", requestType), budgetMillis, requestDrawer.getRequestCreationMillis());
+    }
+
+    private void checkBudget(final String budgetName, final long stepBudgetMillis, final long elapsedMillis) {
+        final PerformanceBudget.Result result = PerformanceBudget.check(budgetName,
+                configFileReader.getPerformanceBudget(budgetName, stepBudgetMillis), elapsedMillis);
+        if (configFileReader.enforcePerformanceBudgets()) {
+            Assert.assertTrue(result.isWithinBudget(), result.describe());
+        }
+    }
+}
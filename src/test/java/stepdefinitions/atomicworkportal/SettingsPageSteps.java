@@ -1,9 +1,5 @@
 package stepdefinitions.atomicworkportal;
 
-import java.awt.HeadlessException;
-import java.awt.datatransfer.UnsupportedFlavorException;
-import java.io.IOException;
-
 import org.testng.Assert;
 
 import cucumber.TestContext;
@@ -102,13 +98,13 @@ public class SettingsPageSteps {
     }
 
     @When("^the user taps on ellipsis and delete$")
-    public void deleteOption() throws Exception {
+    public void deleteOption() {
         settingsPage.closeToastMessage();
         settingsPage.deleteWorkspace();
     }
 
     @When("^the user enter the workspace name and confirm$")
-    public void deleteWorkspaceConfirm() throws HeadlessException, UnsupportedFlavorException, IOException {
+    public void deleteWorkspaceConfirm() {
         settingsPage.deleteWorkspaceConfirmation();
     }
 
@@ -1,5 +1,8 @@
 package testrunners;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -9,11 +12,27 @@ import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.DataProvider;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import managers.AssetCache;
+import managers.BrowserPool;
 import managers.FileReaderManager;
 import managers.PlaywrightManager;
+import managers.ResourceBlocker;
+import pageimplementations.LocatorCache;
 import utilities.ConvertUtils;
 import utilities.CucumberReport;
+import utilities.InteractionStats;
 import utilities.Log;
+import utilities.PerformanceBudget;
+import utilities.PlaywrightInstrumentation;
+import utilities.Retry;
+import utilities.ScenarioDurationStore;
+import utilities.SelectorAnalyzer;
+import utilities.SelectorProfiler;
+import utilities.ShardPlanner;
+import utilities.WaitUtils;
+import utilities.WebVitals;
 
 /**
  * The {@code BaseTest} class contains methods, hooks which can be used by other
@@ -22,7 +41,6 @@ import utilities.Log;
 public class BaseTest extends AbstractTestNGCucumberTests {
     private final Logger logger = Log.getLogger(BaseTest.class);
     private static final String PROJECT_NAME = "Atomicwork UI Tests";
-    private static PlaywrightManager playwrightManager;
 
     /**
      * BeforeSuite hook method performing validation for mandatory parameters which
@@ -49,42 +67,79 @@ public class BaseTest extends AbstractTestNGCucumberTests {
             System.exit(1);
         }
         final String scenarioThreadCount = System.getProperty("scenarioThreadCount"),
-                featureThreadCount = System.getProperty("scenarioThreadCount");
+                featureThreadCount = System.getProperty("featureThreadCount");
         if ("webkit".equals(System.getProperty("browser")) && (!StringUtils.isBlank(scenarioThreadCount)
                 && ConvertUtils.stringToInt(scenarioThreadCount) != 1
-                || !StringUtils.isBlank(scenarioThreadCount) && ConvertUtils.stringToInt(featureThreadCount) != 1)) {
+                || !StringUtils.isBlank(featureThreadCount) && ConvertUtils.stringToInt(featureThreadCount) != 1)) {
             logger.error(
-                    "The WebKit driver may have issues with high concurrency. Keep both scenarioThreadCount and scenarioThreadCount as 1 instead.");
+                    "The WebKit driver may have issues with high concurrency. Keep both scenarioThreadCount and featureThreadCount as 1 instead.");
             System.exit(1);
         }
+        if (getShardIndex() < 0 || getShardIndex() >= getShardTotal()) {
+            logger.error("shard.index must be between 0 and shard.total - 1.");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method to get the index of the shard this JVM runs, starting at 0.
+     * 
+     * @return shard index, 0 if the suite is not sharded
+     */
+    private static int getShardIndex() {
+        final String shardIndex = System.getProperty("shard.index");
+        return StringUtils.isBlank(shardIndex) ? 0 : ConvertUtils.stringToInt(shardIndex);
+    }
+
+    /**
+     * Method to get the number of shards the suite is split into.
+     * 
+     * @return number of shards, 1 if the suite is not sharded
+     */
+    private static int getShardTotal() {
+        final String shardTotal = System.getProperty("shard.total");
+        return StringUtils.isBlank(shardTotal) ? 1 : ConvertUtils.stringToInt(shardTotal);
     }
 
     /**
-     * BeforeSuite hook method to setup the browser driver.
+     * BeforeSuite hook method to lint the page selectors before any browser is
+     * launched, as set by the selectorLint parameter: off, warn or fail. With
+     * fail, a selector with an error stops the suite.
      */
     @BeforeSuite(dependsOnMethods = { "cmdLineParamValidations" })
+    public void analyzeSelectors() {
+        SelectorAnalyzer.checkBeforeSuite();
+    }
+
+    /**
+     * BeforeSuite hook method to launch the browser pool and validate the browser
+     * driver setup. The page created here is closed right after the validation
+     * and its browser stays warm in the pool for the worker threads.
+     */
+    @BeforeSuite(dependsOnMethods = { "cmdLineParamValidations", "analyzeSelectors" })
     public void setupPlaywright() {
-        logger.info("Setting up the browser driver.");
+        logger.info("Setting up the browser pool.");
+        PlaywrightManager playwrightManager = null;
         try {
-            playwrightManager = PlaywrightManager.getInstance();
-            logger.info("Playwright manager initialized successfully");
+            BrowserPool.getInstance().warmUp();
+            logger.info("Browser pool warmed up successfully");
             
             // Create a page to validate setup
+            playwrightManager = PlaywrightManager.getInstance();
             playwrightManager.getPage();
             logger.info("Playwright page created successfully");
         } catch (Exception e) {
             logger.error("Failed to setup Playwright: {}", e.getMessage(), e);
-            
-            // Attempt to clean up if initialization failed
+            throw new RuntimeException("Failed to setup Playwright", e);
+        } finally {
+            // Worker threads lease their own browsers, return the one of the main thread
             if (playwrightManager != null) {
                 try {
                     playwrightManager.quitPlaywright();
                 } catch (Exception ex) {
-                    logger.error("Error during cleanup after failed setup: {}", ex.getMessage());
+                    logger.error("Error during cleanup after setup validation: {}", ex.getMessage());
                 }
             }
-            
-            throw new RuntimeException("Failed to setup Playwright", e);
         }
     }
 
@@ -92,11 +147,39 @@ public class BaseTest extends AbstractTestNGCucumberTests {
      * Overriding the scenarios method of {@code AbstractTestNGCucumberTests} class
      * and setting the parallel option to true for test parallelization as specified
      * {@link https://cucumber.io/docs/guides/parallel-execution/#testng} here.
+     * When the suite is sharded with -Dshard.index and -Dshard.total, only the
+     * scenarios of this shard are returned, balanced by historical duration.
+     * Unless -Dscenario.order=file is passed, the scenarios are started
+     * longest-first based on their historical duration.
      */
     @Override
     @DataProvider(parallel = true)
     public Object[][] scenarios() {
-        return super.scenarios();
+        final Object[][] scenarios = super.scenarios();
+        final Map<String, Long> durations = ScenarioDurationStore.getInstance().getKnownDurations();
+        List<Object[]> scheduledScenarios = new ArrayList<>(Arrays.asList(scenarios));
+        if (getShardTotal() > 1) {
+            scheduledScenarios = ShardPlanner.select(scheduledScenarios, BaseTest::scenarioKey, durations,
+                    getShardIndex(), getShardTotal());
+            logger.info("Shard {} of {} runs {} of {} scenario(s) of {}", getShardIndex() + 1, getShardTotal(),
+                    scheduledScenarios.size(), scenarios.length, getClass().getSimpleName());
+        }
+        if (!"file".equals(System.getProperty("scenario.order"))) {
+            scheduledScenarios = ShardPlanner.orderLongestFirst(scheduledScenarios, BaseTest::scenarioKey, durations);
+        }
+        return scheduledScenarios.toArray(new Object[0][]);
+    }
+
+    /**
+     * Method to get the duration key of a scenario returned by the data
+     * provider.
+     * 
+     * @param scenario: data provider row holding the pickle and its feature
+     * @return scenario key as uri:line
+     */
+    private static String scenarioKey(final Object[] scenario) {
+        final Pickle pickle = ((PickleWrapper) scenario[0]).getPickle();
+        return ScenarioDurationStore.key(pickle.getUri(), pickle.getLine());
     }
 
     /**
@@ -109,22 +192,53 @@ public class BaseTest extends AbstractTestNGCucumberTests {
         metadata.put("Environment", System.getProperty("envType"));
         metadata.put("Browser", FileReaderManager.getInstance().getConfigReader().getBrowserType().toString()
                 .toLowerCase(Locale.getDefault()));
+        if (getShardTotal() > 1) {
+            metadata.put("Shard", String.format("%d of %d", getShardIndex() + 1, getShardTotal()));
+        }
+        final String budgets = PerformanceBudget.summary();
+        if (budgets != null) {
+            metadata.put("Performance budgets", String.format("%s, see performance/budgets.html", budgets));
+        }
         CucumberReport.generateReport(PROJECT_NAME, metadata);
     }
+
+    /**
+     * AfterSuite hook method to save the durations of the scenarios which ran,
+     * used to balance the shards of the next runs. A shard saves them to a file
+     * of its own, merged into the durations file once every shard finished, so
+     * that shards starting later still plan from the same durations.
+     */
+    @AfterSuite
+    public void saveScenarioDurations() {
+        if (getShardTotal() > 1) {
+            ScenarioDurationStore.getInstance().saveShard(getShardIndex());
+        } else {
+            ScenarioDurationStore.getInstance().save();
+        }
+    }
     
     /**
-     * AfterSuite hook method to close Playwright resources.
+     * AfterSuite hook method to close Playwright resources of all worker threads
+     * and the browser pool.
      */
     @AfterSuite
     public void quitPlaywright() {
         logger.info("Cleaning up Playwright resources");
-        if (playwrightManager != null) {
-            try {
-                playwrightManager.quitPlaywright();
-                logger.info("Playwright resources cleaned up successfully");
-            } catch (Exception e) {
-                logger.error("Error cleaning up Playwright resources: {}", e.getMessage(), e);
-            }
+        try {
+            PlaywrightManager.quitAll();
+            ResourceBlocker.getInstance().writeReport();
+            AssetCache.getInstance().writeReport();
+            WaitUtils.writeReport();
+            Retry.writeReport();
+            InteractionStats.writeReport();
+            LocatorCache.writeReport();
+            SelectorProfiler.writeReport();
+            PlaywrightInstrumentation.writeReport();
+            WebVitals.writeReport();
+            PerformanceBudget.writeReport();
+            logger.info("Playwright resources cleaned up successfully");
+        } catch (Exception e) {
+            logger.error("Error cleaning up Playwright resources: {}", e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
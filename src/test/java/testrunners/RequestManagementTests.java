@@ -8,10 +8,11 @@ import io.cucumber.testng.CucumberOptions;
  */
 @CucumberOptions(
     features = "classpath:features/atomicworkportal", glue = "stepdefinitions.atomicworkportal", tags = "@request",  plugin = {"pretty", 
-        "html:target/reports/cucumber-reports/workspace_test_report.html",
-        "json:target/reports/cucumber-json-reports/workspace_test_report.json",
-        "testng:target/reports/cucumber-xml-reports/workspace_test_report.xml",
-        "timeline:target/reports/timeline-reports/overview"
+        "html:target/reports/cucumber-reports/request_management_test_report.html",
+        "json:target/reports/cucumber-json-reports/request_management_test_report.json",
+        "testng:target/reports/cucumber-xml-reports/request_management_test_report.xml",
+        "timeline:target/reports/timeline-reports/overview",
+        "cucumber.StepTimingPlugin"
     }
 )
 public class RequestManagementTests extends BaseTest {
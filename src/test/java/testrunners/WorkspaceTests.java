@@ -11,7 +11,8 @@ import io.cucumber.testng.CucumberOptions;
         "html:target/reports/cucumber-reports/workspace_test_report.html",
         "json:target/reports/cucumber-json-reports/workspace_test_report.json",
         "testng:target/reports/cucumber-xml-reports/workspace_test_report.xml", // Changed from junit to testng
-        "timeline:target/reports/timeline-reports/overview"
+        "timeline:target/reports/timeline-reports/overview",
+        "cucumber.StepTimingPlugin"
     }
 )
 public class WorkspaceTests extends BaseTest {
@@ -8,6 +8,7 @@ Feature: Request Management
   Scenario: Verify that Request Creation and Deletion works as expected
     When the user creates a request with subject "<subject>"
     Then verify the request is created successfully
+    And the request is created within 1500 ms
     When the user views the request details
     Then verify the request details ID, subject, and status are correct
     When the user deletes the request
@@ -26,6 +27,7 @@ Feature: Request Management
   Scenario: Verify that Report problem and Deletion works as expected
     When the user reports a problem with subject "<subject>"
     Then verify the problem is created successfully
+    And the problem is created within 1500 ms
     When the user views the problem details
     Then verify the problem details ID, subject, and status are correct
     When the user deletes the problem
@@ -1,15 +1,14 @@
 Feature: Workspace Tests
 	Description: The purpose of this feature is to test Workspace Creation, Deletion in the atomicwork dashboard.
 
-Background:
-	Given the user is logged in
-
 @workspace
 Scenario Outline: Verify that Workspace Add, Delete is working as expected
+	Given the user logs in
 	When the user navigates to the settings page
 #	Then verify the user is on the general settings page
 	When the user navigates to the workspace settings page
 #	Then verify the user is on the workspace settings page
+	Then the "Workspaces" settings page loads within 2000 ms
 	When the user enters the name and add the workspace
 	Then verify the workspace created toast message is displayed
 	And verify the workspace is added to the list
@@ -20,6 +19,7 @@ Scenario Outline: Verify that Workspace Add, Delete is working as expected
 
 @workspace
 Scenario Outline: Verify that Workspace Add, Delete is working as expected
+	Given the user is logged in
 	When the user navigates to the settings page
 #	Then verify the user is on the general settings page
 	When the user navigates to the workspace settings page
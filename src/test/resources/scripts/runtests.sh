@@ -10,6 +10,15 @@ set -eux
 # Changing the current working directory to the ui-tests project.
 cd ${WORKSPACE}/zayeem/ui-tests
 
+# Merge the cucumber JSON reports and the scenario durations of all shards and exit.
+if [[ "${MERGE_SHARD_REPORTS:-false}" == "true" ]]; then
+	mvn compile exec:java -Dexec.mainClass=utilities.CucumberReport \
+		-Dexec.args="${SHARD_REPORTS_DIRECTORY:-shard-reports} target/reports"
+	mvn exec:java -Dexec.mainClass=utilities.ScenarioDurationStore \
+		${SCENARIO_DURATIONS_FILE:+-Dscenario.durations.file=${SCENARIO_DURATIONS_FILE}}
+	exit 0
+fi
+
 mvn_cmd="mvn clean test -DdashboardType=${DASHBOARD} -DenvType=${ENVIRONMENT} -Dheadless=true"
 
 # If BROWSER variable is non-empty, add it to the maven command.
@@ -45,10 +54,56 @@ fi
 
 # If FEATURE_THREAD_COUNT variable is non-empty, add it to the maven command.
 if [[ -n "${FEATURE_THREAD_COUNT:-}" ]]; then
-	mvn_cmd="${mvn_cmd} -DscenarioThreadCount=${FEATURE_THREAD_COUNT}"
+	mvn_cmd="${mvn_cmd} -DfeatureThreadCount=${FEATURE_THREAD_COUNT}"
+fi
+
+: '
+If SHARD_TOTAL variable is non-empty, only the scenarios of shard SHARD_INDEX
+(starting at 0) out of SHARD_TOTAL shards run, balanced by the durations kept
+in SCENARIO_DURATIONS_FILE. Every shard needs the same durations file, which
+the shards only read; each shard writes its measurements to a file of its own
+next to it, merged into it by the MERGE_SHARD_REPORTS run. Without one the
+durations are kept in .durations/ of the workspace, which mvn clean does not
+delete, and the shards are balanced by count until it has some.
+'
+if [[ -n "${SHARD_TOTAL:-}" ]]; then
+	mvn_cmd="${mvn_cmd} -Dshard.index=${SHARD_INDEX:-0} -Dshard.total=${SHARD_TOTAL}"
+fi
+
+# If SCENARIO_DURATIONS_FILE variable is non-empty, add it to the maven command.
+if [[ -n "${SCENARIO_DURATIONS_FILE:-}" ]]; then
+	mvn_cmd="${mvn_cmd} -Dscenario.durations.file=${SCENARIO_DURATIONS_FILE}"
+fi
+
+# If SCENARIO_ORDER variable is non-empty (longest or file), add it to the maven command.
+if [[ -n "${SCENARIO_ORDER:-}" ]]; then
+	mvn_cmd="${mvn_cmd} -Dscenario.order=${SCENARIO_ORDER}"
+fi
+
+# If SELECTOR_LINT variable is non-empty (off, warn or fail), add it to the maven command.
+if [[ -n "${SELECTOR_LINT:-}" ]]; then
+	mvn_cmd="${mvn_cmd} -DselectorLint=${SELECTOR_LINT}"
+fi
+
+# If PLAYWRIGHT_INSTRUMENTATION variable is non-empty (off, counters or full), add it to the maven command.
+if [[ -n "${PLAYWRIGHT_INSTRUMENTATION:-}" ]]; then
+	mvn_cmd="${mvn_cmd} -DplaywrightInstrumentation=${PLAYWRIGHT_INSTRUMENTATION}"
 fi
 
-# Run the maven command.
-${mvn_cmd}
+# Run the maven command, keeping its exit status so the reports of a failing run are still copied.
+status=0
+${mvn_cmd} || status=$?
+
+: '
+When sharded, copy the JSON reports of this shard to SHARD_REPORTS_DIRECTORY.
+Once every shard copied its reports there, run this script with
+MERGE_SHARD_REPORTS=true to generate one cucumber report out of them.
+'
+if [[ -n "${SHARD_TOTAL:-}" ]]; then
+	shard_reports_dir="${SHARD_REPORTS_DIRECTORY:-shard-reports}/shard-${SHARD_INDEX:-0}"
+	mkdir -p "${shard_reports_dir}"
+	cp target/reports/cucumber-json-reports/*.json "${shard_reports_dir}/" || true
+fi
 
-set +eux
\ No newline at end of file
+set +eux
+exit ${status}
\ No newline at end of file